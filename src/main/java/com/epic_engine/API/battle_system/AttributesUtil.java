@@ -1,14 +1,445 @@
 package com.epic_engine.API.battle_system;
 
-import com.epic_engine.init.EpicEngineModAttributes;
+import com.epic_engine.battle_system.ResourcePoolStorage;
+import com.epic_engine.battle_system.TimedEffectScheduler;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.attributes.Attribute;
+import net.minecraft.world.entity.ai.attributes.AttributeInstance;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Epic Engine Attributes System Utility Class
- * Provides convenient methods for mana and stamina operations
+ * Provides convenient methods for mana, stamina and any other registered resource pool
  */
 public class AttributesUtil {
 
+    // ========== Generic Resource API ==========
+
+    /**
+     * Gets the index of a resource pool. Callers should cache the result.
+     * @param id The pool identifier (e.g. "epic_engine:mana", "mypack:rage")
+     * @return Pool index, or -1 if no such pool is registered
+     */
+    public static int getResourceIndex(ResourceLocation id) {
+        return ResourcePoolRegistry.getIndex(id);
+    }
+
+    /**
+     * Gets the current value of a resource pool
+     * @param entity The target entity
+     * @param index The pool index
+     * @return Current value, or 0 if the pool does not exist
+     */
+    public static double getResource(LivingEntity entity, int index) {
+        ResourcePool pool = ResourcePoolRegistry.get(index);
+        if (pool == null) return 0.0;
+        if (pool.isAttributeBacked()) {
+            return entity.getAttributeValue(pool.getValueAttribute());
+        }
+        ResourcePoolStorage storage = ResourcePoolStorage.get(entity);
+        return storage != null ? storage.getValue(index) : pool.getDefaultValue();
+    }
+
+    /**
+     * Gets the maximum value of a resource pool
+     * @param entity The target entity
+     * @param index The pool index
+     * @return Maximum value, or 0 if the pool does not exist
+     */
+    public static double getMaxResource(LivingEntity entity, int index) {
+        ResourcePool pool = ResourcePoolRegistry.get(index);
+        if (pool == null) return 0.0;
+        if (pool.isAttributeBacked()) {
+            return entity.getAttributeValue(pool.getMaxAttribute());
+        }
+        ResourcePoolStorage storage = ResourcePoolStorage.get(entity);
+        return storage != null ? storage.getMax(index) : pool.getDefaultMax();
+    }
+
+    /**
+     * Gets the regeneration rate of a resource pool
+     * @param entity The target entity
+     * @param index The pool index
+     * @return Regeneration per second, or 0 if the pool does not exist
+     */
+    public static double getResourceRegeneration(LivingEntity entity, int index) {
+        ResourcePool pool = ResourcePoolRegistry.get(index);
+        if (pool == null) return 0.0;
+        if (pool.isAttributeBacked()) {
+            return entity.getAttributeValue(pool.getRegenerationAttribute());
+        }
+        ResourcePoolStorage storage = ResourcePoolStorage.get(entity);
+        return storage != null ? storage.getRegeneration(index) : pool.getDefaultRegeneration();
+    }
+
+    /**
+     * Sets the current value of a resource pool
+     * @param entity The target entity
+     * @param index The pool index
+     * @param value The new value (will be clamped between 0 and the maximum)
+     */
+    public static void setResource(LivingEntity entity, int index, double value) {
+        ResourcePool pool = ResourcePoolRegistry.get(index);
+        if (pool == null) return;
+        if (pool.isAttributeBacked()) {
+            AttributeInstance attribute = entity.getAttribute(pool.getValueAttribute());
+            if (attribute != null) {
+                double max = getMaxResource(entity, index);
+                attribute.setBaseValue(Math.max(0.0, Math.min(value, max)));
+            }
+            return;
+        }
+        ResourcePoolStorage storage = ResourcePoolStorage.get(entity);
+        if (storage != null) {
+            storage.setValue(index, value);
+        }
+    }
+
+    /**
+     * Sets the maximum value of a resource pool
+     * @param entity The target entity
+     * @param index The pool index
+     * @param value The new maximum value
+     */
+    public static void setMaxResource(LivingEntity entity, int index, double value) {
+        ResourcePool pool = ResourcePoolRegistry.get(index);
+        if (pool == null) return;
+        if (pool.isAttributeBacked()) {
+            AttributeInstance attribute = entity.getAttribute(pool.getMaxAttribute());
+            if (attribute != null) {
+                attribute.setBaseValue(value);
+            }
+            return;
+        }
+        ResourcePoolStorage storage = ResourcePoolStorage.get(entity);
+        if (storage != null) {
+            storage.setMax(index, value);
+        }
+    }
+
+    /**
+     * Sets the regeneration rate of a resource pool
+     * @param entity The target entity
+     * @param index The pool index
+     * @param value The new regeneration per second
+     */
+    public static void setResourceRegeneration(LivingEntity entity, int index, double value) {
+        ResourcePool pool = ResourcePoolRegistry.get(index);
+        if (pool == null) return;
+        if (pool.isAttributeBacked()) {
+            AttributeInstance attribute = entity.getAttribute(pool.getRegenerationAttribute());
+            if (attribute != null) {
+                attribute.setBaseValue(value);
+            }
+            return;
+        }
+        ResourcePoolStorage storage = ResourcePoolStorage.get(entity);
+        if (storage != null) {
+            storage.setRegeneration(index, value);
+        }
+    }
+
+    /**
+     * Consumes from a resource pool
+     * @param entity The target entity
+     * @param index The pool index
+     * @param amount Amount to consume
+     * @return true if successful (sufficient resource), false otherwise
+     */
+    public static boolean consumeResource(LivingEntity entity, int index, double amount) {
+        double current = getResource(entity, index);
+        if (current >= amount) {
+            setResource(entity, index, current - amount);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Restores a resource pool
+     * @param entity The target entity
+     * @param index The pool index
+     * @param amount Amount to restore
+     */
+    public static void restoreResource(LivingEntity entity, int index, double amount) {
+        setResource(entity, index, getResource(entity, index) + amount);
+    }
+
+    /**
+     * Checks if an entity has a sufficient amount of a resource
+     * @param entity The target entity
+     * @param index The pool index
+     * @param amount Required amount
+     * @return true if entity has enough, false otherwise
+     */
+    public static boolean hasSufficientResource(LivingEntity entity, int index, double amount) {
+        return getResource(entity, index) >= amount;
+    }
+
+    /**
+     * Gets the fill percentage of a resource pool
+     * @param entity The target entity
+     * @param index The pool index
+     * @return Percentage as a value between 0.0 and 1.0
+     */
+    public static double getResourcePercentage(LivingEntity entity, int index) {
+        double max = getMaxResource(entity, index);
+        if (max <= 0) return 0.0;
+        return getResource(entity, index) / max;
+    }
+
+    // ========== Bulk Operations API ==========
+    // 批量操作：资源池与属性只解析一次，随后在紧凑循环中逐个实体应用；
+    // 变更在本 tick 结束时随属性同步/资源池同步统一发送
+
+    /**
+     * Drains a resource from every entity in a list, taking as much as each entity has up to the amount
+     * @param entities The target entities
+     * @param index The pool index
+     * @param amount Amount to drain from each entity
+     * @return Total amount drained across all entities
+     */
+    public static double drainResourceAll(Collection<? extends LivingEntity> entities, int index, double amount) {
+        return applyDeltaAll(entities, index, -amount);
+    }
+
+    /**
+     * Restores a resource to every entity in a list
+     * @param entities The target entities
+     * @param index The pool index
+     * @param amount Amount to restore to each entity
+     * @return Total amount restored across all entities
+     */
+    public static double restoreResourceAll(Collection<? extends LivingEntity> entities, int index, double amount) {
+        return applyDeltaAll(entities, index, amount);
+    }
+
+    /**
+     * Filters entities that have a sufficient amount of a resource
+     * @param entities The candidate entities
+     * @param index The pool index
+     * @param amount Required amount
+     * @return Entities with at least the required amount, in input order
+     */
+    public static <T extends LivingEntity> List<T> filterSufficientResource(Collection<T> entities, int index, double amount) {
+        List<T> result = new ArrayList<>(entities.size());
+        ResourcePool pool = ResourcePoolRegistry.get(index);
+        if (pool == null) return result;
+
+        if (pool.isAttributeBacked()) {
+            Attribute valueAttribute = pool.getValueAttribute();
+            for (T entity : entities) {
+                AttributeInstance value = entity.getAttribute(valueAttribute);
+                if (value != null && value.getValue() >= amount) {
+                    result.add(entity);
+                }
+            }
+        } else {
+            for (T entity : entities) {
+                ResourcePoolStorage storage = ResourcePoolStorage.get(entity);
+                double current = storage != null ? storage.getValue(index) : pool.getDefaultValue();
+                if (current >= amount) {
+                    result.add(entity);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drains a resource from every living entity inside an area
+     * @param level The level to search
+     * @param area The area of effect
+     * @param index The pool index
+     * @param amount Amount to drain from each entity
+     * @return Total amount drained across all entities
+     */
+    public static double drainResourceInArea(Level level, AABB area, int index, double amount) {
+        return drainResourceAll(level.getEntitiesOfClass(LivingEntity.class, area), index, amount);
+    }
+
+    /**
+     * Restores a resource to every living entity inside an area
+     * @param level The level to search
+     * @param area The area of effect
+     * @param index The pool index
+     * @param amount Amount to restore to each entity
+     * @return Total amount restored across all entities
+     */
+    public static double restoreResourceInArea(Level level, AABB area, int index, double amount) {
+        return restoreResourceAll(level.getEntitiesOfClass(LivingEntity.class, area), index, amount);
+    }
+
+    /**
+     * Finds living entities inside an area that have a sufficient amount of a resource
+     * @param level The level to search
+     * @param area The area to search
+     * @param index The pool index
+     * @param amount Required amount
+     * @return Entities with at least the required amount
+     */
+    public static List<LivingEntity> findSufficientResourceInArea(Level level, AABB area, int index, double amount) {
+        return filterSufficientResource(level.getEntitiesOfClass(LivingEntity.class, area), index, amount);
+    }
+
+    private static double applyDeltaAll(Collection<? extends LivingEntity> entities, int index, double delta) {
+        ResourcePool pool = ResourcePoolRegistry.get(index);
+        if (pool == null || entities.isEmpty()) return 0.0;
+
+        double total = 0.0;
+        if (pool.isAttributeBacked()) {
+            Attribute valueAttribute = pool.getValueAttribute();
+            Attribute maxAttribute = pool.getMaxAttribute();
+            for (LivingEntity entity : entities) {
+                AttributeInstance value = entity.getAttribute(valueAttribute);
+                AttributeInstance max = entity.getAttribute(maxAttribute);
+                if (value == null || max == null) continue;
+
+                double current = value.getValue();
+                double updated = Math.max(0.0, Math.min(current + delta, max.getValue()));
+                if (updated != current) {
+                    value.setBaseValue(updated);
+                    total += Math.abs(updated - current);
+                }
+            }
+        } else {
+            for (LivingEntity entity : entities) {
+                ResourcePoolStorage storage = ResourcePoolStorage.get(entity);
+                if (storage == null) continue;
+
+                double current = storage.getValue(index);
+                storage.setValue(index, current + delta);
+                total += Math.abs(storage.getValue(index) - current);
+            }
+        }
+        return total;
+    }
+
+    // ========== Cooldown & Timed Effect API ==========
+    // 冷却与持续效果由服务端时间轮驱动，随实体数据保存；客户端调用无效果
+
+    /**
+     * Starts or restarts a cooldown
+     * @param entity The target entity
+     * @param id The cooldown identifier (e.g. a skill id)
+     * @param ticks Cooldown duration in ticks; 0 or less clears the cooldown
+     * @return true if the cooldown was set (server side only)
+     */
+    public static boolean startCooldown(LivingEntity entity, ResourceLocation id, int ticks) {
+        return TimedEffectScheduler.startCooldown(entity, id, ticks);
+    }
+
+    /**
+     * Starts a cooldown only if it is not already running
+     * @param entity The target entity
+     * @param id The cooldown identifier
+     * @param ticks Cooldown duration in ticks
+     * @return true if the cooldown was free and has now been started, false otherwise
+     */
+    public static boolean tryStartCooldown(LivingEntity entity, ResourceLocation id, int ticks) {
+        if (isOnCooldown(entity, id)) return false;
+        return startCooldown(entity, id, ticks);
+    }
+
+    /**
+     * Checks if a cooldown is running
+     * @param entity The target entity
+     * @param id The cooldown identifier
+     * @return true if the cooldown has not expired yet
+     */
+    public static boolean isOnCooldown(LivingEntity entity, ResourceLocation id) {
+        return getCooldownRemaining(entity, id) > 0;
+    }
+
+    /**
+     * Gets the remaining time of a cooldown
+     * @param entity The target entity
+     * @param id The cooldown identifier
+     * @return Remaining ticks, or 0 if the cooldown is not running
+     */
+    public static int getCooldownRemaining(LivingEntity entity, ResourceLocation id) {
+        return TimedEffectScheduler.getCooldownRemaining(entity, id);
+    }
+
+    /**
+     * Clears a cooldown
+     * @param entity The target entity
+     * @param id The cooldown identifier
+     */
+    public static void clearCooldown(LivingEntity entity, ResourceLocation id) {
+        TimedEffectScheduler.clearCooldown(entity, id);
+    }
+
+    /**
+     * Schedules a periodic consume effect (e.g. channeled mana upkeep, sprint stamina drain).
+     * Each pulse takes as much as the entity has, up to the amount.
+     * @param entity The target entity
+     * @param effectId The effect identifier; scheduling the same id again replaces the running effect
+     * @param index The pool index
+     * @param amountPerPulse Amount consumed per pulse
+     * @param intervalTicks Ticks between pulses (the first pulse happens after one interval)
+     * @param pulses Number of pulses, or -1 to run until cancelled
+     * @return true if the effect was scheduled (server side only)
+     */
+    public static boolean schedulePeriodicConsume(LivingEntity entity, ResourceLocation effectId, int index,
+                                                  double amountPerPulse, int intervalTicks, int pulses) {
+        return TimedEffectScheduler.schedule(entity, effectId, index, -amountPerPulse, intervalTicks, intervalTicks, pulses);
+    }
+
+    /**
+     * Schedules a periodic restore effect (e.g. mana-over-time potion)
+     * @param entity The target entity
+     * @param effectId The effect identifier; scheduling the same id again replaces the running effect
+     * @param index The pool index
+     * @param amountPerPulse Amount restored per pulse
+     * @param intervalTicks Ticks between pulses (the first pulse happens after one interval)
+     * @param pulses Number of pulses, or -1 to run until cancelled
+     * @return true if the effect was scheduled (server side only)
+     */
+    public static boolean schedulePeriodicRestore(LivingEntity entity, ResourceLocation effectId, int index,
+                                                  double amountPerPulse, int intervalTicks, int pulses) {
+        return TimedEffectScheduler.schedule(entity, effectId, index, amountPerPulse, intervalTicks, intervalTicks, pulses);
+    }
+
+    /**
+     * Schedules a one-time restore after a delay
+     * @param entity The target entity
+     * @param effectId The effect identifier; scheduling the same id again replaces the pending restore
+     * @param index The pool index
+     * @param amount Amount to restore
+     * @param delayTicks Ticks until the restore happens
+     * @return true if the restore was scheduled (server side only)
+     */
+    public static boolean scheduleDelayedRestore(LivingEntity entity, ResourceLocation effectId, int index,
+                                                 double amount, int delayTicks) {
+        return TimedEffectScheduler.schedule(entity, effectId, index, amount, delayTicks, 1, 1);
+    }
+
+    /**
+     * Checks if a timed effect is still running
+     * @param entity The target entity
+     * @param effectId The effect identifier
+     * @return true if the effect has pulses left
+     */
+    public static boolean hasTimedEffect(LivingEntity entity, ResourceLocation effectId) {
+        return TimedEffectScheduler.isActive(entity, effectId);
+    }
+
+    /**
+     * Cancels a timed effect
+     * @param entity The target entity
+     * @param effectId The effect identifier
+     */
+    public static void cancelTimedEffect(LivingEntity entity, ResourceLocation effectId) {
+        TimedEffectScheduler.cancel(entity, effectId);
+    }
+
     // ========== Mana System API ==========
 
     /**
@@ -17,7 +448,7 @@ public class AttributesUtil {
      * @return Current mana value
      */
     public static double getMana(LivingEntity entity) {
-        return entity.getAttributeValue(EpicEngineModAttributes.MANA.get());
+        return getResource(entity, ResourcePoolRegistry.MANA);
     }
 
     /**
@@ -26,7 +457,7 @@ public class AttributesUtil {
      * @return Maximum mana value
      */
     public static double getMaxMana(LivingEntity entity) {
-        return entity.getAttributeValue(EpicEngineModAttributes.MAX_MANA.get());
+        return getMaxResource(entity, ResourcePoolRegistry.MANA);
     }
 
     /**
@@ -35,11 +466,7 @@ public class AttributesUtil {
      * @param value The new mana value (will be clamped between 0 and max mana)
      */
     public static void setMana(LivingEntity entity, double value) {
-        var attribute = entity.getAttribute(EpicEngineModAttributes.MANA.get());
-        if (attribute != null) {
-            double maxMana = getMaxMana(entity);
-            attribute.setBaseValue(Math.max(0.0, Math.min(value, maxMana)));
-        }
+        setResource(entity, ResourcePoolRegistry.MANA, value);
     }
 
     /**
@@ -48,7 +475,7 @@ public class AttributesUtil {
      * @return Mana regeneration per second
      */
     public static double getManaRegeneration(LivingEntity entity) {
-        return entity.getAttributeValue(EpicEngineModAttributes.MANA_REGENERATION.get());
+        return getResourceRegeneration(entity, ResourcePoolRegistry.MANA);
     }
 
     /**
@@ -58,12 +485,7 @@ public class AttributesUtil {
      * @return true if successful (sufficient mana), false otherwise
      */
     public static boolean consumeMana(LivingEntity entity, double amount) {
-        double current = getMana(entity);
-        if (current >= amount) {
-            setMana(entity, current - amount);
-            return true;
-        }
-        return false;
+        return consumeResource(entity, ResourcePoolRegistry.MANA, amount);
     }
 
     /**
@@ -72,8 +494,7 @@ public class AttributesUtil {
      * @param amount Amount of mana to restore
      */
     public static void restoreMana(LivingEntity entity, double amount) {
-        double current = getMana(entity);
-        setMana(entity, current + amount);
+        restoreResource(entity, ResourcePoolRegistry.MANA, amount);
     }
 
     /**
@@ -92,9 +513,7 @@ public class AttributesUtil {
      * @return Mana percentage as a value between 0.0 and 1.0
      */
     public static double getManaPercentage(LivingEntity entity) {
-        double max = getMaxMana(entity);
-        if (max <= 0) return 0.0;
-        return getMana(entity) / max;
+        return getResourcePercentage(entity, ResourcePoolRegistry.MANA);
     }
 
     // ========== Stamina System API ==========
@@ -105,7 +524,7 @@ public class AttributesUtil {
      * @return Current stamina value
      */
     public static double getStamina(LivingEntity entity) {
-        return entity.getAttributeValue(EpicEngineModAttributes.STAMINA.get());
+        return getResource(entity, ResourcePoolRegistry.STAMINA);
     }
 
     /**
@@ -114,7 +533,7 @@ public class AttributesUtil {
      * @return Maximum stamina value
      */
     public static double getMaxStamina(LivingEntity entity) {
-        return entity.getAttributeValue(EpicEngineModAttributes.MAX_STAMINA.get());
+        return getMaxResource(entity, ResourcePoolRegistry.STAMINA);
     }
 
     /**
@@ -123,11 +542,7 @@ public class AttributesUtil {
      * @param value The new stamina value (will be clamped between 0 and max stamina)
      */
     public static void setStamina(LivingEntity entity, double value) {
-        var attribute = entity.getAttribute(EpicEngineModAttributes.STAMINA.get());
-        if (attribute != null) {
-            double maxStamina = getMaxStamina(entity);
-            attribute.setBaseValue(Math.max(0.0, Math.min(value, maxStamina)));
-        }
+        setResource(entity, ResourcePoolRegistry.STAMINA, value);
     }
 
     /**
@@ -136,7 +551,7 @@ public class AttributesUtil {
      * @return Stamina regeneration per second
      */
     public static double getStaminaRegeneration(LivingEntity entity) {
-        return entity.getAttributeValue(EpicEngineModAttributes.STAMINA_REGENERATION.get());
+        return getResourceRegeneration(entity, ResourcePoolRegistry.STAMINA);
     }
 
     /**
@@ -146,12 +561,7 @@ public class AttributesUtil {
      * @return true if successful (sufficient stamina), false otherwise
      */
     public static boolean consumeStamina(LivingEntity entity, double amount) {
-        double current = getStamina(entity);
-        if (current >= amount) {
-            setStamina(entity, current - amount);
-            return true;
-        }
-        return false;
+        return consumeResource(entity, ResourcePoolRegistry.STAMINA, amount);
     }
 
     /**
@@ -160,8 +570,7 @@ public class AttributesUtil {
      * @param amount Amount of stamina to restore
      */
     public static void restoreStamina(LivingEntity entity, double amount) {
-        double current = getStamina(entity);
-        setStamina(entity, current + amount);
+        restoreResource(entity, ResourcePoolRegistry.STAMINA, amount);
     }
 
     /**
@@ -180,9 +589,7 @@ public class AttributesUtil {
      * @return Stamina percentage as a value between 0.0 and 1.0
      */
     public static double getStaminaPercentage(LivingEntity entity) {
-        double max = getMaxStamina(entity);
-        if (max <= 0) return 0.0;
-        return getStamina(entity) / max;
+        return getResourcePercentage(entity, ResourcePoolRegistry.STAMINA);
     }
 
     // ========== Combined Operations API ==========
@@ -0,0 +1,117 @@
+package com.epic_engine.API.battle_system;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.ai.attributes.Attribute;
+
+import javax.annotation.Nullable;
+import java.util.function.Supplier;
+
+/**
+ * Definition of a resource pool such as mana, stamina, rage or energy.
+ * Every pool owns a dense integer index so per-entity values can be stored in primitive arrays.
+ * Built-in pools (mana, stamina) are backed by attributes, all others by {@code ResourcePoolStorage}.
+ */
+public final class ResourcePool {
+    private final ResourceLocation id;
+    private final int index;
+    private final double defaultValue;
+    private final double defaultMax;
+    private final double defaultRegeneration;
+
+    @Nullable private final Supplier<Attribute> valueAttribute;
+    @Nullable private final Supplier<Attribute> maxAttribute;
+    @Nullable private final Supplier<Attribute> regenerationAttribute;
+
+    private ResourcePool(ResourceLocation id, int index, double defaultValue, double defaultMax, double defaultRegeneration,
+                         @Nullable Supplier<Attribute> valueAttribute,
+                         @Nullable Supplier<Attribute> maxAttribute,
+                         @Nullable Supplier<Attribute> regenerationAttribute) {
+        this.id = id;
+        this.index = index;
+        this.defaultValue = defaultValue;
+        this.defaultMax = defaultMax;
+        this.defaultRegeneration = defaultRegeneration;
+        this.valueAttribute = valueAttribute;
+        this.maxAttribute = maxAttribute;
+        this.regenerationAttribute = regenerationAttribute;
+    }
+
+    /**
+     * Create a data-driven pool whose values live in per-entity primitive arrays.
+     */
+    static ResourcePool stored(ResourceLocation id, int index, double defaultValue, double defaultMax, double defaultRegeneration) {
+        return new ResourcePool(id, index, defaultValue, defaultMax, defaultRegeneration, null, null, null);
+    }
+
+    /**
+     * Create a pool whose values are read from and written to entity attributes.
+     */
+    static ResourcePool attributeBacked(ResourceLocation id, int index,
+                                        Supplier<Attribute> valueAttribute,
+                                        Supplier<Attribute> maxAttribute,
+                                        Supplier<Attribute> regenerationAttribute) {
+        return new ResourcePool(id, index, 0.0, 0.0, 0.0, valueAttribute, maxAttribute, regenerationAttribute);
+    }
+
+    /**
+     * @return Unique identifier of this pool (e.g. "epic_engine:mana", "mypack:rage")
+     */
+    public ResourceLocation getId() {
+        return id;
+    }
+
+    /**
+     * @return Dense index of this pool, stable for the lifetime of the server
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return Value an entity starts with the first time this pool is touched
+     */
+    public double getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * @return Maximum value an entity starts with the first time this pool is touched
+     */
+    public double getDefaultMax() {
+        return defaultMax;
+    }
+
+    /**
+     * @return Regeneration per second an entity starts with the first time this pool is touched
+     */
+    public double getDefaultRegeneration() {
+        return defaultRegeneration;
+    }
+
+    /**
+     * @return true if this pool is stored in attributes rather than in {@code ResourcePoolStorage}
+     */
+    public boolean isAttributeBacked() {
+        return valueAttribute != null;
+    }
+
+    @Nullable
+    public Attribute getValueAttribute() {
+        return valueAttribute != null ? valueAttribute.get() : null;
+    }
+
+    @Nullable
+    public Attribute getMaxAttribute() {
+        return maxAttribute != null ? maxAttribute.get() : null;
+    }
+
+    @Nullable
+    public Attribute getRegenerationAttribute() {
+        return regenerationAttribute != null ? regenerationAttribute.get() : null;
+    }
+
+    @Override
+    public String toString() {
+        return id + "#" + index;
+    }
+}
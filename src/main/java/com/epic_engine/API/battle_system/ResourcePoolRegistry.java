@@ -0,0 +1,209 @@
+package com.epic_engine.API.battle_system;
+
+import com.epic_engine.EpicEngineMod;
+import com.epic_engine.init.EpicEngineModAttributes;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.resources.ResourceLocation;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Registry of resource pools.
+ * Mana and stamina are always present at fixed indices; further pools are defined by datapacks
+ * ({@code data/<namespace>/epic_engine/resource_pools/<name>.json}) or by the battle system config.
+ * Indices are append-only while a server is running, so per-entity arrays never need remapping.
+ */
+public class ResourcePoolRegistry {
+
+    public static final ResourceLocation MANA_ID = new ResourceLocation(EpicEngineMod.MODID, "mana");
+    public static final ResourceLocation STAMINA_ID = new ResourceLocation(EpicEngineMod.MODID, "stamina");
+
+    public static final int MANA = 0;
+    public static final int STAMINA = 1;
+    public static final int BUILT_IN_COUNT = 2;
+
+    private static final Object2IntMap<ResourceLocation> indexById = new Object2IntOpenHashMap<>();
+    private static volatile ResourcePool[] pools = new ResourcePool[0];
+
+    static {
+        indexById.defaultReturnValue(-1);
+        resetToBuiltIns();
+    }
+
+    /**
+     * Data-driven definition of a pool, before an index has been assigned.
+     */
+    public static class Definition {
+        public final double defaultValue;
+        public final double maxValue;
+        public final double regeneration;
+
+        public Definition(double defaultValue, double maxValue, double regeneration) {
+            this.maxValue = Math.max(1.0, maxValue);
+            this.defaultValue = Math.max(0.0, Math.min(defaultValue, this.maxValue));
+            this.regeneration = Math.max(0.0, regeneration);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Definition other)) return false;
+            return defaultValue == other.defaultValue
+                    && maxValue == other.maxValue
+                    && regeneration == other.regeneration;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(defaultValue, maxValue, regeneration);
+        }
+    }
+
+    /**
+     * Get the index of a pool.
+     * @param id Pool identifier
+     * @return Pool index, or -1 if no such pool is registered
+     */
+    public static int getIndex(ResourceLocation id) {
+        synchronized (indexById) {
+            return indexById.getInt(id);
+        }
+    }
+
+    /**
+     * Get a pool by index.
+     * @param index Pool index
+     * @return The pool, or null if the index is out of range
+     */
+    @Nullable
+    public static ResourcePool get(int index) {
+        ResourcePool[] snapshot = pools;
+        return index >= 0 && index < snapshot.length ? snapshot[index] : null;
+    }
+
+    /**
+     * Get a pool by identifier.
+     * @param id Pool identifier
+     * @return The pool, or null if no such pool is registered
+     */
+    @Nullable
+    public static ResourcePool get(ResourceLocation id) {
+        return get(getIndex(id));
+    }
+
+    /**
+     * @return Number of registered pools; valid indices are {@code [0, size())}
+     */
+    public static int size() {
+        return pools.length;
+    }
+
+    /**
+     * @return All registered pools in index order
+     */
+    public static List<ResourcePool> getAll() {
+        return Collections.unmodifiableList(Arrays.asList(pools));
+    }
+
+    /**
+     * Apply data-driven definitions after a datapack or config reload.
+     * Known pools keep their index and receive the new defaults; unknown pools are appended.
+     * Pools that disappeared from the definitions keep their slot until the server stops.
+     *
+     * @param definitions Definitions keyed by pool identifier
+     * @return Number of newly registered pools
+     */
+    public static int applyDefinitions(Map<ResourceLocation, Definition> definitions) {
+        synchronized (indexById) {
+            List<ResourcePool> updated = new ArrayList<>(Arrays.asList(pools));
+            int added = 0;
+
+            for (Map.Entry<ResourceLocation, Definition> entry : definitions.entrySet()) {
+                ResourceLocation id = entry.getKey();
+                Definition definition = entry.getValue();
+                int index = indexById.getInt(id);
+
+                if (index >= 0 && index < BUILT_IN_COUNT) {
+                    EpicEngineMod.LOGGER.warn("[EPIC ENGINE]: Resource pool '{}' is built in and cannot be redefined", id);
+                    continue;
+                }
+
+                if (index < 0) {
+                    index = updated.size();
+                    updated.add(null);
+                    indexById.put(id, index);
+                    added++;
+                }
+
+                updated.set(index, ResourcePool.stored(id, index,
+                        definition.defaultValue, definition.maxValue, definition.regeneration));
+            }
+
+            pools = updated.toArray(new ResourcePool[0]);
+            return added;
+        }
+    }
+
+    /**
+     * Replace the registry with the pool list received from the server.
+     * Only the index assignment matters on the client; values and maxima are synced per entity.
+     *
+     * @param ids Pool identifiers in index order
+     */
+    public static void acceptFromServer(List<ResourceLocation> ids) {
+        synchronized (indexById) {
+            resetToBuiltIns();
+            List<ResourcePool> updated = new ArrayList<>(Arrays.asList(pools));
+
+            for (int index = BUILT_IN_COUNT; index < ids.size(); index++) {
+                ResourceLocation id = ids.get(index);
+                indexById.put(id, index);
+                updated.add(ResourcePool.stored(id, index, 0.0, 1.0, 0.0));
+            }
+
+            pools = updated.toArray(new ResourcePool[0]);
+        }
+    }
+
+    /**
+     * @return Pool identifiers in index order, as sent to clients
+     */
+    public static List<ResourceLocation> getIdsInIndexOrder() {
+        ResourcePool[] snapshot = pools;
+        List<ResourceLocation> ids = new ArrayList<>(snapshot.length);
+        for (ResourcePool pool : snapshot) {
+            ids.add(pool.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Drop all data-driven pools, keeping only mana and stamina.
+     * Called when the server stops so the next world starts with a fresh index assignment.
+     */
+    public static void resetToBuiltIns() {
+        synchronized (indexById) {
+            indexById.clear();
+            indexById.put(MANA_ID, MANA);
+            indexById.put(STAMINA_ID, STAMINA);
+
+            pools = new ResourcePool[]{
+                    ResourcePool.attributeBacked(MANA_ID, MANA,
+                            EpicEngineModAttributes.MANA,
+                            EpicEngineModAttributes.MAX_MANA,
+                            EpicEngineModAttributes.MANA_REGENERATION),
+                    ResourcePool.attributeBacked(STAMINA_ID, STAMINA,
+                            EpicEngineModAttributes.STAMINA,
+                            EpicEngineModAttributes.MAX_STAMINA,
+                            EpicEngineModAttributes.STAMINA_REGENERATION)
+            };
+        }
+    }
+}
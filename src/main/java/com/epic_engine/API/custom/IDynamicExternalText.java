@@ -0,0 +1,29 @@
+package com.epic_engine.API.custom;
+
+import javax.annotation.Nullable;
+
+/**
+ * External text whose content changes while the main menu is open (player counts, server MOTD, ...).
+ * Epic Engine caches the rendered form of {@link #getDisplayText()} and only re-reads it when the provider
+ * signals a change through the listener, or every {@link #getUpdateIntervalTicks()} client ticks.
+ */
+public interface IDynamicExternalText extends IExternalText {
+
+    /**
+     * Get the polling interval for this text.
+     * Return 0 to rely only on the change listener.
+     * @return Interval in client ticks (20 ticks = 1 second)
+     */
+    default int getUpdateIntervalTicks() {
+        return 0;
+    }
+
+    /**
+     * Receive the listener used to publish changes.
+     * Call {@link Runnable#run()} on it from any thread after the value returned by {@link #getDisplayText()}
+     * has changed; the text is re-read on the next client tick. A null listener means the text is no longer shown.
+     * @param listener Change listener, or null to detach
+     */
+    default void setChangeListener(@Nullable Runnable listener) {
+    }
+}
@@ -3,6 +3,8 @@ package com.epic_engine.API.custom;
 import com.epic_engine.custom.MainMenuLayoutData;
 import javax.annotation.Nullable;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Main menu component provider interface.
@@ -16,8 +18,27 @@ public interface IMainMenuComponentProvider {
      */
     String getModId();
 
+    /**
+     * Get the stable identifier of this provider.
+     * Defaults to the mod ID; override it to register more than one provider from the same mod.
+     * @return Unique provider identifier
+     */
+    default String getProviderId() {
+        return getModId();
+    }
+
+    /**
+     * Get the ordering priority of this provider.
+     * Providers with a higher priority create their components first; equal priorities are ordered by provider ID.
+     * @return Priority value, 0 by default
+     */
+    default int getPriority() {
+        return 0;
+    }
+
     /**
      * Create a custom button for the main menu.
+     * Called on the render thread unless {@link #createButtonAsync} is overridden.
      * @param layoutData Current layout data containing screen dimensions and other layout information
      * @return Button component, or null if no button is needed
      */
@@ -26,6 +47,7 @@ public interface IMainMenuComponentProvider {
 
     /**
      * Create custom text components for the main menu.
+     * Called on the render thread unless {@link #createTextsAsync} is overridden.
      * @param layoutData Current layout data
      * @return List of text components, or empty list if no text is needed
      */
@@ -33,6 +55,41 @@ public interface IMainMenuComponentProvider {
         return java.util.Collections.emptyList();
     }
 
+    /**
+     * Create the button asynchronously.
+     * Called on the render thread. The default implementation calls {@link #createButton} right there and returns a
+     * completed future, so providers that only implement {@link #createButton} may touch client state as before.
+     * Override to move slow work (update checks, file or network reads) onto {@code executor} or your own threads;
+     * such work must not touch render-thread-only state.
+     * @param layoutData Current layout data
+     * @param executor Bounded pool for provider work
+     * @return Future completing with the button, or with null if no button is needed
+     */
+    default CompletableFuture<IExternalButton> createButtonAsync(MainMenuLayoutData layoutData, Executor executor) {
+        return CompletableFuture.completedFuture(createButton(layoutData));
+    }
+
+    /**
+     * Create text components asynchronously.
+     * Called on the render thread. The default implementation calls {@link #createTexts} right there and returns a
+     * completed future; override it like {@link #createButtonAsync} to do the work off the render thread.
+     * @param layoutData Current layout data
+     * @param executor Bounded pool for provider work
+     * @return Future completing with the text components
+     */
+    default CompletableFuture<List<IExternalText>> createTextsAsync(MainMenuLayoutData layoutData, Executor executor) {
+        return CompletableFuture.completedFuture(createTexts(layoutData));
+    }
+
+    /**
+     * Get the maximum time to wait for this provider's components.
+     * Components that resolve later are dropped for the current title screen.
+     * @return Timeout in milliseconds
+     */
+    default long getTimeoutMillis() {
+        return 3000L;
+    }
+
     /**
      * Check whether this component should be displayed.
      * Can be used for conditional display, such as only showing in singleplayer or multiplayer.
@@ -3,17 +3,40 @@ package com.epic_engine.API.custom;
 import com.epic_engine.EpicEngineMod;
 import com.epic_engine.config.EpicEngineCustomConfig;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Registry for external main menu component providers.
  * This class manages the registration and retrieval of custom components from other mods.
+ * Registration is thread-safe, so providers may be registered from parallel mod loading.
  */
 public class MainMenuAPIRegistry {
 
-    private static final List<IMainMenuComponentProvider> providers = new ArrayList<>();
+    private static final Comparator<IMainMenuComponentProvider> ORDER =
+            Comparator.comparingInt(IMainMenuComponentProvider::getPriority).reversed()
+                    .thenComparing(IMainMenuComponentProvider::getProviderId);
+
+    private static final ConcurrentHashMap<String, IMainMenuComponentProvider> providers = new ConcurrentHashMap<>();
+
+    // 注册或配置变化时递增；快照记录构建时的版本，版本不符即视为作废
+    private static final AtomicInteger version = new AtomicInteger();
+    // 按优先级排序的快照
+    private static volatile Snapshot snapshot = null;
+
+    private static class Snapshot {
+        final int version;
+        final IMainMenuComponentProvider[] providers;
+
+        Snapshot(int version, IMainMenuComponentProvider[] providers) {
+            this.version = version;
+            this.providers = providers;
+        }
+    }
 
     /**
      * Register a component provider for main menu integration.
@@ -27,54 +50,70 @@ public class MainMenuAPIRegistry {
             return;
         }
 
-        // Check if a provider for this mod is already registered
-        boolean alreadyRegistered = providers.stream()
-                .anyMatch(p -> p.getModId().equals(provider.getModId()));
-
-        if (alreadyRegistered) {
-            EpicEngineMod.LOGGER.warn("[EPIC ENGINE]: Component provider for mod '{}' is already registered, ignoring duplicate registration",
+        String providerId = provider.getProviderId();
+        if (providerId == null || providerId.isEmpty()) {
+            EpicEngineMod.LOGGER.warn("[EPIC ENGINE]: Invalid component provider registration from mod '{}' - provider ID is null/empty",
                     provider.getModId());
             return;
         }
 
-        providers.add(provider);
-        EpicEngineMod.LOGGER.info("[EPIC ENGINE]: Successfully registered main menu component provider for mod: {}",
-                provider.getModId());
+        if (providers.putIfAbsent(providerId, provider) != null) {
+            EpicEngineMod.LOGGER.warn("[EPIC ENGINE]: Component provider '{}' is already registered, ignoring duplicate registration",
+                    providerId);
+            return;
+        }
+
+        invalidateCache();
+        EpicEngineMod.LOGGER.info("[EPIC ENGINE]: Successfully registered main menu component provider '{}' for mod: {} (priority {})",
+                providerId, provider.getModId(), provider.getPriority());
     }
 
     /**
-     * Get all enabled component providers.
+     * Get all enabled component providers, ordered by priority.
      * This method filters providers based on configuration settings and display conditions.
      *
      * @return List of enabled component providers
      */
     public static List<IMainMenuComponentProvider> getEnabledProviders() {
         // Check if external mod components are enabled in configuration
-        if (!EpicEngineCustomConfig.EXTERNAL_MOD_COMPONENTS_ENABLED.get()) {
+        if (!EpicEngineCustomConfig.isExternalModComponentsEnabled()) {
             return Collections.emptyList();
         }
 
-        return providers.stream()
-                .filter(provider -> {
-                    try {
-                        return provider.shouldDisplay();
-                    } catch (Exception e) {
-                        EpicEngineMod.LOGGER.error("[EPIC ENGINE]: Error checking display condition for mod '{}', excluding from display",
-                                provider.getModId(), e);
-                        return false;
-                    }
-                })
-                .collect(Collectors.toList());
+        IMainMenuComponentProvider[] sorted = getSnapshot();
+        List<IMainMenuComponentProvider> enabled = new ArrayList<>(sorted.length);
+        for (IMainMenuComponentProvider provider : sorted) {
+            // 显示条件可能随游戏状态变化，每次都重新判断
+            try {
+                if (provider.shouldDisplay()) {
+                    enabled.add(provider);
+                }
+            } catch (Exception e) {
+                EpicEngineMod.LOGGER.error("[EPIC ENGINE]: Error checking display condition for provider '{}', excluding from display",
+                        provider.getProviderId(), e);
+            }
+        }
+        return enabled;
     }
 
     /**
-     * Get all registered component providers (regardless of enabled state).
+     * Get all registered component providers (regardless of enabled state), ordered by priority.
      * This is mainly for debugging and administrative purposes.
      *
      * @return List of all registered providers
      */
     public static List<IMainMenuComponentProvider> getAllProviders() {
-        return new ArrayList<>(providers);
+        return new ArrayList<>(Arrays.asList(getSnapshot()));
+    }
+
+    /**
+     * Get a registered provider by its provider ID.
+     *
+     * @param providerId The provider ID
+     * @return The provider, or null if none is registered under that ID
+     */
+    public static IMainMenuComponentProvider getProvider(String providerId) {
+        return providers.get(providerId);
     }
 
     /**
@@ -95,12 +134,34 @@ public class MainMenuAPIRegistry {
         return !providers.isEmpty();
     }
 
+    /**
+     * Drop the cached provider ordering. Called on registration and on config reload.
+     */
+    public static void invalidateCache() {
+        version.incrementAndGet();
+    }
+
     /**
      * Clear all registered providers.
      * This is mainly used for testing purposes and should not be called during normal operation.
      */
     public static void clearAllProviders() {
         providers.clear();
+        invalidateCache();
         EpicEngineMod.LOGGER.info("[EPIC ENGINE]: Cleared all registered component providers");
     }
-}
\ No newline at end of file
+
+    private static IMainMenuComponentProvider[] getSnapshot() {
+        Snapshot current = snapshot;
+        int expected = version.get();
+        if (current != null && current.version == expected) {
+            return current.providers;
+        }
+
+        // 先读版本再读注册表：构建期间有新注册时版本已变，下次读取会重新构建，不会丢失新提供者
+        IMainMenuComponentProvider[] sorted = providers.values().toArray(new IMainMenuComponentProvider[0]);
+        Arrays.sort(sorted, ORDER);
+        snapshot = new Snapshot(expected, sorted);
+        return sorted;
+    }
+}
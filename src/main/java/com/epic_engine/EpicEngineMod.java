@@ -1,12 +1,22 @@
 package com.epic_engine;
 
+import com.epic_engine.battle_system.ResourcePoolLoader;
+import com.epic_engine.battle_system.ResourcePoolSyncPacket;
+import com.epic_engine.battle_system.ResourceRegistrySyncPacket;
+import com.epic_engine.config.EpicEngineBattleSystemConfig;
 import com.epic_engine.config.EpicEngineCustomConfig;
+import com.epic_engine.custom.ClientConfigReloader;
+import com.epic_engine.custom.CustomResourceWatcher;
+import com.epic_engine.custom.MainMenuPreloader;
+import com.epic_engine.custom.PresetCommandsHandler;
+import com.epic_engine.custom.RecurringCommandScheduler;
 import com.epic_engine.init.EpicEngineModAttributes;
 import com.epic_engine.init.EpicEngineModItems;
 import com.epic_engine.init.EpicEngineModSounds;
 import com.epic_engine.init.EpicEngineModTabs;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.entity.player.PlayerEvent;
@@ -22,9 +32,11 @@ import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.NetworkEvent;
 import net.minecraftforge.network.NetworkRegistry;
 import net.minecraftforge.network.simple.SimpleChannel;
+import net.minecraftforge.server.ServerLifecycleHooks;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.EnumSet;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -83,6 +95,12 @@ public class EpicEngineMod {
             try {
                 EpicEngineCustomConfig.initializeResources();
                 LOGGER.info("[EPIC ENGINE]: Client resources initialized");
+
+                // 后台线程预先解码主界面贴图并解析布局，首次进入主界面时直接使用
+                MainMenuPreloader.start();
+
+                // 监听自定义资源目录，修改贴图、布局和语言文件后即时生效
+                CustomResourceWatcher.start();
             } catch (Exception e) {
                 LOGGER.error("[EPIC ENGINE]: Failed to initialize client resources", e);
             }
@@ -97,25 +115,83 @@ public class EpicEngineMod {
 
         LOGGER.info("[EPIC ENGINE]: Config reloading - {}", event.getConfig().getFileName());
 
+        if (event.getConfig().getSpec() == EpicEngineBattleSystemConfig.CONFIG) {
+            onBattleSystemConfigChanged(event);
+            return;
+        }
+
         if (event.getConfig().getSpec() == EpicEngineCustomConfig.CONFIG) {
-            // 客户端重新初始化资源
-            if (FMLEnvironment.dist.isClient()) {
+            if (event instanceof ModConfigEvent.Unloading) {
+                return;
+            }
+
+            // 对比新旧配置快照，只重载有变化的模块
+            EpicEngineCustomConfig.Snapshot previous = EpicEngineCustomConfig.bake();
+            EnumSet<EpicEngineCustomConfig.Module> changed = EpicEngineCustomConfig.getSnapshot().changedModules(previous);
+            if (changed.isEmpty()) {
+                LOGGER.info("[EPIC ENGINE]: Config unchanged, nothing to reload");
+                return;
+            }
+
+            long start = System.nanoTime();
+            if (changed.contains(EpicEngineCustomConfig.Module.OTHERS)) {
+                // 预设命令列表可能变化，重新解析并报告错误
+                PresetCommandsHandler.reparseCommands();
+                RecurringCommandScheduler.reload();
+            }
+            LOGGER.info("[EPIC ENGINE]: Config modules changed: {} (common reload took {} µs)",
+                    changed, (System.nanoTime() - start) / 1000L);
+
+            // 首次加载时客户端资源由 onClientSetup 初始化
+            if (FMLEnvironment.dist.isClient() && event instanceof ModConfigEvent.Reloading) {
                 try {
-                    EpicEngineCustomConfig.initializeResources();
-                    LOGGER.info("[EPIC ENGINE]: Client resources reloaded");
+                    ClientConfigReloader.apply(changed);
                 } catch (Exception e) {
-                    LOGGER.error("[EPIC ENGINE]: Failed to reinitialize resources", e);
+                    LOGGER.error("[EPIC ENGINE]: Failed to reload client modules", e);
                 }
             }
         }
     }
 
+    /** 战斗系统配置加载/重载：重建快照，重载时一次性推送变更给在线玩家 */
+    private void onBattleSystemConfigChanged(final ModConfigEvent event) {
+        if (event instanceof ModConfigEvent.Unloading) {
+            EpicEngineBattleSystemConfig.resetToDefaults();
+            return;
+        }
+
+        EpicEngineBattleSystemConfig.Snapshot previous = EpicEngineBattleSystemConfig.bake();
+
+        // 配置文件监听线程触发，切回服务端线程再修改玩家属性
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (!(event instanceof ModConfigEvent.Reloading)) {
+            // 服务端配置在数据包监听器之后才加载，此时再合并配置中的自定义资源池
+            if (server != null) {
+                server.execute(ResourcePoolLoader::applyMergedDefinitions);
+            }
+            return;
+        }
+
+        if (server != null) {
+            server.execute(() -> EpicEngineModAttributes.PlayerAttributesSync.applyConfigChanges(
+                    server, previous, EpicEngineBattleSystemConfig.getSnapshot()));
+        }
+    }
+
     /** 初始化网络消息 */
     private void initNetworking() {
         addNetworkMessage(ConfigSyncPacket.class,
                 ConfigSyncPacket::encode,
                 ConfigSyncPacket::decode,
                 ConfigSyncPacket::handle);
+        addNetworkMessage(ResourceRegistrySyncPacket.class,
+                ResourceRegistrySyncPacket::encode,
+                ResourceRegistrySyncPacket::decode,
+                ResourceRegistrySyncPacket::handle);
+        addNetworkMessage(ResourcePoolSyncPacket.class,
+                ResourcePoolSyncPacket::encode,
+                ResourcePoolSyncPacket::decode,
+                ResourcePoolSyncPacket::handle);
     }
 
     /** 玩家加入服务器时发送服务端配置 */
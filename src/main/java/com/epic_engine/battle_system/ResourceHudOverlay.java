@@ -0,0 +1,214 @@
+package com.epic_engine.battle_system;
+
+import com.epic_engine.API.battle_system.AttributesUtil;
+import com.epic_engine.EpicEngineMod;
+import com.epic_engine.config.EpicEngineBattleSystemConfig;
+import com.epic_engine.config.EpicEngineCustomConfig;
+import com.epic_engine.custom.HudLayoutData;
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.player.LocalPlayer;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.client.event.RegisterGuiOverlaysEvent;
+import net.minecraftforge.client.gui.overlay.ForgeGui;
+import net.minecraftforge.client.gui.overlay.IGuiOverlay;
+import net.minecraftforge.client.gui.overlay.VanillaGuiOverlay;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Mana and stamina bars drawn on the in-game HUD.
+ * Pool values are sampled once per client tick into plain fields; bar geometry is rebuilt only when the
+ * window size, GUI scale or layout changes, and fill widths only when the quantized value moves a pixel.
+ */
+@OnlyIn(Dist.CLIENT)
+@Mod.EventBusSubscriber(modid = EpicEngineMod.MODID, value = Dist.CLIENT)
+public class ResourceHudOverlay {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    // 贴图尺寸：边框 66x12，填充 64x10，填充区域在边框内偏移 1 像素
+    private static final int BAR_TEXTURE_WIDTH = 66;
+    private static final int BAR_TEXTURE_HEIGHT = 12;
+    private static final int FILL_TEXTURE_WIDTH = 64;
+    private static final int FILL_TEXTURE_HEIGHT = 10;
+    private static final int FILL_INSET = 1;
+
+    public static final IGuiOverlay OVERLAY = ResourceHudOverlay::render;
+
+    private static final Bar MANA = new Bar();
+    private static final Bar STAMINA = new Bar();
+
+    // 客户端缓存的资源值，每 tick 采样一次
+    private static double mana = 0.0;
+    private static double maxMana = 0.0;
+    private static double stamina = 0.0;
+    private static double maxStamina = 0.0;
+    private static boolean hasPlayer = false;
+
+    private static HudLayoutData layout = null;
+    private static int cachedScreenWidth = -1;
+    private static int cachedScreenHeight = -1;
+    private static double cachedGuiScale = -1.0;
+
+    private static class Bar {
+        boolean enabled;
+        ResourceLocation background;
+        ResourceLocation fill;
+        int x;
+        int y;
+        int width;
+        int height;
+        int fillX;
+        int fillY;
+        int fillMaxWidth;
+        int fillHeight;
+
+        int quantized = -1;
+        int fillWidth = 0;
+        int fillU = 0;
+
+        void update(double value, double max) {
+            int q = max > 0.0 ? (int) Math.round(Math.max(0.0, Math.min(1.0, value / max)) * fillMaxWidth) : 0;
+            if (q != quantized) {
+                quantized = q;
+                fillWidth = q;
+                fillU = fillMaxWidth > 0 ? q * FILL_TEXTURE_WIDTH / fillMaxWidth : 0;
+            }
+        }
+
+        void render(GuiGraphics guiGraphics) {
+            guiGraphics.blit(background, x, y, width, height, 0, 0,
+                    BAR_TEXTURE_WIDTH, BAR_TEXTURE_HEIGHT, BAR_TEXTURE_WIDTH, BAR_TEXTURE_HEIGHT);
+            if (fillWidth > 0) {
+                guiGraphics.blit(fill, fillX, fillY, fillWidth, fillHeight, 0, 0,
+                        fillU, FILL_TEXTURE_HEIGHT, FILL_TEXTURE_WIDTH, FILL_TEXTURE_HEIGHT);
+            }
+        }
+    }
+
+    private static void render(ForgeGui gui, GuiGraphics guiGraphics, float partialTick, int screenWidth, int screenHeight) {
+        Minecraft mc = gui.getMinecraft();
+        if (!hasPlayer || mc.options.hideGui || !EpicEngineBattleSystemConfig.isBattleSystemEnabled()) {
+            return;
+        }
+
+        double guiScale = mc.getWindow().getGuiScale();
+        if (layout == null || screenWidth != cachedScreenWidth || screenHeight != cachedScreenHeight || guiScale != cachedGuiScale) {
+            rebuildGeometry(screenWidth, screenHeight, guiScale);
+        }
+
+        RenderSystem.enableBlend();
+        if (MANA.enabled) {
+            MANA.update(mana, maxMana);
+            MANA.render(guiGraphics);
+        }
+        if (STAMINA.enabled) {
+            STAMINA.update(stamina, maxStamina);
+            STAMINA.render(guiGraphics);
+        }
+        RenderSystem.disableBlend();
+    }
+
+    private static void rebuildGeometry(int screenWidth, int screenHeight, double guiScale) {
+        if (layout == null) {
+            layout = HudLayoutData.load(EpicEngineCustomConfig.getHudLayoutFile());
+        }
+
+        layoutBar(MANA, layout.mana_bar, screenWidth, screenHeight);
+        layoutBar(STAMINA, layout.stamina_bar, screenWidth, screenHeight);
+
+        cachedScreenWidth = screenWidth;
+        cachedScreenHeight = screenHeight;
+        cachedGuiScale = guiScale;
+    }
+
+    private static void layoutBar(Bar bar, HudLayoutData.BarComponent component, int screenWidth, int screenHeight) {
+        bar.enabled = component.enabled;
+        bar.background = parseTexture(component.background_texture);
+        bar.fill = parseTexture(component.fill_texture);
+        if (bar.background == null || bar.fill == null) {
+            bar.enabled = false;
+            return;
+        }
+
+        HudLayoutData.Position pos = component.position;
+        bar.width = pos.width > 0 ? pos.width : BAR_TEXTURE_WIDTH;
+        bar.height = pos.height > 0 ? pos.height : BAR_TEXTURE_HEIGHT;
+
+        String anchor = component.anchor != null ? component.anchor.toUpperCase() : "TOP_LEFT";
+        float horizontal = anchor.endsWith("RIGHT") ? 1.0f : anchor.endsWith("LEFT") ? 0.0f : 0.5f;
+        float vertical = anchor.startsWith("BOTTOM") ? 1.0f : anchor.startsWith("TOP") ? 0.0f : 0.5f;
+
+        // 偏移量朝屏幕内侧：右/下锚点时向左/向上偏移
+        int offsetX = horizontal == 1.0f ? -pos.x : pos.x;
+        int offsetY = vertical == 1.0f ? -pos.y : pos.y;
+        bar.x = Math.round(screenWidth * horizontal - bar.width * horizontal) + offsetX;
+        bar.y = Math.round(screenHeight * vertical - bar.height * vertical) + offsetY;
+
+        // 填充区域按边框的缩放比例换算
+        float scaleX = (float) bar.width / BAR_TEXTURE_WIDTH;
+        float scaleY = (float) bar.height / BAR_TEXTURE_HEIGHT;
+        bar.fillX = bar.x + Math.round(FILL_INSET * scaleX);
+        bar.fillY = bar.y + Math.round(FILL_INSET * scaleY);
+        bar.fillMaxWidth = Math.round(FILL_TEXTURE_WIDTH * scaleX);
+        bar.fillHeight = Math.round(FILL_TEXTURE_HEIGHT * scaleY);
+        bar.quantized = -1;
+    }
+
+    private static ResourceLocation parseTexture(String texture) {
+        ResourceLocation location = texture != null ? ResourceLocation.tryParse(texture) : null;
+        if (location == null) {
+            LOGGER.warn("[EPIC ENGINE]: Invalid HUD texture '{}'", texture);
+        }
+        return location;
+    }
+
+    /**
+     * Drop the cached layout so it is re-read from disk on the next frame.
+     */
+    public static void reloadLayout() {
+        layout = null;
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) {
+            return;
+        }
+
+        LocalPlayer player = Minecraft.getInstance().player;
+        hasPlayer = player != null && !player.isSpectator();
+        if (!hasPlayer) {
+            return;
+        }
+
+        mana = AttributesUtil.getMana(player);
+        maxMana = AttributesUtil.getMaxMana(player);
+        stamina = AttributesUtil.getStamina(player);
+        maxStamina = AttributesUtil.getMaxStamina(player);
+    }
+
+    @SubscribeEvent
+    public static void onLoggingIn(ClientPlayerNetworkEvent.LoggingIn event) {
+        // 每次进入世界时重新读取布局，使编辑后的布局文件生效
+        reloadLayout();
+    }
+
+    // ========== Overlay Registration ==========
+    @Mod.EventBusSubscriber(modid = EpicEngineMod.MODID, bus = Mod.EventBusSubscriber.Bus.MOD, value = Dist.CLIENT)
+    public static class Registration {
+
+        @SubscribeEvent
+        public static void registerOverlays(RegisterGuiOverlaysEvent event) {
+            event.registerAbove(VanillaGuiOverlay.HOTBAR.id(), "resource_bars", OVERLAY);
+        }
+    }
+}
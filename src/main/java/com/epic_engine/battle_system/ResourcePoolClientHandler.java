@@ -0,0 +1,35 @@
+package com.epic_engine.battle_system;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+/**
+ * Client-side packet handling for the resource pool system
+ */
+@OnlyIn(Dist.CLIENT)
+public class ResourcePoolClientHandler {
+
+    static void applySync(ResourcePoolSyncPacket packet) {
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.level == null) {
+            return;
+        }
+
+        Entity entity = mc.level.getEntity(packet.entityId);
+        if (!(entity instanceof LivingEntity living)) {
+            return;
+        }
+
+        ResourcePoolStorage storage = ResourcePoolStorage.get(living);
+        if (storage == null) {
+            return;
+        }
+
+        for (int i = 0; i < packet.indices.length; i++) {
+            storage.applySynced(packet.indices[i], packet.values[i], packet.maxValues[i]);
+        }
+    }
+}
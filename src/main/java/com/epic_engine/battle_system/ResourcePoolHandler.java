@@ -0,0 +1,241 @@
+package com.epic_engine.battle_system;
+
+import com.epic_engine.API.battle_system.AttributesUtil;
+import com.epic_engine.API.battle_system.ResourcePoolRegistry;
+import com.epic_engine.EpicEngineMod;
+import com.epic_engine.config.EpicEngineBattleSystemConfig;
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ICapabilitySerializable;
+import net.minecraftforge.common.capabilities.RegisterCapabilitiesEvent;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.event.AddReloadListenerEvent;
+import net.minecraftforge.event.AttachCapabilitiesEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.server.ServerLifecycleHooks;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Server-side driver of the resource pool system.
+ * Only storages that were activated (a pool changed, is regenerating, or belongs to a player) are ticked,
+ * so registering more pools adds no per-tick cost for entities that never use them.
+ */
+@Mod.EventBusSubscriber(modid = EpicEngineMod.MODID)
+public class ResourcePoolHandler {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final ResourceLocation STORAGE_ID = new ResourceLocation(EpicEngineMod.MODID, "resource_pools");
+
+    private static final List<ResourcePoolStorage> ticking = new ArrayList<>();
+    private static final List<ResourcePoolStorage> pending = new ArrayList<>();
+
+    /**
+     * Queue a storage for ticking; it is picked up at the start of the next server tick.
+     */
+    static void track(ResourcePoolStorage storage) {
+        pending.add(storage);
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) {
+            return;
+        }
+
+        if (!pending.isEmpty()) {
+            ticking.addAll(pending);
+            pending.clear();
+        }
+
+        for (int i = ticking.size() - 1; i >= 0; i--) {
+            ResourcePoolStorage storage = ticking.get(i);
+            if (!tickStorage(storage)) {
+                storage.ticking = false;
+                // 交换删除，避免 ArrayList 中间删除的数组拷贝
+                int last = ticking.size() - 1;
+                ticking.set(i, ticking.get(last));
+                ticking.remove(last);
+            }
+        }
+    }
+
+    private static boolean tickStorage(ResourcePoolStorage storage) {
+        LivingEntity owner = storage.getOwner();
+        if (owner.isRemoved()) {
+            return false;
+        }
+
+        boolean isPlayer = owner instanceof Player;
+        // 每秒回复一次，避免每 tick 修改属性都产生同步包
+        if (isPlayer && owner.tickCount % 20 == 0 && EpicEngineBattleSystemConfig.isBuiltInRegenerationEnabled()) {
+            tickBuiltInRegeneration(owner);
+        }
+
+        boolean regenerating = storage.tickRegeneration();
+
+        if (storage.isDirty()) {
+            ResourcePoolSyncPacket packet = storage.drainDirty();
+            if (owner instanceof ServerPlayer serverPlayer) {
+                EpicEngineMod.PACKET_HANDLER.sendTo(packet, serverPlayer.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
+            }
+        }
+
+        return isPlayer || regenerating;
+    }
+
+    /**
+     * Regenerate one second's worth of the attribute-backed pools (mana, stamina) of a player.
+     * Off by default, since addons may already apply this regeneration through the API.
+     */
+    private static void tickBuiltInRegeneration(LivingEntity entity) {
+        for (int index = 0; index < ResourcePoolRegistry.BUILT_IN_COUNT; index++) {
+            double regen = AttributesUtil.getResourceRegeneration(entity, index);
+            if (regen <= 0.0) continue;
+
+            double current = AttributesUtil.getResource(entity, index);
+            double max = AttributesUtil.getMaxResource(entity, index);
+            if (current < max) {
+                AttributesUtil.setResource(entity, index, current + regen);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onAttachCapabilities(AttachCapabilitiesEvent<Entity> event) {
+        if (event.getObject() instanceof LivingEntity living) {
+            Provider provider = new Provider(living);
+            event.addCapability(STORAGE_ID, provider);
+            event.addListener(provider.optional::invalidate);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onAddReloadListeners(AddReloadListenerEvent event) {
+        event.addListener(new ResourcePoolLoader());
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            syncRegistryTo(player);
+            ResourcePoolStorage storage = ResourcePoolStorage.get(player);
+            if (storage != null) {
+                storage.markAllDirty();
+                storage.activate();
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            ResourcePoolStorage storage = ResourcePoolStorage.get(player);
+            if (storage != null) {
+                storage.markAllDirty();
+                storage.activate();
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerClone(PlayerEvent.Clone event) {
+        try {
+            // 死亡后重置为默认值，维度切换时保留当前值
+            if (event.isWasDeath()) {
+                return;
+            }
+
+            Player original = event.getOriginal();
+            original.reviveCaps();
+            ResourcePoolStorage from = ResourcePoolStorage.get(original);
+            ResourcePoolStorage to = ResourcePoolStorage.get(event.getEntity());
+            if (from != null && to != null) {
+                to.copyFrom(from);
+            }
+            original.invalidateCaps();
+        } catch (Exception e) {
+            LOGGER.warn("[EPIC ENGINE]: Failed to copy resource pools on player clone", e);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        ticking.clear();
+        pending.clear();
+        ResourcePoolRegistry.resetToBuiltIns();
+    }
+
+    /**
+     * Send the current index assignment to one player.
+     */
+    public static void syncRegistryTo(ServerPlayer player) {
+        EpicEngineMod.PACKET_HANDLER.sendTo(
+                new ResourceRegistrySyncPacket(ResourcePoolRegistry.getIdsInIndexOrder()),
+                player.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
+    }
+
+    /**
+     * Send the current index assignment to every online player (after a reload).
+     */
+    public static void syncRegistryToAll() {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) {
+            return;
+        }
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            syncRegistryTo(player);
+        }
+    }
+
+    private static class Provider implements ICapabilitySerializable<CompoundTag> {
+        private final ResourcePoolStorage storage;
+        private final LazyOptional<ResourcePoolStorage> optional;
+
+        Provider(LivingEntity owner) {
+            this.storage = new ResourcePoolStorage(owner);
+            this.optional = LazyOptional.of(() -> storage);
+        }
+
+        @Override
+        public <T> LazyOptional<T> getCapability(Capability<T> cap, @Nullable Direction side) {
+            return ResourcePoolStorage.CAPABILITY.orEmpty(cap, optional);
+        }
+
+        @Override
+        public CompoundTag serializeNBT() {
+            return storage.serializeNBT();
+        }
+
+        @Override
+        public void deserializeNBT(CompoundTag tag) {
+            storage.deserializeNBT(tag);
+        }
+    }
+
+    // ========== Capability Registration ==========
+    @Mod.EventBusSubscriber(modid = EpicEngineMod.MODID, bus = Mod.EventBusSubscriber.Bus.MOD)
+    public static class Registration {
+
+        @SubscribeEvent
+        public static void registerCapabilities(RegisterCapabilitiesEvent event) {
+            event.register(ResourcePoolStorage.class);
+        }
+    }
+}
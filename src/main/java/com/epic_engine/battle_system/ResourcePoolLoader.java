@@ -0,0 +1,75 @@
+package com.epic_engine.battle_system;
+
+import com.epic_engine.API.battle_system.ResourcePoolRegistry;
+import com.epic_engine.config.EpicEngineBattleSystemConfig;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
+import net.minecraft.util.GsonHelper;
+import net.minecraft.util.profiling.ProfilerFiller;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Loads resource pool definitions from {@code data/<namespace>/epic_engine/resource_pools/<name>.json}.
+ * <pre>
+ * { "default": 0.0, "max": 100.0, "regeneration": 1.0 }
+ * </pre>
+ * Pools defined in the battle system config are merged on top and win over datapack definitions.
+ */
+public class ResourcePoolLoader extends SimpleJsonResourceReloadListener {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final Gson GSON = new GsonBuilder().create();
+
+    // 最近一次数据包加载的定义，配置变化时与之重新合并
+    private static volatile Map<ResourceLocation, ResourcePoolRegistry.Definition> datapackDefinitions = Map.of();
+
+    public ResourcePoolLoader() {
+        super(GSON, "epic_engine/resource_pools");
+    }
+
+    @Override
+    protected void apply(Map<ResourceLocation, JsonElement> entries, ResourceManager resourceManager, ProfilerFiller profiler) {
+        // 按 ID 排序，保证相同数据包得到相同的索引分配
+        Map<ResourceLocation, ResourcePoolRegistry.Definition> definitions = new TreeMap<>();
+
+        entries.forEach((id, json) -> {
+            try {
+                JsonObject object = GsonHelper.convertToJsonObject(json, "resource pool");
+                definitions.put(id, new ResourcePoolRegistry.Definition(
+                        GsonHelper.getAsDouble(object, "default", 0.0),
+                        GsonHelper.getAsDouble(object, "max", 100.0),
+                        GsonHelper.getAsDouble(object, "regeneration", 0.0)));
+            } catch (Exception e) {
+                LOGGER.error("[EPIC ENGINE]: Invalid resource pool definition: {}", id, e);
+            }
+        });
+
+        datapackDefinitions = definitions;
+        applyMergedDefinitions();
+    }
+
+    /**
+     * Merge the config pools over the last datapack definitions and apply them, then resync online players.
+     * Called after a datapack reload and whenever the battle system config is loaded or changes, since the server
+     * config is only read after the datapack listeners ran at world start.
+     */
+    public static void applyMergedDefinitions() {
+        Map<ResourceLocation, ResourcePoolRegistry.Definition> definitions = new TreeMap<>(datapackDefinitions);
+        definitions.putAll(EpicEngineBattleSystemConfig.getCustomResourceDefinitions());
+
+        int added = ResourcePoolRegistry.applyDefinitions(definitions);
+        LOGGER.info("[EPIC ENGINE]: Applied {} resource pool definitions ({} new, {} pools total)",
+                definitions.size(), added, ResourcePoolRegistry.size());
+
+        ResourcePoolHandler.syncRegistryToAll();
+    }
+}
@@ -0,0 +1,363 @@
+package com.epic_engine.battle_system;
+
+import com.epic_engine.API.battle_system.ResourcePool;
+import com.epic_engine.API.battle_system.ResourcePoolRegistry;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.CapabilityToken;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-entity storage of data-driven resource pools.
+ * Values are kept in dense primitive arrays indexed by {@link ResourcePool#getIndex()}; arrays are only
+ * allocated once a pool is first written, so entities that never use a custom pool cost nothing.
+ */
+public class ResourcePoolStorage {
+
+    public static final Capability<ResourcePoolStorage> CAPABILITY = CapabilityManager.get(new CapabilityToken<>() {});
+
+    private static final double[] EMPTY = new double[0];
+
+    private final LivingEntity owner;
+    private double[] values = EMPTY;
+    private double[] maxValues = EMPTY;
+    private double[] regenerations = EMPTY;
+    private final BitSet present = new BitSet();
+    private final BitSet dirty = new BitSet();
+
+    // 已不存在的资源池数据，保留到下次保存，避免数据包临时移除时丢失玩家数据
+    @Nullable private CompoundTag orphaned = null;
+
+    // 玩家数据：是否已应用过初始配置，以及上次保存的时间（用于离线回复）
+    private boolean initialized = false;
+    private long lastSavedAt = 0L;
+
+    // 冷却与持续效果（仅服务端），首次使用时分配
+    @Nullable private Map<ResourceLocation, TimedEffect> cooldowns = null;
+    @Nullable private Map<ResourceLocation, TimedEffect> timedEffects = null;
+
+    boolean ticking = false;
+
+    public ResourcePoolStorage(LivingEntity owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Get the storage attached to an entity.
+     * @param entity The target entity
+     * @return Storage, or null if the capability is not attached
+     */
+    @Nullable
+    public static ResourcePoolStorage get(LivingEntity entity) {
+        return entity.getCapability(CAPABILITY).orElse(null);
+    }
+
+    public LivingEntity getOwner() {
+        return owner;
+    }
+
+    /**
+     * @return true if the entity has touched this pool (otherwise values are the pool defaults)
+     */
+    public boolean has(int index) {
+        return present.get(index);
+    }
+
+    public double getValue(int index) {
+        if (present.get(index)) {
+            return values[index];
+        }
+        ResourcePool pool = ResourcePoolRegistry.get(index);
+        return pool != null ? pool.getDefaultValue() : 0.0;
+    }
+
+    public double getMax(int index) {
+        if (present.get(index)) {
+            return maxValues[index];
+        }
+        ResourcePool pool = ResourcePoolRegistry.get(index);
+        return pool != null ? pool.getDefaultMax() : 0.0;
+    }
+
+    public double getRegeneration(int index) {
+        if (present.get(index)) {
+            return regenerations[index];
+        }
+        ResourcePool pool = ResourcePoolRegistry.get(index);
+        return pool != null ? pool.getDefaultRegeneration() : 0.0;
+    }
+
+    /**
+     * Set the current value, clamped between 0 and the entity's maximum.
+     */
+    public void setValue(int index, double value) {
+        if (!ensure(index)) return;
+        double clamped = Math.max(0.0, Math.min(value, maxValues[index]));
+        if (clamped != values[index]) {
+            values[index] = clamped;
+            markChanged(index);
+        }
+    }
+
+    public void setMax(int index, double max) {
+        if (!ensure(index)) return;
+        double clamped = Math.max(0.0, max);
+        if (clamped != maxValues[index]) {
+            maxValues[index] = clamped;
+            values[index] = Math.min(values[index], clamped);
+            markChanged(index);
+        }
+    }
+
+    public void setRegeneration(int index, double regeneration) {
+        if (!ensure(index)) return;
+        regenerations[index] = Math.max(0.0, regeneration);
+        activate();
+    }
+
+    /**
+     * Write a value received from the server without clamping or marking it dirty.
+     */
+    public void applySynced(int index, double value, double max) {
+        if (!ensure(index)) return;
+        values[index] = value;
+        maxValues[index] = max;
+    }
+
+    private boolean ensure(int index) {
+        if (present.get(index)) {
+            return true;
+        }
+        ResourcePool pool = ResourcePoolRegistry.get(index);
+        if (pool == null || pool.isAttributeBacked()) {
+            return false;
+        }
+
+        if (index >= values.length) {
+            int capacity = Math.max(index + 1, ResourcePoolRegistry.size());
+            values = Arrays.copyOf(values, capacity);
+            maxValues = Arrays.copyOf(maxValues, capacity);
+            regenerations = Arrays.copyOf(regenerations, capacity);
+        }
+
+        values[index] = pool.getDefaultValue();
+        maxValues[index] = pool.getDefaultMax();
+        regenerations[index] = pool.getDefaultRegeneration();
+        present.set(index);
+        markChanged(index);
+        return true;
+    }
+
+    private void markChanged(int index) {
+        dirty.set(index);
+        activate();
+    }
+
+    /**
+     * Start ticking this storage (regeneration and sync) on the server.
+     */
+    public void activate() {
+        if (!ticking && !owner.level().isClientSide) {
+            ticking = true;
+            ResourcePoolHandler.track(this);
+        }
+    }
+
+    /**
+     * Advance regeneration by one tick.
+     * @return true if the storage still needs ticking afterwards
+     */
+    boolean tickRegeneration() {
+        boolean regenerating = false;
+
+        for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+            double regen = regenerations[i];
+            if (regen > 0.0 && values[i] < maxValues[i]) {
+                values[i] = Math.min(maxValues[i], values[i] + regen / 20.0);
+                dirty.set(i);
+                regenerating |= values[i] < maxValues[i];
+            }
+        }
+
+        return regenerating;
+    }
+
+    /**
+     * @return true if any pool changed since the last sync
+     */
+    boolean isDirty() {
+        return !dirty.isEmpty();
+    }
+
+    /**
+     * Collect and clear the changed pools.
+     * @return Sync packet for the owning player
+     */
+    ResourcePoolSyncPacket drainDirty() {
+        int count = dirty.cardinality();
+        int[] indices = new int[count];
+        double[] syncedValues = new double[count];
+        double[] syncedMax = new double[count];
+
+        int n = 0;
+        for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+            indices[n] = i;
+            syncedValues[n] = values[i];
+            syncedMax[n] = maxValues[i];
+            n++;
+        }
+        dirty.clear();
+
+        return new ResourcePoolSyncPacket(owner.getId(), indices, syncedValues, syncedMax);
+    }
+
+    /**
+     * Mark every present pool as changed, e.g. to resend the full state after login.
+     */
+    public void markAllDirty() {
+        if (!present.isEmpty()) {
+            dirty.or(present);
+            activate();
+        }
+    }
+
+    /**
+     * Copy all pools from another storage (respawn / dimension change).
+     */
+    public void copyFrom(ResourcePoolStorage other) {
+        deserializeNBT(other.serializeNBT());
+    }
+
+    /**
+     * @return true once the entity received its initial pool values (first join for players)
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    public void markInitialized() {
+        this.initialized = true;
+    }
+
+    /**
+     * @return Milliseconds since this storage was last written to disk, or 0 if it never was
+     */
+    public long getMillisSinceLastSave() {
+        return lastSavedAt > 0L ? Math.max(0L, System.currentTimeMillis() - lastSavedAt) : 0L;
+    }
+
+    /**
+     * @param cooldown true for the cooldown table, false for periodic effects
+     */
+    Map<ResourceLocation, TimedEffect> getTimedEffects(boolean cooldown) {
+        if (cooldown) {
+            if (cooldowns == null) cooldowns = new HashMap<>();
+            return cooldowns;
+        }
+        if (timedEffects == null) timedEffects = new HashMap<>();
+        return timedEffects;
+    }
+
+    /**
+     * Like {@link #getTimedEffects(boolean)}, but without allocating the table.
+     * @return The table, or null if nothing was ever scheduled on this storage
+     */
+    @Nullable
+    Map<ResourceLocation, TimedEffect> peekTimedEffects(boolean cooldown) {
+        return cooldown ? cooldowns : timedEffects;
+    }
+
+    public CompoundTag serializeNBT() {
+        CompoundTag tag = new CompoundTag();
+        // 未使用过资源池的实体（绝大多数生物）不写入任何数据
+        if (isUnused()) {
+            return tag;
+        }
+
+        tag.putBoolean("initialized", initialized);
+        tag.putLong("saved_at", System.currentTimeMillis());
+
+        CompoundTag pools = orphaned != null ? orphaned.copy() : new CompoundTag();
+        for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+            ResourcePool pool = ResourcePoolRegistry.get(i);
+            if (pool == null) continue;
+
+            CompoundTag entry = new CompoundTag();
+            entry.putDouble("value", values[i]);
+            entry.putDouble("max", maxValues[i]);
+            entry.putDouble("regeneration", regenerations[i]);
+            pools.put(pool.getId().toString(), entry);
+        }
+        tag.put("pools", pools);
+
+        if (cooldowns != null && !cooldowns.isEmpty()) {
+            tag.put("cooldowns", saveTimedEffects(cooldowns));
+        }
+        if (timedEffects != null && !timedEffects.isEmpty()) {
+            tag.put("effects", saveTimedEffects(timedEffects));
+        }
+
+        return tag;
+    }
+
+    public void deserializeNBT(CompoundTag tag) {
+        present.clear();
+        orphaned = null;
+        initialized = tag.getBoolean("initialized");
+        lastSavedAt = tag.getLong("saved_at");
+
+        CompoundTag pools = tag.getCompound("pools");
+        for (String key : pools.getAllKeys()) {
+            ResourceLocation id = ResourceLocation.tryParse(key);
+            int index = id != null ? ResourcePoolRegistry.getIndex(id) : -1;
+            CompoundTag entry = pools.getCompound(key);
+
+            if (index < 0 || !ensure(index)) {
+                if (orphaned == null) orphaned = new CompoundTag();
+                orphaned.put(key, entry.copy());
+                continue;
+            }
+
+            maxValues[index] = Math.max(0.0, entry.getDouble("max"));
+            values[index] = Math.max(0.0, Math.min(entry.getDouble("value"), maxValues[index]));
+            regenerations[index] = Math.max(0.0, entry.getDouble("regeneration"));
+        }
+
+        if (!owner.level().isClientSide) {
+            TimedEffectScheduler.cancelAll(this);
+            loadTimedEffects(tag.getCompound("cooldowns"), true);
+            loadTimedEffects(tag.getCompound("effects"), false);
+        }
+    }
+
+    private boolean isUnused() {
+        return !initialized && present.isEmpty() && orphaned == null
+                && (cooldowns == null || cooldowns.isEmpty())
+                && (timedEffects == null || timedEffects.isEmpty());
+    }
+
+    private static CompoundTag saveTimedEffects(Map<ResourceLocation, TimedEffect> effects) {
+        CompoundTag tag = new CompoundTag();
+        for (Map.Entry<ResourceLocation, TimedEffect> entry : effects.entrySet()) {
+            tag.put(entry.getKey().toString(), TimedEffectScheduler.save(entry.getValue()));
+        }
+        return tag;
+    }
+
+    private void loadTimedEffects(CompoundTag tag, boolean cooldown) {
+        for (String key : tag.getAllKeys()) {
+            ResourceLocation id = ResourceLocation.tryParse(key);
+            if (id != null) {
+                TimedEffectScheduler.load(this, id, cooldown, tag.getCompound(key));
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.epic_engine.battle_system;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * Resource pool sync packet - carries every pool of one entity that changed during a tick
+ */
+public class ResourcePoolSyncPacket {
+    final int entityId;
+    final int[] indices;
+    final double[] values;
+    final double[] maxValues;
+
+    public ResourcePoolSyncPacket(int entityId, int[] indices, double[] values, double[] maxValues) {
+        this.entityId = entityId;
+        this.indices = indices;
+        this.values = values;
+        this.maxValues = maxValues;
+    }
+
+    public void encode(FriendlyByteBuf buffer) {
+        buffer.writeVarInt(entityId);
+        buffer.writeVarInt(indices.length);
+        for (int i = 0; i < indices.length; i++) {
+            buffer.writeVarInt(indices[i]);
+            buffer.writeDouble(values[i]);
+            buffer.writeDouble(maxValues[i]);
+        }
+    }
+
+    public static ResourcePoolSyncPacket decode(FriendlyByteBuf buffer) {
+        int entityId = buffer.readVarInt();
+        int count = buffer.readVarInt();
+        int[] indices = new int[count];
+        double[] values = new double[count];
+        double[] maxValues = new double[count];
+        for (int i = 0; i < count; i++) {
+            indices[i] = buffer.readVarInt();
+            values[i] = buffer.readDouble();
+            maxValues[i] = buffer.readDouble();
+        }
+        return new ResourcePoolSyncPacket(entityId, indices, values, maxValues);
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> context) {
+        context.get().enqueueWork(() ->
+                DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ResourcePoolClientHandler.applySync(this)));
+        context.get().setPacketHandled(true);
+    }
+}
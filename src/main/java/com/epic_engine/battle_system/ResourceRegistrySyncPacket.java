@@ -0,0 +1,39 @@
+package com.epic_engine.battle_system;
+
+import com.epic_engine.API.battle_system.ResourcePoolRegistry;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Resource registry sync packet - tells the client which pool lives at which index
+ */
+public class ResourceRegistrySyncPacket {
+    private final List<ResourceLocation> ids;
+
+    public ResourceRegistrySyncPacket(List<ResourceLocation> ids) {
+        this.ids = ids;
+    }
+
+    public void encode(FriendlyByteBuf buffer) {
+        buffer.writeCollection(ids, FriendlyByteBuf::writeResourceLocation);
+    }
+
+    public static ResourceRegistrySyncPacket decode(FriendlyByteBuf buffer) {
+        return new ResourceRegistrySyncPacket(buffer.readList(FriendlyByteBuf::readResourceLocation));
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> context) {
+        context.get().enqueueWork(() -> {
+            // 单人游戏中客户端与服务端共享注册表，无需覆盖
+            if (context.get().getNetworkManager().isMemoryConnection()) {
+                return;
+            }
+            ResourcePoolRegistry.acceptFromServer(ids);
+        });
+        context.get().setPacketHandled(true);
+    }
+}
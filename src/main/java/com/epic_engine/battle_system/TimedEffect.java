@@ -0,0 +1,39 @@
+package com.epic_engine.battle_system;
+
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * A cooldown or a periodic resource change owned by one entity's storage
+ */
+final class TimedEffect extends TimingWheel.Entry {
+
+    final ResourcePoolStorage storage;
+    final ResourceLocation id;
+    final boolean cooldown;
+    final int poolIndex;
+    // 每次触发的变化量：正数恢复，负数消耗
+    final double amount;
+    final int interval;
+    // 剩余触发次数，-1 表示持续到被取消
+    int remainingPulses;
+
+    private TimedEffect(ResourcePoolStorage storage, ResourceLocation id, boolean cooldown,
+                        int poolIndex, double amount, int interval, int remainingPulses) {
+        this.storage = storage;
+        this.id = id;
+        this.cooldown = cooldown;
+        this.poolIndex = poolIndex;
+        this.amount = amount;
+        this.interval = interval;
+        this.remainingPulses = remainingPulses;
+    }
+
+    static TimedEffect cooldown(ResourcePoolStorage storage, ResourceLocation id) {
+        return new TimedEffect(storage, id, true, -1, 0.0, 0, 1);
+    }
+
+    static TimedEffect periodic(ResourcePoolStorage storage, ResourceLocation id,
+                                int poolIndex, double amount, int interval, int pulses) {
+        return new TimedEffect(storage, id, false, poolIndex, amount, Math.max(1, interval), pulses);
+    }
+}
@@ -0,0 +1,218 @@
+package com.epic_engine.battle_system;
+
+import com.epic_engine.API.battle_system.AttributesUtil;
+import com.epic_engine.API.battle_system.ResourcePool;
+import com.epic_engine.API.battle_system.ResourcePoolRegistry;
+import com.epic_engine.EpicEngineMod;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Server-side scheduler for cooldowns and over-time resource effects.
+ * All entries of all entities share one {@link TimingWheel}, so the per-tick cost depends only on the
+ * entries that expire, not on how many entities have something pending.
+ */
+@Mod.EventBusSubscriber(modid = EpicEngineMod.MODID)
+public class TimedEffectScheduler {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final TimingWheel<TimedEffect> wheel = new TimingWheel<>();
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            wheel.advance(TimedEffectScheduler::fire);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        wheel.clear();
+    }
+
+    private static void fire(TimedEffect effect) {
+        ResourcePoolStorage storage = effect.storage;
+        LivingEntity owner = storage.getOwner();
+
+        // 实体已移除（卸载、死亡重生、换维度）时条目随旧存储一起丢弃，新实体从 NBT 恢复
+        if (owner.isRemoved()) {
+            return;
+        }
+
+        if (effect.cooldown) {
+            storage.getTimedEffects(true).remove(effect.id, effect);
+            return;
+        }
+
+        try {
+            double current = AttributesUtil.getResource(owner, effect.poolIndex);
+            AttributesUtil.setResource(owner, effect.poolIndex, current + effect.amount);
+        } catch (Exception e) {
+            LOGGER.warn("[EPIC ENGINE]: Failed to apply timed effect '{}'", effect.id, e);
+        }
+
+        if (effect.remainingPulses > 0) {
+            effect.remainingPulses--;
+        }
+        if (effect.remainingPulses != 0) {
+            wheel.schedule(effect, effect.interval);
+        } else {
+            storage.getTimedEffects(false).remove(effect.id, effect);
+        }
+    }
+
+    // ========== Cooldowns ==========
+
+    /**
+     * Start or restart a cooldown.
+     * @return false on the client or if the entity has no storage
+     */
+    public static boolean startCooldown(LivingEntity entity, ResourceLocation id, int ticks) {
+        ResourcePoolStorage storage = serverStorage(entity);
+        if (storage == null) return false;
+
+        if (ticks <= 0) {
+            clearCooldown(entity, id);
+            return true;
+        }
+
+        TimedEffect effect = TimedEffect.cooldown(storage, id);
+        replace(storage.getTimedEffects(true), effect);
+        wheel.schedule(effect, ticks);
+        return true;
+    }
+
+    /**
+     * @return Remaining cooldown in ticks, or 0 if the cooldown is not running
+     */
+    public static int getCooldownRemaining(LivingEntity entity, ResourceLocation id) {
+        ResourcePoolStorage storage = serverStorage(entity);
+        if (storage == null) return 0;
+
+        TimedEffect effect = storage.getTimedEffects(true).get(id);
+        return effect != null ? (int) Math.max(0L, wheel.remaining(effect)) : 0;
+    }
+
+    public static void clearCooldown(LivingEntity entity, ResourceLocation id) {
+        ResourcePoolStorage storage = serverStorage(entity);
+        if (storage != null) {
+            replace(storage.getTimedEffects(true), id, null);
+        }
+    }
+
+    // ========== Periodic Effects ==========
+
+    /**
+     * Schedule a periodic change of a resource pool, replacing any effect with the same id.
+     * @param amount Change per pulse; positive restores, negative consumes (clamped at 0)
+     * @param delay Ticks before the first pulse
+     * @param interval Ticks between pulses
+     * @param pulses Number of pulses, or -1 to run until cancelled
+     * @return false on the client, for an unknown pool, or if the entity has no storage
+     */
+    public static boolean schedule(LivingEntity entity, ResourceLocation id, int index,
+                                   double amount, int delay, int interval, int pulses) {
+        ResourcePoolStorage storage = serverStorage(entity);
+        if (storage == null || ResourcePoolRegistry.get(index) == null || pulses == 0) return false;
+
+        TimedEffect effect = TimedEffect.periodic(storage, id, index, amount, interval, pulses < 0 ? -1 : pulses);
+        replace(storage.getTimedEffects(false), effect);
+        wheel.schedule(effect, delay);
+        return true;
+    }
+
+    public static boolean isActive(LivingEntity entity, ResourceLocation id) {
+        ResourcePoolStorage storage = serverStorage(entity);
+        return storage != null && storage.getTimedEffects(false).containsKey(id);
+    }
+
+    public static void cancel(LivingEntity entity, ResourceLocation id) {
+        ResourcePoolStorage storage = serverStorage(entity);
+        if (storage != null) {
+            replace(storage.getTimedEffects(false), id, null);
+        }
+    }
+
+    // ========== Persistence ==========
+
+    /**
+     * Cancel every entry of a storage, e.g. before it is overwritten from NBT.
+     */
+    static void cancelAll(ResourcePoolStorage storage) {
+        // 每个加载的实体读档时都会调用，未使用过的表不要分配
+        cancelAll(storage.peekTimedEffects(true));
+        cancelAll(storage.peekTimedEffects(false));
+    }
+
+    private static void cancelAll(@Nullable Map<ResourceLocation, TimedEffect> effects) {
+        if (effects == null || effects.isEmpty()) {
+            return;
+        }
+        for (TimedEffect effect : effects.values()) wheel.cancel(effect);
+        effects.clear();
+    }
+
+    static CompoundTag save(TimedEffect effect) {
+        CompoundTag tag = new CompoundTag();
+        tag.putLong("remaining", Math.max(0L, wheel.remaining(effect)));
+        if (!effect.cooldown) {
+            ResourcePool pool = ResourcePoolRegistry.get(effect.poolIndex);
+            tag.putString("pool", pool != null ? pool.getId().toString() : "");
+            tag.putDouble("amount", effect.amount);
+            tag.putInt("interval", effect.interval);
+            tag.putInt("pulses", effect.remainingPulses);
+        }
+        return tag;
+    }
+
+    static void load(ResourcePoolStorage storage, ResourceLocation id, boolean cooldown, CompoundTag tag) {
+        long remaining = tag.getLong("remaining");
+        TimedEffect effect;
+
+        if (cooldown) {
+            effect = TimedEffect.cooldown(storage, id);
+        } else {
+            ResourceLocation poolId = ResourceLocation.tryParse(tag.getString("pool"));
+            int index = poolId != null ? ResourcePoolRegistry.getIndex(poolId) : -1;
+            if (index < 0) {
+                LOGGER.debug("[EPIC ENGINE]: Dropping timed effect '{}' for unknown pool '{}'", id, tag.getString("pool"));
+                return;
+            }
+            effect = TimedEffect.periodic(storage, id, index,
+                    tag.getDouble("amount"), tag.getInt("interval"), tag.getInt("pulses"));
+        }
+
+        replace(storage.getTimedEffects(cooldown), effect);
+        wheel.schedule(effect, remaining);
+    }
+
+    private static void replace(Map<ResourceLocation, TimedEffect> effects, TimedEffect effect) {
+        replace(effects, effect.id, effect);
+    }
+
+    private static void replace(Map<ResourceLocation, TimedEffect> effects, ResourceLocation id, @Nullable TimedEffect effect) {
+        TimedEffect previous = effect != null ? effects.put(id, effect) : effects.remove(id);
+        if (previous != null) {
+            wheel.cancel(previous);
+        }
+    }
+
+    @Nullable
+    private static ResourcePoolStorage serverStorage(LivingEntity entity) {
+        if (entity.level().isClientSide) {
+            return null;
+        }
+        return ResourcePoolStorage.get(entity);
+    }
+}
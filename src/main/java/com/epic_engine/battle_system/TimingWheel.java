@@ -0,0 +1,161 @@
+package com.epic_engine.battle_system;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel advanced once per server tick.
+ * Four levels of 64 slots cover 2^24 ticks (about 9.7 days); entries further out are parked in the top level
+ * and re-filed each time it cascades. Insert, cancel and expiry are O(1) per entry.
+ */
+class TimingWheel<E extends TimingWheel.Entry> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    /**
+     * Intrusive list node; scheduled objects extend this so the wheel allocates nothing per insert.
+     */
+    abstract static class Entry {
+        long deadline;
+        int bucket = -1;
+        Entry prev;
+        Entry next;
+
+        boolean isScheduled() {
+            return bucket >= 0;
+        }
+    }
+
+    private final Entry[] buckets = new Entry[SLOTS * LEVELS];
+    private long currentTick = 0L;
+    private int size = 0;
+
+    /**
+     * @return The tick that will be processed by the next {@link #advance} call
+     */
+    long getCurrentTick() {
+        return currentTick;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Schedule an entry, replacing any previous schedule of the same entry.
+     * @param delay Ticks from now; 0 fires on the next advance
+     */
+    void schedule(E entry, long delay) {
+        cancel(entry);
+        entry.deadline = currentTick + Math.max(0L, delay);
+        insert(entry);
+        size++;
+    }
+
+    void cancel(E entry) {
+        if (entry.isScheduled()) {
+            unlink(entry);
+            size--;
+        }
+    }
+
+    /**
+     * @return Ticks until the entry fires, or -1 if it is not scheduled
+     */
+    long remaining(E entry) {
+        return entry.isScheduled() ? Math.max(0L, entry.deadline - currentTick) : -1L;
+    }
+
+    /**
+     * Process one tick, passing every expired entry to the callback.
+     * The callback may reschedule the entry it receives.
+     */
+    @SuppressWarnings("unchecked")
+    void advance(Consumer<E> expired) {
+        long tick = currentTick;
+
+        // 低层转完一圈时由高到低逐级下放，保证高层条目先落入即将处理的低层槽位
+        int top = 0;
+        while (top < LEVELS - 1 && (tick & ((1L << (SLOT_BITS * (top + 1))) - 1)) == 0) {
+            top++;
+        }
+        for (int level = top; level >= 1; level--) {
+            Entry entry = detach(level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK));
+            while (entry != null) {
+                Entry next = entry.next;
+                entry.prev = entry.next = null;
+                insert(entry);
+                entry = next;
+            }
+        }
+
+        Entry entry = detach((int) (tick & SLOT_MASK));
+        currentTick = tick + 1;
+
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.prev = entry.next = null;
+            if (entry.deadline > tick) {
+                // 超出轮盘范围的条目在顶层绕圈，未到期则重新放回
+                insert(entry);
+            } else {
+                size--;
+                expired.accept((E) entry);
+            }
+            entry = next;
+        }
+    }
+
+    void clear() {
+        Arrays.fill(buckets, null);
+        currentTick = 0L;
+        size = 0;
+    }
+
+    private void insert(Entry entry) {
+        long deadline = Math.max(entry.deadline, currentTick);
+        long delta = deadline - currentTick;
+
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        link(entry, level * SLOTS + (int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK));
+    }
+
+    private void link(Entry entry, int bucket) {
+        Entry head = buckets[bucket];
+        entry.bucket = bucket;
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        buckets[bucket] = entry;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            buckets[entry.bucket] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = entry.next = null;
+        entry.bucket = -1;
+    }
+
+    private Entry detach(int bucket) {
+        Entry head = buckets[bucket];
+        buckets[bucket] = null;
+        for (Entry entry = head; entry != null; entry = entry.next) {
+            entry.bucket = -1;
+        }
+        return head;
+    }
+}
@@ -0,0 +1,277 @@
+package com.epic_engine.config;
+
+import net.minecraft.Util;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Extracts the bundled default resources using the manifest generated at build time
+ * ({@code generateDefaultResourceManifest} in build.gradle) instead of walking the mod jar.
+ * A stamp file next to the custom directory records which default version every file was extracted from and the
+ * modification times of the target directories, so a call with nothing changed only stats those directories.
+ * Files edited by the user are never overwritten; a file is only updated when it is still identical to the default
+ * it was extracted from.
+ */
+public class DefaultResourceExtractor {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final String MANIFEST_PATH = "assets/epic_engine/custom_manifest.txt";
+    private static final String STAMP_VERSION = "1";
+
+    // 清单在运行期间不会变化，只读一次
+    private static Map<String, String> manifest = null;
+    private static String manifestDigest = null;
+    private static boolean manifestLoaded = false;
+
+    // 上次校验通过时各目录的修改时间
+    private static Map<Path, Long> verifiedDirectories = null;
+
+    /**
+     * Extract missing or outdated default resources.
+     * @param resourcePath Classpath folder the manifest entries are relative to
+     * @param targetDir Folder to extract into
+     * @param stampFile Stamp file; must not be inside {@code targetDir}
+     * @return false if no manifest is bundled (development run without the generated resources)
+     */
+    public static synchronized boolean extract(String resourcePath, Path targetDir, Path stampFile) throws IOException {
+        if (!loadManifest()) {
+            return false;
+        }
+
+        // 快速路径：目录没有增删文件，清单也没变，不需要任何操作
+        if (verifiedDirectories != null && directoriesUnchanged(verifiedDirectories)) {
+            LOGGER.debug("[EPIC ENGINE]: Default resources up to date");
+            return true;
+        }
+
+        long start = System.nanoTime();
+        Properties stamp = readStamp(stampFile);
+        boolean sameVersion = manifestDigest.equals(stamp.getProperty("manifest"));
+
+        if (sameVersion && directoriesUnchanged(readDirectoryTimes(stamp, targetDir))) {
+            verifiedDirectories = readDirectoryTimes(stamp, targetDir);
+            LOGGER.debug("[EPIC ENGINE]: Default resources up to date (stamp)");
+            return true;
+        }
+
+        AtomicInteger copied = new AtomicInteger();
+        List<CompletableFuture<Void>> copies = new ArrayList<>();
+        Properties newStamp = new Properties();
+
+        for (Map.Entry<String, String> entry : manifest.entrySet()) {
+            String relative = entry.getKey();
+            String hash = entry.getValue();
+            Path target = targetDir.resolve(relative);
+            String extractedFrom = stamp.getProperty("file." + relative);
+            newStamp.setProperty("file." + relative, hash);
+
+            boolean copy;
+            if (Files.notExists(target)) {
+                copy = true;
+            } else if (hash.equals(extractedFrom) || extractedFrom == null) {
+                // 已是当前版本，或来源未知（保留用户文件）
+                copy = false;
+            } else {
+                // 默认资源有新版本：只有文件仍是旧默认版本时才更新
+                copy = extractedFrom.equals(hashFile(target));
+                if (!copy) {
+                    LOGGER.info("[EPIC ENGINE]: Keeping modified resource {}, the bundled default changed", relative);
+                }
+            }
+
+            if (copy) {
+                copies.add(CompletableFuture.runAsync(() -> {
+                    if (copyResource(resourcePath + "/" + relative, target)) {
+                        copied.incrementAndGet();
+                    }
+                }, Util.ioPool()));
+            }
+        }
+
+        CompletableFuture.allOf(copies.toArray(new CompletableFuture[0])).join();
+
+        newStamp.setProperty("version", STAMP_VERSION);
+        newStamp.setProperty("manifest", manifestDigest);
+        Map<Path, Long> directories = currentDirectoryTimes(targetDir);
+        directories.forEach((dir, time) ->
+                newStamp.setProperty("dir." + relativeKey(targetDir, dir), Long.toString(time)));
+        writeStamp(stampFile, newStamp);
+        verifiedDirectories = directories;
+
+        LOGGER.info("[EPIC ENGINE]: Default resources checked, {} of {} file(s) extracted in {} ms",
+                copied.get(), manifest.size(), (System.nanoTime() - start) / 1_000_000L);
+        return true;
+    }
+
+    private static boolean loadManifest() {
+        if (manifestLoaded) {
+            return manifest != null;
+        }
+        manifestLoaded = true;
+
+        try (InputStream in = DefaultResourceExtractor.class.getClassLoader().getResourceAsStream(MANIFEST_PATH)) {
+            if (in == null) {
+                LOGGER.debug("[EPIC ENGINE]: No default resource manifest bundled");
+                return false;
+            }
+
+            byte[] bytes = in.readAllBytes();
+            Map<String, String> entries = new LinkedHashMap<>();
+            for (String line : new String(bytes, StandardCharsets.UTF_8).split("\n")) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                // 格式：<sha1> <相对路径>
+                int space = line.indexOf(' ');
+                if (space <= 0) {
+                    LOGGER.warn("[EPIC ENGINE]: Invalid default resource manifest line: {}", line);
+                    continue;
+                }
+                entries.put(line.substring(space + 1).trim(), line.substring(0, space));
+            }
+
+            manifest = entries;
+            manifestDigest = HexFormat.of().formatHex(sha1().digest(bytes));
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("[EPIC ENGINE]: Failed to read default resource manifest", e);
+            return false;
+        }
+    }
+
+    private static boolean copyResource(String resource, Path target) {
+        try (InputStream in = DefaultResourceExtractor.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                LOGGER.warn("[EPIC ENGINE]: Bundled resource listed in manifest not found: {}", resource);
+                return false;
+            }
+            Files.createDirectories(target.getParent());
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            LOGGER.error("[EPIC ENGINE]: Error copying resource {} -> {}", resource, target, e);
+            return false;
+        }
+    }
+
+    /**
+     * The target folder and every folder a manifest entry lives in.
+     */
+    private static Map<Path, Long> currentDirectoryTimes(Path targetDir) {
+        TreeSet<String> relativeDirs = new TreeSet<>();
+        relativeDirs.add("");
+        for (String relative : manifest.keySet()) {
+            int slash = relative.lastIndexOf('/');
+            if (slash > 0) {
+                relativeDirs.add(relative.substring(0, slash));
+            }
+        }
+
+        Map<Path, Long> times = new LinkedHashMap<>();
+        for (String relative : relativeDirs) {
+            Path dir = relative.isEmpty() ? targetDir : targetDir.resolve(relative);
+            times.put(dir, lastModified(dir));
+        }
+        return times;
+    }
+
+    private static Map<Path, Long> readDirectoryTimes(Properties stamp, Path targetDir) {
+        Map<Path, Long> times = new LinkedHashMap<>();
+        for (Path dir : currentDirectoryTimes(targetDir).keySet()) {
+            String value = stamp.getProperty("dir." + relativeKey(targetDir, dir));
+            try {
+                times.put(dir, value != null ? Long.parseLong(value) : -1L);
+            } catch (NumberFormatException e) {
+                times.put(dir, -1L);
+            }
+        }
+        return times;
+    }
+
+    private static boolean directoriesUnchanged(Map<Path, Long> expected) {
+        for (Map.Entry<Path, Long> entry : expected.entrySet()) {
+            long time = lastModified(entry.getKey());
+            if (time < 0 || time != entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return -1L;
+        }
+    }
+
+    private static String relativeKey(Path base, Path dir) {
+        return base.relativize(dir).toString().replace('\\', '/');
+    }
+
+    private static Properties readStamp(Path stampFile) {
+        Properties stamp = new Properties();
+        if (Files.isRegularFile(stampFile)) {
+            try (Reader reader = Files.newBufferedReader(stampFile, StandardCharsets.UTF_8)) {
+                stamp.load(reader);
+            } catch (IOException e) {
+                LOGGER.warn("[EPIC ENGINE]: Failed to read resource stamp, re-checking all defaults", e);
+                stamp.clear();
+            }
+        }
+        if (!STAMP_VERSION.equals(stamp.getProperty("version"))) {
+            stamp.clear();
+        }
+        return stamp;
+    }
+
+    private static void writeStamp(Path stampFile, Properties stamp) {
+        try {
+            Files.createDirectories(stampFile.getParent());
+            try (Writer writer = Files.newBufferedWriter(stampFile, StandardCharsets.UTF_8)) {
+                stamp.store(writer, "Epic Engine default resources - do not edit");
+            }
+        } catch (IOException e) {
+            LOGGER.warn("[EPIC ENGINE]: Failed to write resource stamp", e);
+        }
+    }
+
+    private static String hashFile(Path file) {
+        try {
+            return HexFormat.of().formatHex(sha1().digest(Files.readAllBytes(file)));
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private static MessageDigest sha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
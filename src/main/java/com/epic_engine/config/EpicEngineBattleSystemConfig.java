@@ -1,9 +1,17 @@
 package com.epic_engine.config;
 
+import com.epic_engine.API.battle_system.ResourcePoolRegistry;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.common.ForgeConfigSpec;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 public class EpicEngineBattleSystemConfig {
     private static final Logger LOGGER = LogManager.getLogger();
 
@@ -12,6 +20,8 @@ public class EpicEngineBattleSystemConfig {
     // ========== Main Settings ==========
     public static final ForgeConfigSpec.BooleanValue ENABLE_BATTLE_SYSTEM;
     public static final ForgeConfigSpec.BooleanValue PRESERVE_ON_DIMENSION_CHANGE;
+    public static final ForgeConfigSpec.BooleanValue OFFLINE_REGENERATION;
+    public static final ForgeConfigSpec.BooleanValue BUILT_IN_REGENERATION;
 
     // ========== Player Attributes ==========
     public static final ForgeConfigSpec.DoubleValue MANA;
@@ -21,6 +31,9 @@ public class EpicEngineBattleSystemConfig {
     public static final ForgeConfigSpec.DoubleValue MAX_STAMINA;
     public static final ForgeConfigSpec.DoubleValue STAMINA_REGENERATION;
 
+    // ========== Custom Resources ==========
+    public static final ForgeConfigSpec.ConfigValue<List<? extends String>> CUSTOM_RESOURCES;
+
     static {
         ForgeConfigSpec.Builder builder = new ForgeConfigSpec.Builder();
 
@@ -36,6 +49,15 @@ public class EpicEngineBattleSystemConfig {
                 .comment("Preserve attribute values when changing dimensions")
                 .define("preserveOnDimensionChange", true);
 
+        OFFLINE_REGENERATION = builder
+                .comment("Regenerate resources for the time a player was offline when they log back in")
+                .define("offlineRegeneration", true);
+
+        BUILT_IN_REGENERATION = builder
+                .comment("Let Epic Engine regenerate player mana and stamina from their regeneration attributes",
+                        "Leave disabled if another mod applies the regeneration through the API")
+                .define("builtInRegeneration", false);
+
         // ========== Player Attributes ==========
         builder.comment("Player Attributes Configuration")
                 .push("attributes");
@@ -65,66 +87,217 @@ public class EpicEngineBattleSystemConfig {
                 .defineInRange("staminaRegeneration", 4.0, 0.0, Double.MAX_VALUE);
 
         builder.pop(); // attributes
+
+        // ========== Custom Resources ==========
+        builder.comment("Custom Resource Pools Configuration",
+                        "Datapacks can also define pools in data/<namespace>/epic_engine/resource_pools/<name>.json")
+                .push("resources");
+
+        CUSTOM_RESOURCES = builder
+                .comment("Additional resource pools, format: \"namespace:name,default,max,regeneration\"",
+                        "Example: \"mypack:rage,0,100,0\"")
+                .defineListAllowEmpty(List.of("customResources"), ArrayList::new, o -> o instanceof String);
+
+        builder.pop(); // resources
         builder.pop(); // battle_system
 
         CONFIG = builder.build();
     }
 
+    // ========== Baked Snapshot ==========
+
+    /**
+     * Immutable snapshot of all battle system settings.
+     * Built once per load/reload so hot paths never go through ForgeConfigSpec lookups.
+     */
+    public static final class Snapshot {
+        public final boolean battleSystemEnabled;
+        public final boolean preserveOnDimensionChange;
+        public final boolean offlineRegeneration;
+        public final boolean builtInRegeneration;
+        public final double mana;
+        public final double maxMana;
+        public final double manaRegeneration;
+        public final double stamina;
+        public final double maxStamina;
+        public final double staminaRegeneration;
+        public final Map<ResourceLocation, ResourcePoolRegistry.Definition> customResources;
+
+        private Snapshot(boolean battleSystemEnabled, boolean preserveOnDimensionChange, boolean offlineRegeneration,
+                         boolean builtInRegeneration, double mana, double maxMana, double manaRegeneration,
+                         double stamina, double maxStamina, double staminaRegeneration,
+                         List<? extends String> customResources) {
+            this.battleSystemEnabled = battleSystemEnabled;
+            this.preserveOnDimensionChange = preserveOnDimensionChange;
+            this.offlineRegeneration = offlineRegeneration;
+            this.builtInRegeneration = builtInRegeneration;
+            this.mana = mana;
+            this.maxMana = maxMana;
+            this.manaRegeneration = manaRegeneration;
+            this.stamina = stamina;
+            this.maxStamina = maxStamina;
+            this.staminaRegeneration = staminaRegeneration;
+            this.customResources = Collections.unmodifiableMap(parseCustomResources(customResources));
+        }
+
+        private static Snapshot fromDefaults() {
+            return new Snapshot(
+                    ENABLE_BATTLE_SYSTEM.getDefault(), PRESERVE_ON_DIMENSION_CHANGE.getDefault(), OFFLINE_REGENERATION.getDefault(),
+                    BUILT_IN_REGENERATION.getDefault(),
+                    MANA.getDefault(), MAX_MANA.getDefault(), MANA_REGENERATION.getDefault(),
+                    STAMINA.getDefault(), MAX_STAMINA.getDefault(), STAMINA_REGENERATION.getDefault(),
+                    CUSTOM_RESOURCES.getDefault());
+        }
+
+        private static Snapshot fromConfig() {
+            return new Snapshot(
+                    ENABLE_BATTLE_SYSTEM.get(), PRESERVE_ON_DIMENSION_CHANGE.get(), OFFLINE_REGENERATION.get(),
+                    BUILT_IN_REGENERATION.get(),
+                    MANA.get(), MAX_MANA.get(), MANA_REGENERATION.get(),
+                    STAMINA.get(), MAX_STAMINA.get(), STAMINA_REGENERATION.get(),
+                    CUSTOM_RESOURCES.get());
+        }
+
+        /**
+         * @return true if max or regeneration defaults differ, i.e. online players need updating
+         */
+        public boolean limitsDifferFrom(Snapshot other) {
+            return maxMana != other.maxMana
+                    || manaRegeneration != other.manaRegeneration
+                    || maxStamina != other.maxStamina
+                    || staminaRegeneration != other.staminaRegeneration;
+        }
+    }
+
+    private static volatile Snapshot snapshot = Snapshot.fromDefaults();
+
+    /**
+     * Rebuild the snapshot from the loaded config (called on config load and reload).
+     * @return The previous snapshot, so callers can diff what changed
+     */
+    public static Snapshot bake() {
+        Snapshot previous = snapshot;
+        snapshot = Snapshot.fromConfig();
+        LOGGER.info("[EPIC ENGINE]: Battle system config baked - enabled: {}, max mana: {}, max stamina: {}, {} custom resources",
+                snapshot.battleSystemEnabled, snapshot.maxMana, snapshot.maxStamina, snapshot.customResources.size());
+        return previous;
+    }
+
+    /**
+     * Restore the built-in defaults when the server config is unloaded.
+     */
+    public static void resetToDefaults() {
+        snapshot = Snapshot.fromDefaults();
+    }
+
+    /**
+     * @return The current immutable settings snapshot
+     */
+    public static Snapshot getSnapshot() {
+        return snapshot;
+    }
+
     // ========== Convenience Methods ==========
 
     /**
      * Check if battle system is enabled
      */
     public static boolean isBattleSystemEnabled() {
-        return ENABLE_BATTLE_SYSTEM.get();
+        return snapshot.battleSystemEnabled;
     }
 
     /**
      * Check if attributes should be preserved on dimension change
      */
     public static boolean shouldPreserveOnDimensionChange() {
-        return PRESERVE_ON_DIMENSION_CHANGE.get();
+        return snapshot.preserveOnDimensionChange;
+    }
+
+    /**
+     * Check if resources should catch up on regeneration while a player was offline
+     */
+    public static boolean isOfflineRegenerationEnabled() {
+        return snapshot.offlineRegeneration;
+    }
+
+    /**
+     * Check if player mana and stamina should regenerate from their regeneration attributes
+     */
+    public static boolean isBuiltInRegenerationEnabled() {
+        return snapshot.builtInRegeneration;
     }
 
     /**
      * Get configured mana default value
      */
     public static double getMana() {
-        return MANA.get();
+        return snapshot.mana;
     }
 
     /**
      * Get configured max mana default value
      */
     public static double getMaxMana() {
-        return MAX_MANA.get();
+        return snapshot.maxMana;
     }
 
     /**
      * Get configured mana regeneration default value
      */
     public static double getManaRegeneration() {
-        return MANA_REGENERATION.get();
+        return snapshot.manaRegeneration;
     }
 
     /**
      * Get configured stamina default value
      */
     public static double getStamina() {
-        return STAMINA.get();
+        return snapshot.stamina;
     }
 
     /**
      * Get configured max stamina default value
      */
     public static double getMaxStamina() {
-        return MAX_STAMINA.get();
+        return snapshot.maxStamina;
     }
 
     /**
      * Get configured stamina regeneration default value
      */
     public static double getStaminaRegeneration() {
-        return STAMINA_REGENERATION.get();
+        return snapshot.staminaRegeneration;
+    }
+
+    /**
+     * Get the custom resource pools defined in the config
+     * @return Definitions keyed by pool id
+     */
+    public static Map<ResourceLocation, ResourcePoolRegistry.Definition> getCustomResourceDefinitions() {
+        return snapshot.customResources;
+    }
+
+    private static Map<ResourceLocation, ResourcePoolRegistry.Definition> parseCustomResources(List<? extends String> entries) {
+        Map<ResourceLocation, ResourcePoolRegistry.Definition> definitions = new LinkedHashMap<>();
+
+        for (String entry : entries) {
+            String[] parts = entry.split(",");
+            ResourceLocation id = ResourceLocation.tryParse(parts[0].trim());
+            if (id == null || parts.length > 4) {
+                LOGGER.warn("[EPIC ENGINE]: Invalid custom resource entry: '{}'", entry);
+                continue;
+            }
+
+            try {
+                double defaultValue = parts.length > 1 ? Double.parseDouble(parts[1].trim()) : 0.0;
+                double maxValue = parts.length > 2 ? Double.parseDouble(parts[2].trim()) : 100.0;
+                double regeneration = parts.length > 3 ? Double.parseDouble(parts[3].trim()) : 0.0;
+                definitions.put(id, new ResourcePoolRegistry.Definition(defaultValue, maxValue, regeneration));
+            } catch (NumberFormatException e) {
+                LOGGER.warn("[EPIC ENGINE]: Invalid number in custom resource entry: '{}'", entry);
+            }
+        }
+
+        return definitions;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.epic_engine.config;
 
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
 import com.epic_engine.EpicEngineMod;
 import com.epic_engine.custom.EpicEngineI18n;
 import net.minecraftforge.common.ForgeConfigSpec;
@@ -7,13 +8,20 @@ import net.minecraftforge.fml.loading.FMLPaths;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 public class EpicEngineCustomConfig {
     private static final Logger LOGGER = LogManager.getLogger();
@@ -23,6 +31,10 @@ public class EpicEngineCustomConfig {
     private static final Path CUSTOM_DIR      = EPIC_ENGINE_DIR.resolve("custom");
     private static final Path TEXTURES_DIR    = CUSTOM_DIR.resolve("textures");
     private static final Path LAYOUT_FILE     = CUSTOM_DIR.resolve("main_menu_layout.json");
+    private static final Path HUD_LAYOUT_FILE = CUSTOM_DIR.resolve("hud_layout.json");
+    private static final Path SCRIPTS_DIR     = EPIC_ENGINE_DIR.resolve("scripts");
+    private static final Path RESOURCE_STAMP_FILE = EPIC_ENGINE_DIR.resolve(".custom_defaults.stamp");
+    private static final Path CACHE_DIR       = EPIC_ENGINE_DIR.resolve("cache");
 
     private static boolean isOverriddenByServer = false;
     private static boolean serverPresetCommandsEnabled = false;
@@ -46,6 +58,10 @@ public class EpicEngineCustomConfig {
     public static final ForgeConfigSpec.BooleanValue MAIN_MENU_BUTTONS_ENABLED;
     public static final ForgeConfigSpec.ConfigValue<String> MAIN_MENU_BUTTON_PREFIX;
     public static final ForgeConfigSpec.BooleanValue EXTERNAL_MOD_COMPONENTS_ENABLED;
+    public static final ForgeConfigSpec.BooleanValue LAYOUT_EDITOR_AUTOSAVE;
+    public static final ForgeConfigSpec.BooleanValue LAYOUT_EDITOR_SNAP;
+    public static final ForgeConfigSpec.IntValue LAYOUT_EDITOR_SNAP_DISTANCE;
+    public static final ForgeConfigSpec.IntValue LAYOUT_EDITOR_GRID_SIZE;
 
     public static final ForgeConfigSpec.BooleanValue LOADING_SCREEN_MODULE_ENABLED;
     public static final ForgeConfigSpec.BooleanValue LOADING_SCREEN_BACKGROUND_ENABLED;
@@ -60,6 +76,10 @@ public class EpicEngineCustomConfig {
     public static final ForgeConfigSpec.BooleanValue PRESET_COMMANDS_ENABLED;
     public static final ForgeConfigSpec.ConfigValue<String> PRESET_COMMANDS_LIST;
     public static final ForgeConfigSpec.IntValue PRESET_COMMANDS_DELAY;
+    public static final ForgeConfigSpec.IntValue PRESET_COMMANDS_TICK_BUDGET;
+    public static final ForgeConfigSpec.ConfigValue<String> FIRST_JOIN_COMMANDS_LIST;
+    public static final ForgeConfigSpec.BooleanValue SCHEDULED_COMMANDS_ENABLED;
+    public static final ForgeConfigSpec.ConfigValue<List<? extends String>> SCHEDULED_COMMANDS;
 
     static {
         createDirectories();
@@ -130,6 +150,23 @@ public class EpicEngineCustomConfig {
 
         builder.pop();
 
+        builder.comment("Layout Editor Settings",
+                        "Read while editing, so changes here never reload any module")
+                .push("layout_editor");
+        LAYOUT_EDITOR_AUTOSAVE = builder.comment("Save the layout automatically shortly after moving a component in the editor")
+                .define("autosave", false);
+        LAYOUT_EDITOR_SNAP = builder
+                .comment("Snap dragged components to the screen center and edges and to the edges and centers of other components",
+                        "Hold Shift while dragging to place a component freely")
+                .define("snapToGuides", true);
+        LAYOUT_EDITOR_SNAP_DISTANCE = builder
+                .comment("How close (in GUI pixels) an edge or center has to come to a guide before it snaps")
+                .defineInRange("snapDistance", 4, 1, 32);
+        LAYOUT_EDITOR_GRID_SIZE = builder
+                .comment("Snap to a grid of this size (in GUI pixels) when no guide is close; 0 disables the grid")
+                .defineInRange("gridSize", 0, 0, 128);
+        builder.pop();
+
         builder.comment("Loading Screen Customization Module",
                         "Unified loading screen with custom background and progress bar")
                 .push("loading_screen_customization");
@@ -168,7 +205,9 @@ public class EpicEngineCustomConfig {
         OTHERS_MODULE_ENABLED = builder.comment("Enable others module").define("moduleEnabled", true);
 
         builder.comment("Preset Commands Settings",
-                        "Execute commands when players join (SECURITY NOTE: In multiplayer, server config overrides client config)")
+                        "Execute commands when players join (SECURITY NOTE: In multiplayer, server config overrides client config)",
+                        "Script files (*.mcfunction, one command per line, # for comments) in config/epic_engine/scripts/",
+                        "also run once per world, in file name order, after the commands below")
                 .push("preset_commands");
         PRESET_COMMANDS_ENABLED = builder.comment("Enable preset commands execution").define("enabled", true);
         PRESET_COMMANDS_LIST    = builder.comment("Commands to execute, separated by semicolons (;)",
@@ -177,6 +216,25 @@ public class EpicEngineCustomConfig {
                         "say [EPIC ENGINE]:Welcome to Epic Engine!;xp add @a 1");
         PRESET_COMMANDS_DELAY   = builder.comment("Delay in ticks before executing commands (20 ticks = 1 second)")
                 .defineInRange("delayTicks", 20, 0, 1200);
+        PRESET_COMMANDS_TICK_BUDGET = builder.comment("Time budget per server tick for running queued commands, in microseconds",
+                        "Commands that do not fit continue on the next tick; at least one command runs per tick")
+                .defineInRange("tickBudgetMicros", 5000, 100, 50000);
+        FIRST_JOIN_COMMANDS_LIST = builder.comment("Commands to execute once for each player on their first join, separated by semicolons (;)",
+                        "Commands run as the joining player (use @s) with permission level 4")
+                .define("firstJoinCommands", "");
+        builder.pop();
+
+        builder.comment("Scheduled Commands Settings",
+                        "Run commands repeatedly on the server, e.g. announcements or cleanups")
+                .push("scheduled_commands");
+        SCHEDULED_COMMANDS_ENABLED = builder.comment("Enable scheduled commands").define("enabled", true);
+        SCHEDULED_COMMANDS = builder.comment("Entries in the format: id|schedule|command[|missed]",
+                        "schedule: 'every <ticks>' (game time) or 'cron <minute> <hour> <day> <month> <weekday>' (server clock)",
+                        "missed: what to do with runs missed while the server was lagging or offline:",
+                        "  'coalesce' (default) runs once, 'catchup' runs each missed occurrence (at most 10)",
+                        "Example: announce|every 12000|say Remember to vote!",
+                        "Example: cleanup|cron 0 */2 * * *|kill @e[type=item]")
+                .defineListAllowEmpty(List.of("entries"), ArrayList::new, o -> o instanceof String);
         builder.pop();
         builder.pop();
 
@@ -185,6 +243,110 @@ public class EpicEngineCustomConfig {
         CONFIG = builder.build();
     }
 
+    // ========== Module Snapshots ==========
+
+    /**
+     * Config modules that can be reloaded independently.
+     */
+    public enum Module {
+        WINDOW, MAIN_MENU, LOADING_SCREEN, TIPS, OTHERS
+    }
+
+    /**
+     * Immutable copy of every config value, keyed by its dotted path, used to find which modules a reload touched.
+     */
+    public static final class Snapshot {
+        private final Map<String, Object> values;
+
+        private Snapshot(Map<String, Object> values) {
+            this.values = values;
+        }
+
+        private static Snapshot fromConfig() {
+            Map<String, Object> values = new LinkedHashMap<>();
+            collectValues(CONFIG.getValues(), values);
+            return new Snapshot(Collections.unmodifiableMap(values));
+        }
+
+        private static void collectValues(UnmodifiableConfig config, Map<String, Object> values) {
+            for (Object value : config.valueMap().values()) {
+                if (value instanceof UnmodifiableConfig child) {
+                    collectValues(child, values);
+                } else if (value instanceof ForgeConfigSpec.ConfigValue<?> configValue) {
+                    values.put(String.join(".", configValue.getPath()), configValue.get());
+                }
+            }
+        }
+
+        /**
+         * @param previous The snapshot before the reload, or null on first load
+         * @return The modules with at least one changed value
+         */
+        public EnumSet<Module> changedModules(@Nullable Snapshot previous) {
+            if (previous == null) {
+                return EnumSet.allOf(Module.class);
+            }
+
+            EnumSet<Module> changed = EnumSet.noneOf(Module.class);
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                if (entry.getKey().startsWith("epic_engine.layout_editor.")) {
+                    // 编辑器设置每次使用时直接读取，不需要重载任何模块
+                    continue;
+                }
+                if (!Objects.equals(entry.getValue(), previous.values.get(entry.getKey()))) {
+                    Module module = moduleOf(entry.getKey());
+                    if (module == null) {
+                        // 总开关影响所有模块
+                        return EnumSet.allOf(Module.class);
+                    }
+                    changed.add(module);
+                }
+            }
+            return changed;
+        }
+
+        @Nullable
+        private static Module moduleOf(String path) {
+            if (path.startsWith("epic_engine.window_customization.")) {
+                return Module.WINDOW;
+            }
+            if (path.startsWith("epic_engine.main_menu_customization.")) {
+                return Module.MAIN_MENU;
+            }
+            if (path.startsWith("epic_engine.loading_screen_customization.loading_tip_text.")) {
+                return Module.TIPS;
+            }
+            if (path.startsWith("epic_engine.loading_screen_customization.")) {
+                return Module.LOADING_SCREEN;
+            }
+            if (path.startsWith("epic_engine.others.")) {
+                return Module.OTHERS;
+            }
+            return null;
+        }
+    }
+
+    private static volatile Snapshot snapshot = null;
+
+    /**
+     * Capture the current config values (on config load/reload).
+     * @return The previous snapshot, or null if this is the first load
+     */
+    @Nullable
+    public static Snapshot bake() {
+        Snapshot previous = snapshot;
+        snapshot = Snapshot.fromConfig();
+        return previous;
+    }
+
+    /**
+     * @return The latest baked snapshot, or null before the config was loaded
+     */
+    @Nullable
+    public static Snapshot getSnapshot() {
+        return snapshot;
+    }
+
     public static void overrideFromServer(boolean enabled, String commands, int delay) {
         isOverriddenByServer = true;
         serverPresetCommandsEnabled = enabled;
@@ -219,6 +381,38 @@ public class EpicEngineCustomConfig {
         return isOverriddenByServer ? serverPresetCommandsDelay : PRESET_COMMANDS_DELAY.get();
     }
 
+    public static String getFirstJoinCommandsList() {
+        try {
+            return FIRST_JOIN_COMMANDS_LIST.get();
+        } catch (IllegalStateException e) {
+            return "";
+        }
+    }
+
+    public static boolean isScheduledCommandsEnabled() {
+        try {
+            return OTHERS_MODULE_ENABLED.get() && SCHEDULED_COMMANDS_ENABLED.get();
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    public static List<? extends String> getScheduledCommands() {
+        try {
+            return SCHEDULED_COMMANDS.get();
+        } catch (IllegalStateException e) {
+            return List.of();
+        }
+    }
+
+    public static int getCommandTickBudgetMicros() {
+        try {
+            return PRESET_COMMANDS_TICK_BUDGET.get();
+        } catch (IllegalStateException e) {
+            return 5000;
+        }
+    }
+
     public static boolean isOverriddenByServer() {
         return isOverriddenByServer;
     }
@@ -230,7 +424,11 @@ public class EpicEngineCustomConfig {
     public static void initializeResources() {
         createDirectories();
         try {
-            copyResourceDirectory("assets/" + EpicEngineMod.MODID + "/custom", CUSTOM_DIR);
+            String resourcePath = "assets/" + EpicEngineMod.MODID + "/custom";
+            // 优先按构建时生成的清单比对；开发环境没有清单时退回遍历资源目录
+            if (!DefaultResourceExtractor.extract(resourcePath, CUSTOM_DIR, RESOURCE_STAMP_FILE)) {
+                copyResourceDirectory(resourcePath, CUSTOM_DIR);
+            }
             EpicEngineI18n.initialize();
             LOGGER.info("[EPIC ENGINE]: Default resources extracted to {}", CUSTOM_DIR);
         } catch (Exception e) {
@@ -246,10 +444,26 @@ public class EpicEngineCustomConfig {
         return LAYOUT_FILE.toFile();
     }
 
+    public static java.io.File getHudLayoutFile() {
+        return HUD_LAYOUT_FILE.toFile();
+    }
+
+    public static Path getScriptsDir() {
+        return SCRIPTS_DIR;
+    }
+
     public static Path getCustomDir() {
         return CUSTOM_DIR;
     }
 
+    public static Path getTexturesDir() {
+        return TEXTURES_DIR;
+    }
+
+    public static Path getCacheDir() {
+        return CACHE_DIR;
+    }
+
     // Window Configuration Methods
     public static boolean isWindowTitleEnabled() {
         try {
@@ -307,6 +521,38 @@ public class EpicEngineCustomConfig {
         }
     }
 
+    public static boolean isLayoutEditorAutosaveEnabled() {
+        try {
+            return LAYOUT_EDITOR_AUTOSAVE.get();
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    public static boolean isLayoutEditorSnapEnabled() {
+        try {
+            return LAYOUT_EDITOR_SNAP.get();
+        } catch (IllegalStateException e) {
+            return true;
+        }
+    }
+
+    public static int getLayoutEditorSnapDistance() {
+        try {
+            return LAYOUT_EDITOR_SNAP_DISTANCE.get();
+        } catch (IllegalStateException e) {
+            return 4;
+        }
+    }
+
+    public static int getLayoutEditorGridSize() {
+        try {
+            return LAYOUT_EDITOR_GRID_SIZE.get();
+        } catch (IllegalStateException e) {
+            return 0;
+        }
+    }
+
     // Loading Screen Configuration Methods
     public static boolean isLoadingScreenCustomizationEnabled() {
         try {
@@ -375,6 +621,7 @@ public class EpicEngineCustomConfig {
     private static void createDirectories() {
         try {
             Files.createDirectories(TEXTURES_DIR);
+            Files.createDirectories(SCRIPTS_DIR);
             LOGGER.debug("[EPIC ENGINE]: Resource directories created or already exist");
         } catch (IOException e) {
             LOGGER.error("[EPIC ENGINE]: Failed to create resource directories", e);
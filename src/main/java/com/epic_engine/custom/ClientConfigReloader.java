@@ -0,0 +1,93 @@
+package com.epic_engine.custom;
+
+import com.epic_engine.API.custom.MainMenuAPIRegistry;
+import com.epic_engine.config.EpicEngineCustomConfig;
+import com.epic_engine.config.EpicEngineCustomConfig.Module;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.screens.TitleScreen;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.EnumSet;
+
+/**
+ * Applies a config reload on the client, touching only the modules whose values changed.
+ * Textures and layouts of the other modules stay resident.
+ */
+@OnlyIn(Dist.CLIENT)
+public class ClientConfigReloader {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    // 主界面贴图在下次打开主界面时重新上传
+    private static volatile boolean mainMenuTexturesStale = false;
+
+    /**
+     * Reload the client side of the given modules. Runs on the render thread.
+     */
+    public static void apply(EnumSet<Module> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Minecraft mc = Minecraft.getInstance();
+        mc.execute(() -> {
+            long start = System.nanoTime();
+
+            // 贴图文件名可能变化，确保默认资源已解压（未变化时只检查目录时间）
+            if (changed.contains(Module.WINDOW) || changed.contains(Module.MAIN_MENU)
+                    || changed.contains(Module.LOADING_SCREEN) || changed.contains(Module.TIPS)) {
+                EpicEngineCustomConfig.initializeResources();
+            }
+
+            if (changed.contains(Module.WINDOW)) {
+                mc.updateTitle();
+            }
+
+            if (changed.contains(Module.MAIN_MENU)) {
+                MainMenuAPIRegistry.invalidateCache();
+                reloadMainMenuTextures();
+            }
+
+            if (changed.contains(Module.LOADING_SCREEN)) {
+                UnifiedLoadingRenderer.reloadTextures();
+            }
+
+            if (changed.contains(Module.TIPS)) {
+                TipTextManager.reinitializeFromLayout();
+            }
+
+            LOGGER.info("[EPIC ENGINE]: Reloaded client modules {} in {} ms",
+                    changed, (System.nanoTime() - start) / 1_000_000L);
+        });
+    }
+
+    /**
+     * Re-read the main menu config and textures, right away if the title screen is open or on its next init.
+     * Must run on the render thread.
+     */
+    public static void reloadMainMenuTextures() {
+        mainMenuTexturesStale = true;
+        MainMenuLayerCache.invalidate();
+
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.screen instanceof TitleScreen titleScreen && !UnifiedLayoutEditor.isEditMode()) {
+            // 重新 init 同一个界面会沿用按钮实例及其贴图尺寸，先清掉让按钮按新贴图重建
+            CustomButtonManager.reset();
+            titleScreen.resize(mc, mc.getWindow().getGuiScaledWidth(), mc.getWindow().getGuiScaledHeight());
+        }
+    }
+
+    /**
+     * @return true once after the main menu module changed, so the title screen re-uploads its textures
+     */
+    public static boolean consumeMainMenuTextureReload() {
+        if (mainMenuTexturesStale) {
+            mainMenuTexturesStale = false;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,141 @@
+package com.epic_engine.custom;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Minimal five-field cron expression: minute, hour, day of month, month, day of week.
+ * Each field accepts {@code *}, numbers, ranges {@code a-b}, steps {@code * /n} or {@code a-b/n}, and comma lists.
+ * Day of week is 0-7 with both 0 and 7 meaning Sunday. Times are evaluated in the server's time zone.
+ */
+public class CronExpression {
+
+    private static final int MAX_SEARCH_YEARS = 5;
+
+    private final long minutes;
+    private final long hours;
+    private final long daysOfMonth;
+    private final long months;
+    private final long daysOfWeek;
+    private final boolean dayOfMonthRestricted;
+    private final boolean dayOfWeekRestricted;
+
+    private CronExpression(long minutes, long hours, long daysOfMonth, long months, long daysOfWeek,
+                           boolean dayOfMonthRestricted, boolean dayOfWeekRestricted) {
+        this.minutes = minutes;
+        this.hours = hours;
+        this.daysOfMonth = daysOfMonth;
+        this.months = months;
+        this.daysOfWeek = daysOfWeek;
+        this.dayOfMonthRestricted = dayOfMonthRestricted;
+        this.dayOfWeekRestricted = dayOfWeekRestricted;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    public static CronExpression parse(String expression) {
+        String[] fields = expression.trim().split("\\s+");
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("expected 5 fields, got " + fields.length);
+        }
+
+        long dayOfWeek = parseField(fields[4], 0, 7);
+        // 7 与 0 都表示周日
+        if ((dayOfWeek & (1L << 7)) != 0) {
+            dayOfWeek |= 1L;
+        }
+
+        return new CronExpression(
+                parseField(fields[0], 0, 59),
+                parseField(fields[1], 0, 23),
+                parseField(fields[2], 1, 31),
+                parseField(fields[3], 1, 12),
+                dayOfWeek,
+                !fields[2].equals("*"),
+                !fields[4].equals("*"));
+    }
+
+    /**
+     * @return The first matching minute strictly after the given time, in epoch millis,
+     *         or {@link Long#MAX_VALUE} if nothing matches within five years
+     */
+    public long nextAfter(long epochMillis) {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone)
+                .truncatedTo(ChronoUnit.MINUTES)
+                .plusMinutes(1);
+        int limitYear = time.getYear() + MAX_SEARCH_YEARS;
+
+        // 逐级跳过不匹配的月、日、时、分
+        while (time.getYear() <= limitYear) {
+            if (!has(months, time.getMonthValue())) {
+                time = time.withDayOfMonth(1).withHour(0).withMinute(0).plusMonths(1);
+            } else if (!matchesDay(time)) {
+                time = time.withHour(0).withMinute(0).plusDays(1);
+            } else if (!has(hours, time.getHour())) {
+                time = time.withMinute(0).plusHours(1);
+            } else if (!has(minutes, time.getMinute())) {
+                time = time.plusMinutes(1);
+            } else {
+                return time.atZone(zone).toInstant().toEpochMilli();
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private boolean matchesDay(LocalDateTime time) {
+        boolean dayOfMonth = has(daysOfMonth, time.getDayOfMonth());
+        boolean dayOfWeek = has(daysOfWeek, time.getDayOfWeek().getValue() % 7);
+        // 与标准 cron 一致：日与星期都有限制时满足其一即可
+        if (dayOfMonthRestricted && dayOfWeekRestricted) {
+            return dayOfMonth || dayOfWeek;
+        }
+        return dayOfMonth && dayOfWeek;
+    }
+
+    private static boolean has(long mask, int value) {
+        return (mask & (1L << value)) != 0;
+    }
+
+    private static long parseField(String field, int min, int max) {
+        long mask = 0L;
+        for (String part : field.split(",")) {
+            int step = 1;
+            String range = part;
+
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = Integer.parseInt(part.substring(slash + 1));
+                range = part.substring(0, slash);
+                if (step <= 0) {
+                    throw new IllegalArgumentException("invalid step in '" + part + "'");
+                }
+            }
+
+            int from;
+            int to;
+            if (range.equals("*")) {
+                from = min;
+                to = max;
+            } else if (range.contains("-")) {
+                String[] bounds = range.split("-", 2);
+                from = Integer.parseInt(bounds[0]);
+                to = Integer.parseInt(bounds[1]);
+            } else {
+                from = Integer.parseInt(range);
+                to = slash >= 0 ? max : from;
+            }
+
+            if (from < min || to > max || from > to) {
+                throw new IllegalArgumentException("'" + part + "' is outside " + min + "-" + max);
+            }
+            for (int value = from; value <= to; value += step) {
+                mask |= 1L << value;
+            }
+        }
+        return mask;
+    }
+}
@@ -2,10 +2,12 @@ package com.epic_engine.custom;
 
 import com.epic_engine.API.custom.*;
 import com.epic_engine.config.EpicEngineCustomConfig;
+import com.epic_engine.mixin.ButtonAccessor;
 import net.minecraft.client.gui.components.AbstractWidget;
 import net.minecraft.client.gui.components.Button;
 import net.minecraft.client.gui.screens.TitleScreen;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.contents.TranslatableContents;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -13,6 +15,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 public class CustomButtonManager {
 
@@ -22,9 +25,27 @@ public class CustomButtonManager {
     private static final List<CustomMainMenuButton> customButtons = new ArrayList<>();
     private static final List<ExternalMainMenuButton> externalButtons = new ArrayList<>();
     private static final Map<String, VanillaButtonInfo> buttonMapping = new HashMap<>();
+    // 原版按钮在创建时按翻译键打上的标记，按钮实例被丢弃后自动移除
+    private static final Map<Button, String> taggedVanillaButtons = new WeakHashMap<>();
+
+    private static final Map<String, String> VANILLA_BUTTON_KEYS = Map.of(
+            "menu.singleplayer", "singleplayer",
+            "menu.multiplayer", "multiplayer",
+            "menu.online", "realms",
+            "menu.options", "options",
+            "menu.quit", "quit",
+            "fml.menu.mods", "mods",
+            "narrator.button.language", "language",
+            "narrator.button.accessibility", "accessibility"
+    );
 
     private static boolean initialized = false;
     private static TitleScreen currentTitleScreen = null;
+    private static MainMenuLayoutData currentLayoutData = null;
+    // 每次完整初始化递增，用于丢弃过期的异步结果
+    private static int initGeneration = 0;
+    // 按钮列表每次重建时递增，布局编辑器据此判断命中索引是否过期
+    private static int buttonsVersion = 0;
 
     public static class VanillaButtonInfo {
         public final String id;
@@ -130,14 +151,25 @@ public class CustomButtonManager {
         }
     }
 
+    /**
+     * Called at the start of {@code TitleScreen.init}. Re-initializing the same screen (window resize, returning
+     * from a sub-screen) keeps the built buttons; a different screen starts from scratch.
+     */
+    public static void prepareInit(TitleScreen titleScreen) {
+        if (currentTitleScreen != titleScreen) {
+            reset();
+        }
+    }
+
     public static void initialize(TitleScreen titleScreen, MainMenuLayoutData layoutData) {
-        if (initialized && currentTitleScreen == titleScreen) {
-            LOGGER.debug("[EPIC ENGINE]: Button manager already initialized for this screen");
+        if (initialized && currentTitleScreen == titleScreen && currentLayoutData == layoutData) {
+            relayout(titleScreen, layoutData);
             return;
         }
 
         reset();
         currentTitleScreen = titleScreen;
+        currentLayoutData = layoutData;
 
         LOGGER.info("[EPIC ENGINE]: Initializing custom button system");
 
@@ -153,8 +185,120 @@ public class CustomButtonManager {
         }
 
         initialized = true;
-        LOGGER.info("[EPIC ENGINE]: Custom button system initialized with {} vanilla buttons, {} external buttons",
-                customButtons.size(), externalButtons.size());
+        LOGGER.info("[EPIC ENGINE]: Custom button system initialized with {} vanilla buttons, external buttons pending",
+                customButtons.size());
+    }
+
+    /**
+     * Re-init of an already customized screen: keep the button instances (and their textures) and external
+     * provider results, only re-attach them and take positions from the layout data.
+     */
+    private static void relayout(TitleScreen titleScreen, MainMenuLayoutData layoutData) {
+        long start = System.nanoTime();
+
+        // init 会重新创建原版按钮，需要重新映射并移除；仅重新布局（未清空控件）时沿用原映射
+        List<VanillaButtonInfo> previousVanilla = new ArrayList<>(vanillaButtons);
+        scanVanillaButtons(titleScreen);
+        if (vanillaButtons.isEmpty()) {
+            for (VanillaButtonInfo info : previousVanilla) {
+                vanillaButtons.add(info);
+                buttonMapping.put(info.id, info);
+            }
+        } else {
+            completelyRemoveVanillaButtons(titleScreen);
+        }
+
+        // 从选项界面切换语言后回到同一个主界面，沿用的按钮需要换成新语言的文字
+        EpicEngineI18n.refreshLanguage();
+
+        Map<String, CustomMainMenuButton> previous = new HashMap<>();
+        for (CustomMainMenuButton button : customButtons) {
+            previous.put(button.getButtonId(), button);
+        }
+        customButtons.clear();
+        buttonsVersion++;
+
+        // 与布局数据对齐：复用已有按钮，补建新启用的按钮
+        for (MainMenuLayoutData.ButtonComponent buttonComponent : layoutData.buttons) {
+            if (buttonComponent.id.startsWith("external_") || !buttonComponent.enabled) {
+                continue;
+            }
+
+            CustomMainMenuButton button = previous.remove(buttonComponent.id);
+            if (button == null) {
+                button = createCustomButton(buttonComponent);
+                if (button == null) {
+                    continue;
+                }
+            } else {
+                applyPosition(button, buttonComponent.position);
+                refreshLabel(button, buttonComponent);
+            }
+
+            attach(titleScreen, button);
+            customButtons.add(button);
+        }
+
+        // 布局中已禁用或删除的按钮
+        for (CustomMainMenuButton removed : previous.values()) {
+            titleScreen.children().remove(removed);
+            titleScreen.renderables.remove(removed);
+        }
+
+        for (ExternalMainMenuButton button : externalButtons) {
+            MainMenuLayoutData.ButtonComponent buttonComponent = layoutData.findButtonById(button.getButtonId());
+            if (buttonComponent != null) {
+                applyPosition(button, buttonComponent.position);
+            }
+            attach(titleScreen, button);
+        }
+
+        LOGGER.debug("[EPIC ENGINE]: Custom buttons re-laid out ({} custom, {} external) in {} µs",
+                customButtons.size(), externalButtons.size(), (System.nanoTime() - start) / 1000L);
+    }
+
+    /**
+     * Re-resolve the labels of the current buttons, e.g. after a language file was edited.
+     */
+    public static void refreshLabels() {
+        if (currentLayoutData == null) {
+            return;
+        }
+        for (CustomMainMenuButton button : customButtons) {
+            MainMenuLayoutData.ButtonComponent buttonComponent = currentLayoutData.findButtonById(button.getButtonId());
+            if (buttonComponent != null) {
+                refreshLabel(button, buttonComponent);
+            }
+        }
+    }
+
+    private static void refreshLabel(CustomMainMenuButton button, MainMenuLayoutData.ButtonComponent buttonComponent) {
+        VanillaButtonInfo vanillaInfo = buttonMapping.get(extractBaseButtonId(buttonComponent.id));
+        if (vanillaInfo == null) {
+            return;
+        }
+        String displayText = getButtonDisplayText(buttonComponent, vanillaInfo);
+        if (!displayText.equals(button.getMessage().getString())) {
+            button.setMessage(Component.literal(displayText));
+        }
+    }
+
+    private static void applyPosition(CustomMainMenuButton button, MainMenuLayoutData.Position position) {
+        button.setX(position.x);
+        button.setY(position.y);
+        if (position.width > 0) {
+            button.setWidth(position.width);
+        }
+        if (position.height > 0) {
+            button.setHeight(position.height);
+        }
+    }
+
+    private static void attach(TitleScreen titleScreen, CustomMainMenuButton button) {
+        // 屏幕只是重新布局（未清空控件）时按钮仍在，避免重复添加
+        if (!titleScreen.children().contains(button)) {
+            titleScreen.addRenderableWidget(button);
+        }
     }
 
     private static void scanVanillaButtons(TitleScreen titleScreen) {
@@ -187,7 +331,7 @@ public class CustomButtonManager {
                     vanillaButtons.add(info);
                     buttonMapping.put(buttonId, info);
 
-                    LOGGER.info("[EPIC ENGINE]: Found vanilla button: {} at ({}, {}) - '{}'",
+                    LOGGER.debug("[EPIC ENGINE]: Found vanilla button: {} at ({}, {}) - '{}'",
                             buttonId, widget.getX(), widget.getY(), button.getMessage().getString());
                     buttonIndex++;
                 }
@@ -195,41 +339,31 @@ public class CustomButtonManager {
         }
     }
 
+    /**
+     * Record a vanilla title screen button as it is added, keyed by the translation key of its message.
+     * Called from the title screen mixin; buttons with unknown keys are ignored.
+     */
+    public static void tagVanillaButton(Button button) {
+        if (button.getMessage().getContents() instanceof TranslatableContents contents) {
+            String buttonId = VANILLA_BUTTON_KEYS.get(contents.getKey());
+            if (buttonId != null) {
+                taggedVanillaButtons.put(button, buttonId);
+            }
+        }
+    }
+
     private static String identifyButtonType(Button button) {
-        String message = button.getMessage().getString().toLowerCase();
-
-        if (message.contains("singleplayer") || message.contains("单人")) {
-            return "singleplayer";
-        } else if (message.contains("multiplayer") || message.contains("多人")) {
-            return "multiplayer";
-        } else if (message.contains("realms") || message.contains("online")) {
-            return "realms";
-        } else if (message.contains("options") || message.contains("选项")) {
-            return "options";
-        } else if (message.contains("quit") || message.contains("退出")) {
-            return "quit";
-        } else if (message.contains("mods") || message.contains("mod")) {
-            return "mods";
-        } else if (message.contains("language") || message.contains("语言")) {
-            return "language";
-        } else if (message.contains("accessibility") || message.contains("辅助")) {
-            return "accessibility";
-        }
-
-        LOGGER.debug("[EPIC ENGINE]: Unknown button type: '{}'", message);
+        String buttonId = taggedVanillaButtons.get(button);
+        if (buttonId != null) {
+            return buttonId;
+        }
+
+        LOGGER.debug("[EPIC ENGINE]: Unknown button type: '{}'", button.getMessage().getString());
         return "unknown";
     }
 
     private static Button.OnPress extractButtonAction(Button button) {
-        try {
-            java.lang.reflect.Field onPressField = Button.class.getDeclaredField("onPress");
-            onPressField.setAccessible(true);
-            return (Button.OnPress) onPressField.get(button);
-        } catch (Exception e) {
-            LOGGER.warn("[EPIC ENGINE]: Failed to extract button action for: {}",
-                    button.getMessage().getString(), e);
-            return null;
-        }
+        return ((ButtonAccessor) button).epic_engine$getOnPress();
     }
 
     private static void completelyRemoveVanillaButtons(TitleScreen titleScreen) {
@@ -242,15 +376,16 @@ public class CustomButtonManager {
         for (AbstractWidget widget : widgetsToRemove) {
             titleScreen.children().remove(widget);
             titleScreen.renderables.remove(widget);
-            LOGGER.info("[EPIC ENGINE]: Completely removed vanilla button: '{}'",
+            LOGGER.debug("[EPIC ENGINE]: Completely removed vanilla button: '{}'",
                     ((Button)widget).getMessage().getString());
         }
 
-        LOGGER.info("[EPIC ENGINE]: Removed {} vanilla buttons from screen", widgetsToRemove.size());
+        LOGGER.debug("[EPIC ENGINE]: Removed {} vanilla buttons from screen", widgetsToRemove.size());
     }
 
     private static void createCustomButtons(TitleScreen titleScreen, MainMenuLayoutData layoutData) {
         customButtons.clear();
+        buttonsVersion++;
 
         if (layoutData.buttons.isEmpty()) {
             createDefaultButtonLayout(layoutData, titleScreen.width, titleScreen.height);
@@ -268,32 +403,50 @@ public class CustomButtonManager {
                 continue;
             }
 
-            String baseButtonId = extractBaseButtonId(buttonComponent.id);
-            VanillaButtonInfo vanillaInfo = buttonMapping.get(baseButtonId);
-
-            if (vanillaInfo == null) {
-                LOGGER.warn("[EPIC ENGINE]: No vanilla button found for: {}", baseButtonId);
+            CustomMainMenuButton customButton = createCustomButton(buttonComponent);
+            if (customButton == null) {
                 continue;
             }
 
-            String displayText = getButtonDisplayText(buttonComponent, vanillaInfo);
-
-            CustomMainMenuButton customButton = new CustomMainMenuButton(
-                    buttonComponent.id,
-                    buttonComponent.position.x,
-                    buttonComponent.position.y,
-                    buttonComponent.position.width,
-                    buttonComponent.position.height,
-                    Component.literal(displayText),
-                    () -> vanillaInfo.triggerAction(),
-                    buttonComponent
-            );
-
             titleScreen.addRenderableWidget(customButton);
             customButtons.add(customButton);
+        }
+    }
+
+    private static CustomMainMenuButton createCustomButton(MainMenuLayoutData.ButtonComponent buttonComponent) {
+        String baseButtonId = extractBaseButtonId(buttonComponent.id);
+        VanillaButtonInfo vanillaInfo = buttonMapping.get(baseButtonId);
+
+        if (vanillaInfo == null) {
+            LOGGER.warn("[EPIC ENGINE]: No vanilla button found for: {}", baseButtonId);
+            return null;
+        }
 
-            LOGGER.info("[EPIC ENGINE]: Created custom button: {} at ({}, {})",
-                    baseButtonId, buttonComponent.position.x, buttonComponent.position.y);
+        String displayText = getButtonDisplayText(buttonComponent, vanillaInfo);
+
+        // 点击时按 ID 查找当前的原版按钮，重新 init 后仍指向新实例
+        CustomMainMenuButton customButton = new CustomMainMenuButton(
+                buttonComponent.id,
+                buttonComponent.position.x,
+                buttonComponent.position.y,
+                buttonComponent.position.width,
+                buttonComponent.position.height,
+                Component.literal(displayText),
+                () -> triggerVanillaAction(baseButtonId),
+                buttonComponent
+        );
+
+        LOGGER.info("[EPIC ENGINE]: Created custom button: {} at ({}, {})",
+                baseButtonId, buttonComponent.position.x, buttonComponent.position.y);
+        return customButton;
+    }
+
+    private static void triggerVanillaAction(String baseButtonId) {
+        VanillaButtonInfo info = buttonMapping.get(baseButtonId);
+        if (info != null) {
+            info.triggerAction();
+        } else {
+            LOGGER.warn("[EPIC ENGINE]: Vanilla button '{}' is no longer available", baseButtonId);
         }
     }
 
@@ -306,34 +459,39 @@ public class CustomButtonManager {
             return;
         }
 
-        LOGGER.info("[EPIC ENGINE]: Creating external mod components from {} providers", providers.size());
+        LOGGER.info("[EPIC ENGINE]: Requesting external mod components from {} providers", providers.size());
 
+        // 提供者在线程池中并行执行，结果回到渲染线程后再插入；界面已被替换时丢弃
+        int generation = initGeneration;
         int externalButtonIndex = 1000; // Start from 1000 to avoid conflicts with vanilla buttons
 
         for (IMainMenuComponentProvider provider : providers) {
-            try {
-                String modId = provider.getModId();
-                LOGGER.debug("[EPIC ENGINE]: Processing components from mod: {}", modId);
-
-                // Create external button
-                IExternalButton externalButton = provider.createButton(layoutData);
-                if (externalButton != null) {
-                    createExternalButton(titleScreen, layoutData, externalButton, modId, externalButtonIndex++);
+            ExternalComponentLoader.load(provider, layoutData, externalButtonIndex++, (result, index) -> {
+                if (generation != initGeneration || currentTitleScreen != titleScreen) {
+                    return;
                 }
+                addExternalComponents(titleScreen, layoutData, result, index);
+            });
+        }
+    }
 
-                // Create external texts
-                List<IExternalText> texts = provider.createTexts(layoutData);
-                for (IExternalText text : texts) {
-                    createExternalText(layoutData, text, modId);
-                }
+    private static void addExternalComponents(TitleScreen titleScreen, MainMenuLayoutData layoutData,
+                                              ExternalComponentLoader.ProviderResult result, int index) {
+        String modId = result.provider.getModId();
+        try {
+            if (result.button != null) {
+                createExternalButton(titleScreen, layoutData, result.button, modId, index);
+            }
 
-            } catch (Exception e) {
-                LOGGER.error("[EPIC ENGINE]: Error creating components for mod: {}",
-                        provider.getModId(), e);
+            for (IExternalText text : result.texts) {
+                createExternalText(layoutData, text, modId);
+            }
+            if (!result.texts.isEmpty()) {
+                MainMenuLayerCache.invalidate();
             }
+        } catch (Exception e) {
+            LOGGER.error("[EPIC ENGINE]: Error creating components for mod: {}", modId, e);
         }
-
-        LOGGER.info("[EPIC ENGINE]: Created {} external buttons", externalButtons.size());
     }
 
     private static void createExternalButton(TitleScreen titleScreen, MainMenuLayoutData layoutData,
@@ -399,6 +557,7 @@ public class CustomButtonManager {
         String textId = "external_text_" + externalText.getId();
         MainMenuLayoutData.CustomTextComponent existingText = layoutData.findTextById(textId);
 
+        MainMenuLayoutData.CustomTextComponent textComponent = existingText;
         if (existingText != null) {
             // Update existing text properties
             existingText.properties.text = externalText.getDisplayText().getString();
@@ -419,10 +578,14 @@ public class CustomButtonManager {
                 y = 50;
             }
 
-            layoutData.addCustomText(textId, externalText.getDisplayText().getString(),
+            textComponent = layoutData.addCustomText(textId, externalText.getDisplayText().getString(),
                     x, y, String.format("#%06X", externalText.getColor() & 0xFFFFFF), externalText.getFontScale());
         }
 
+        if (externalText instanceof IDynamicExternalText dynamicText) {
+            DynamicTextManager.register(textId, dynamicText, textComponent);
+        }
+
         LOGGER.info("[EPIC ENGINE]: Registered external text '{}' from mod '{}'",
                 externalText.getId(), modId);
     }
@@ -542,10 +705,15 @@ public class CustomButtonManager {
 
     public static void clearButtons() {
         customButtons.clear();
+        buttonsVersion++;
         externalButtons.clear();
         LOGGER.debug("[EPIC ENGINE]: Cleared all custom buttons");
     }
 
+    public static int getButtonsVersion() {
+        return buttonsVersion;
+    }
+
     public static List<CustomMainMenuButton> getCustomButtons() {
         return new ArrayList<>(customButtons);
     }
@@ -606,10 +774,13 @@ public class CustomButtonManager {
 
     public static void reset() {
         clearButtons();
+        DynamicTextManager.clear();
         vanillaButtons.clear();
         buttonMapping.clear();
         initialized = false;
         currentTitleScreen = null;
+        currentLayoutData = null;
+        initGeneration++;
         LOGGER.info("[EPIC ENGINE]: Custom button manager reset");
     }
 
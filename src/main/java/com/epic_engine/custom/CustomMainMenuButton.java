@@ -20,12 +20,17 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
 
 public class CustomMainMenuButton extends AbstractWidget {
 
     private static final Logger LOGGER = LogManager.getLogger();
     private static final ResourceLocation WIDGETS_LOCATION = new ResourceLocation("textures/gui/widgets.png");
 
+    // 按钮贴图尺寸，注册贴图时记录，避免每个按钮重新读取 PNG
+    private static final Map<Integer, int[]> TEXTURE_SIZES = new HashMap<>();
+
     private final String buttonId;
     private final ButtonAction action;
     private ResourceLocation customTexture;
@@ -56,10 +61,17 @@ public class CustomMainMenuButton extends AbstractWidget {
             this.textColor = parseColor(buttonData.properties.text_color);
         }
 
-        loadCustomTexture();
+        loadCustomTexture(true);
+    }
+
+    /**
+     * Record the size of a registered button texture so buttons using it don't have to read the file again.
+     */
+    public static void rememberTextureSize(int buttonIndex, int width, int height) {
+        TEXTURE_SIZES.put(buttonIndex, new int[]{width, height});
     }
 
-    private void loadCustomTexture() {
+    private void loadCustomTexture(boolean useCachedSize) {
         hasCustomTexture = false;
         originalTextureWidth = 0;
         originalTextureHeight = 0;
@@ -70,11 +82,21 @@ public class CustomMainMenuButton extends AbstractWidget {
                 String fileName = prefix + buttonData.button_index + ".png";
                 File textureFile = EpicEngineCustomConfig.getTextureFile(fileName);
 
+                int[] cachedSize = useCachedSize ? TEXTURE_SIZES.get(buttonData.button_index) : null;
+                if (cachedSize != null && textureFile.isFile()) {
+                    this.originalTextureWidth = cachedSize[0];
+                    this.originalTextureHeight = cachedSize[1];
+                    this.customTexture = new ResourceLocation("epic_engine", "custom_button_" + buttonData.button_index);
+                    this.hasCustomTexture = true;
+                    return;
+                }
+
                 if (textureFile.exists() && textureFile.isFile()) {
-                    try (InputStream stream = Files.newInputStream(textureFile.toPath())) {
-                        NativeImage image = NativeImage.read(stream);
+                    try (InputStream stream = Files.newInputStream(textureFile.toPath());
+                         NativeImage image = NativeImage.read(stream)) {
                         this.originalTextureWidth = image.getWidth();
                         this.originalTextureHeight = image.getHeight();
+                        rememberTextureSize(buttonData.button_index, originalTextureWidth, originalTextureHeight);
 
                         this.customTexture = new ResourceLocation("epic_engine", "custom_button_" + buttonData.button_index);
                         this.hasCustomTexture = true;
@@ -306,6 +328,6 @@ public class CustomMainMenuButton extends AbstractWidget {
     }
 
     public void refreshTexture() {
-        loadCustomTexture();
+        loadCustomTexture(false);
     }
 }
\ No newline at end of file
@@ -0,0 +1,256 @@
+package com.epic_engine.custom;
+
+import com.epic_engine.config.EpicEngineCustomConfig;
+import com.epic_engine.config.EpicEngineCustomConfig.Module;
+import com.mojang.blaze3d.platform.NativeImage;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.texture.DynamicTexture;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the custom textures, layouts and language files and swaps changed assets in while the game runs.
+ * Events are collected on a daemon thread until the folder has been quiet for {@link #DEBOUNCE_MILLIS}; the changed
+ * files are then decoded on that thread and only the affected textures, layouts or translation tables are replaced
+ * on the render thread.
+ */
+@OnlyIn(Dist.CLIENT)
+public class CustomResourceWatcher {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final long DEBOUNCE_MILLIS = 300L;
+
+    private static Thread thread = null;
+
+    /**
+     * Start watching. Must run after the default resources were extracted.
+     */
+    public static synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+
+        Path customDir = EpicEngineCustomConfig.getCustomDir();
+        Path texturesDir = EpicEngineCustomConfig.getTexturesDir();
+        Path langDir = EpicEngineI18n.getLangDirectory();
+
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            for (Path dir : List.of(customDir, texturesDir, langDir)) {
+                if (Files.isDirectory(dir)) {
+                    dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("[EPIC ENGINE]: Failed to start resource watcher, live reload disabled", e);
+            return;
+        }
+
+        thread = new Thread(() -> run(watchService), "Epic Engine Resource Watcher");
+        thread.setDaemon(true);
+        thread.start();
+        LOGGER.info("[EPIC ENGINE]: Watching {} for changes", customDir);
+    }
+
+    private static void run(WatchService watchService) {
+        try {
+            while (true) {
+                Set<Path> changed = new LinkedHashSet<>();
+                collect(watchService.take(), changed);
+
+                // 编辑器保存往往连续触发多次事件，等目录安静下来再统一处理
+                WatchKey key;
+                while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, changed);
+                }
+
+                try {
+                    process(changed);
+                } catch (Exception e) {
+                    LOGGER.error("[EPIC ENGINE]: Failed to live reload resources", e);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            LOGGER.debug("[EPIC ENGINE]: Resource watcher stopped");
+        }
+    }
+
+    private static void collect(WatchKey key, Set<Path> changed) {
+        Path dir = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                continue;
+            }
+            changed.add(dir.resolve((Path) event.context()).toAbsolutePath().normalize());
+        }
+        key.reset();
+    }
+
+    /**
+     * Decode the changed files on the watcher thread, then swap them in on the render thread.
+     */
+    private static void process(Set<Path> changed) {
+        long start = System.nanoTime();
+
+        Path texturesDir = EpicEngineCustomConfig.getTexturesDir().toAbsolutePath().normalize();
+        Path langDir = EpicEngineI18n.getLangDirectory().toAbsolutePath().normalize();
+        Path mainMenuLayoutFile = EpicEngineCustomConfig.getLayoutFile().toPath().toAbsolutePath().normalize();
+        Path loadingLayoutFile = EpicEngineCustomConfig.getCustomDir()
+                .resolve("loading_screen_layout.json").toAbsolutePath().normalize();
+
+        Map<Path, NativeImage> images = new LinkedHashMap<>();
+        Map<String, Map<String, String>> languages = new LinkedHashMap<>();
+        MainMenuLayoutData mainMenuLayout = null;
+        LoadingScreenLayoutData loadingLayout = null;
+
+        for (Path path : changed) {
+            if (!Files.isRegularFile(path)) {
+                continue;
+            }
+            String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+
+            if (path.getParent().equals(texturesDir) && name.endsWith(".png")) {
+                NativeImage image = readImage(path);
+                if (image != null) {
+                    images.put(path, image);
+                }
+            } else if (path.getParent().equals(langDir) && name.endsWith(".json")) {
+                Map<String, String> translations = EpicEngineI18n.readTranslations(name.substring(0, name.length() - 5));
+                if (translations != null) {
+                    languages.put(name.substring(0, name.length() - 5), translations);
+                }
+            } else if (path.equals(mainMenuLayoutFile)) {
+                mainMenuLayout = MainMenuLayoutData.parse(path.toFile());
+            } else if (path.equals(loadingLayoutFile)) {
+                loadingLayout = LoadingScreenLayoutData.parse(path.toFile());
+            }
+        }
+
+        if (images.isEmpty() && languages.isEmpty() && mainMenuLayout == null && loadingLayout == null) {
+            return;
+        }
+
+        long decoded = System.nanoTime();
+        MainMenuLayoutData newMainMenuLayout = mainMenuLayout;
+        LoadingScreenLayoutData newLoadingLayout = loadingLayout;
+
+        Minecraft.getInstance().execute(() -> {
+            int swapped = 0;
+            EnumSet<Module> resized = EnumSet.noneOf(Module.class);
+
+            for (Map.Entry<Path, NativeImage> entry : images.entrySet()) {
+                swapped += swapTexture(entry.getKey(), entry.getValue(), resized);
+            }
+            if (resized.contains(Module.MAIN_MENU)) {
+                ClientConfigReloader.reloadMainMenuTextures();
+            } else if (swapped > 0) {
+                MainMenuLayerCache.invalidate();
+            }
+            if (resized.contains(Module.LOADING_SCREEN)) {
+                UnifiedLoadingRenderer.reloadTextures();
+            }
+
+            int swappedLanguages = 0;
+            for (Map.Entry<String, Map<String, String>> entry : languages.entrySet()) {
+                if (EpicEngineI18n.swapTranslations(entry.getKey(), entry.getValue())) {
+                    swappedLanguages++;
+                }
+            }
+            if (swappedLanguages > 0) {
+                // 按钮文字在创建时解析，需要按新翻译重新设置
+                CustomButtonManager.refreshLabels();
+            }
+
+            boolean mainMenuSwapped = newMainMenuLayout != null && UnifiedLayoutEditor.replaceMainMenuLayout(newMainMenuLayout);
+            boolean loadingSwapped = newLoadingLayout != null && UnifiedLayoutEditor.replaceLoadingScreenLayout(newLoadingLayout);
+
+            LOGGER.info("[EPIC ENGINE]: Live reload - {} texture(s), {} module(s) reloaded for size changes, "
+                            + "{} language(s), main menu layout: {}, loading layout: {} (decode {} ms, swap {} ms)",
+                    swapped, resized.size(), swappedLanguages, mainMenuSwapped, loadingSwapped,
+                    (decoded - start) / 1_000_000L, (System.nanoTime() - decoded) / 1_000_000L);
+        });
+    }
+
+    /**
+     * Replace every texture uploaded from {@code path} in place. Textures whose size changed are left to a module
+     * reload instead, since their dimensions are cached by the screens using them.
+     * @return The number of textures swapped
+     */
+    private static int swapTexture(Path path, NativeImage image, EnumSet<Module> resized) {
+        List<CustomTextureTracker.Tracked> entries = CustomTextureTracker.get(path);
+        if (entries.isEmpty()) {
+            image.close();
+            // 尚未加载过的新贴图（例如新增的按钮图片）交给主界面重新加载
+            if (isMainMenuTexture(path.getFileName().toString())) {
+                resized.add(Module.MAIN_MENU);
+            }
+            return 0;
+        }
+
+        int swapped = 0;
+        NativeImage source = image;
+        for (int i = 0; i < entries.size(); i++) {
+            CustomTextureTracker.Tracked entry = entries.get(i);
+            if (entry.width != image.getWidth() || entry.height != image.getHeight()) {
+                resized.add(entry.module);
+                continue;
+            }
+
+            // 最后一个使用者直接接管解码结果，其余的各自拷贝一份
+            NativeImage upload = source;
+            if (i < entries.size() - 1) {
+                upload = new NativeImage(image.format(), image.getWidth(), image.getHeight(), false);
+                upload.copyFrom(image);
+            } else {
+                source = null;
+            }
+            Minecraft.getInstance().getTextureManager().register(entry.location, new DynamicTexture(upload));
+            swapped++;
+        }
+
+        if (source != null) {
+            source.close();
+        }
+        return swapped;
+    }
+
+    private static boolean isMainMenuTexture(String fileName) {
+        String prefix = EpicEngineCustomConfig.getMainMenuButtonPrefix();
+        return fileName.equals(EpicEngineCustomConfig.MAIN_MENU_BACKGROUND_FILENAME.get())
+                || fileName.equals(EpicEngineCustomConfig.MAIN_MENU_TITLE_FILENAME.get())
+                || (fileName.startsWith(prefix) && fileName.endsWith(".png"));
+    }
+
+    private static NativeImage readImage(Path path) {
+        try (InputStream in = Files.newInputStream(path)) {
+            return NativeImage.read(in);
+        } catch (IOException e) {
+            // 文件可能还没写完，下一次修改事件会再试
+            LOGGER.debug("[EPIC ENGINE]: Could not decode changed texture yet: {}", path, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.epic_engine.custom;
+
+import com.epic_engine.config.EpicEngineCustomConfig.Module;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which texture locations were uploaded from which files in the custom textures folder,
+ * so the resource watcher can swap exactly those textures when a file changes.
+ */
+@OnlyIn(Dist.CLIENT)
+public class CustomTextureTracker {
+
+    private static final Map<Path, List<Tracked>> tracked = new ConcurrentHashMap<>();
+
+    public static class Tracked {
+        public final ResourceLocation location;
+        public final int width;
+        public final int height;
+        public final Module module;
+
+        Tracked(ResourceLocation location, int width, int height, Module module) {
+            this.location = location;
+            this.width = width;
+            this.height = height;
+            this.module = module;
+        }
+    }
+
+    /**
+     * Record that {@code location} now holds the image read from {@code file}.
+     */
+    public static void track(File file, ResourceLocation location, int width, int height, Module module) {
+        Path path = file.toPath().toAbsolutePath().normalize();
+        // 同一位置只对应一个文件（配置改了文件名时替换旧记录）
+        tracked.values().forEach(list -> list.removeIf(entry -> entry.location.equals(location)));
+        tracked.computeIfAbsent(path, key -> new ArrayList<>())
+                .add(new Tracked(location, width, height, module));
+    }
+
+    /**
+     * @return The textures uploaded from {@code file}; empty if none
+     */
+    public static List<Tracked> get(Path file) {
+        List<Tracked> entries = tracked.get(file.toAbsolutePath().normalize());
+        return entries != null ? List.copyOf(entries) : List.of();
+    }
+}
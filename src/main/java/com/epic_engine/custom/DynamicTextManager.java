@@ -0,0 +1,170 @@
+package com.epic_engine.custom;
+
+import com.epic_engine.API.custom.IDynamicExternalText;
+import com.epic_engine.EpicEngineMod;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.gui.screens.TitleScreen;
+import net.minecraft.network.chat.Component;
+import net.minecraft.util.FormattedCharSequence;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Live external texts on the main menu.
+ * Each text keeps its flattened {@link FormattedCharSequence} and width; a change signalled by the provider
+ * (or its polling interval) re-resolves and re-measures only that text. Dynamic texts are drawn live on top of
+ * the cached static menu layer, so an update does not invalidate it.
+ */
+@OnlyIn(Dist.CLIENT)
+@Mod.EventBusSubscriber(modid = EpicEngineMod.MODID, value = Dist.CLIENT)
+public class DynamicTextManager {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    private static class Entry {
+        final String textId;
+        final IDynamicExternalText text;
+        final MainMenuLayoutData.CustomTextComponent layout;
+        final AtomicBoolean dirty = new AtomicBoolean(true);
+        final int interval;
+        int ticksUntilUpdate;
+
+        Component lastComponent = null;
+        FormattedCharSequence sequence = FormattedCharSequence.EMPTY;
+        int width = 0;
+
+        Entry(String textId, IDynamicExternalText text, MainMenuLayoutData.CustomTextComponent layout) {
+            this.textId = textId;
+            this.text = text;
+            this.layout = layout;
+            this.interval = Math.max(0, text.getUpdateIntervalTicks());
+            this.ticksUntilUpdate = interval;
+        }
+    }
+
+    /**
+     * Track a dynamic text registered in the layout. Replaces a previous registration with the same ID.
+     */
+    public static void register(String textId, IDynamicExternalText text, MainMenuLayoutData.CustomTextComponent layout) {
+        Entry previous = entries.remove(textId);
+        if (previous != null && previous.text != text) {
+            detach(previous);
+        }
+
+        Entry entry = new Entry(textId, text, layout);
+        entries.put(textId, entry);
+        try {
+            text.setChangeListener(() -> entry.dirty.set(true));
+        } catch (Exception e) {
+            LOGGER.error("[EPIC ENGINE]: Failed to attach change listener to dynamic text: {}", textId, e);
+        }
+        refresh(entry);
+    }
+
+    public static boolean isDynamic(String textId) {
+        return entries.containsKey(textId);
+    }
+
+    /**
+     * Forget all dynamic texts and detach their listeners (title screen replaced).
+     */
+    public static void clear() {
+        for (Entry entry : entries.values()) {
+            detach(entry);
+        }
+        entries.clear();
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || entries.isEmpty()
+                || !(Minecraft.getInstance().screen instanceof TitleScreen)) {
+            return;
+        }
+
+        for (Entry entry : entries.values()) {
+            boolean due = false;
+            if (entry.interval > 0 && --entry.ticksUntilUpdate <= 0) {
+                entry.ticksUntilUpdate = entry.interval;
+                due = true;
+            }
+            if (entry.dirty.getAndSet(false) || due) {
+                refresh(entry);
+            }
+        }
+    }
+
+    /**
+     * Draw all dynamic texts from their cached sequences.
+     */
+    public static void render(GuiGraphics guiGraphics) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Font font = Minecraft.getInstance().font;
+        for (Entry entry : entries.values()) {
+            if (entry.width == 0) continue;
+
+            MainMenuLayoutData.CustomTextComponent.TextProperties props = entry.layout.properties;
+            float scale = props.font_scale;
+
+            guiGraphics.pose().pushPose();
+            guiGraphics.pose().translate(entry.layout.position.x, entry.layout.position.y, 0);
+            guiGraphics.pose().scale(scale, scale, 1.0f);
+            guiGraphics.drawString(font, entry.sequence, 0, 0, entry.text.getColor() & 0xFFFFFF, props.shadow);
+            guiGraphics.pose().popPose();
+        }
+    }
+
+    private static void refresh(Entry entry) {
+        Component component;
+        try {
+            component = entry.text.getDisplayText();
+        } catch (Exception e) {
+            LOGGER.error("[EPIC ENGINE]: Error reading dynamic text: {}", entry.textId, e);
+            return;
+        }
+        if (component == null) {
+            component = Component.empty();
+        }
+        if (component.equals(entry.lastComponent)) {
+            return;
+        }
+
+        // 只重新排版这一条文本
+        Font font = Minecraft.getInstance().font;
+        entry.lastComponent = component;
+        entry.sequence = component.getVisualOrderText();
+        entry.width = font.width(entry.sequence);
+
+        MainMenuLayoutData.CustomTextComponent layout = entry.layout;
+        float scale = layout.properties.font_scale;
+        layout.properties.text = component.getString();
+        layout.position.width = Math.round(entry.width * scale);
+        layout.position.height = Math.round(font.lineHeight * scale);
+
+        LOGGER.debug("[EPIC ENGINE]: Dynamic text '{}' updated ({} px)", entry.textId, entry.width);
+    }
+
+    private static void detach(Entry entry) {
+        try {
+            entry.text.setChangeListener(null);
+        } catch (Exception e) {
+            LOGGER.debug("[EPIC ENGINE]: Error detaching dynamic text: {}", entry.textId, e);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.epic_engine.custom;
+
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Alignment guides for the component being dragged in the layout editor.
+ * When a drag starts, the screen edges and center and the edges and centers of every other component are collected
+ * into one sorted array per axis. Each drag event then finds the guide nearest to the dragged component's left edge,
+ * center and right edge (top, middle and bottom vertically) with a binary search, and snaps to the closest one within
+ * the snap distance. Without a guide in reach the position falls back to the optional grid.
+ */
+@OnlyIn(Dist.CLIENT)
+class EditorSnapGuides {
+
+    private static final int NONE = Integer.MIN_VALUE;
+
+    private static final int COLOR_GUIDE = 0xC000FFFF;
+    private static final int COLOR_GRID = 0x18FFFFFF;
+
+    private int[] xGuides = new int[0];
+    private int[] yGuides = new int[0];
+    private int width, height;
+    private int snapDistance;
+    private int gridSize;
+    private boolean prepared = false;
+
+    // 最近一次吸附到的参考线，用于绘制
+    private int activeX = NONE;
+    private int activeY = NONE;
+    // findNearestGuide 的结果
+    private int matchedGuide;
+    private int matchedAnchor;
+
+    /**
+     * Collect the guides for a drag.
+     * @param dragged The index entry being dragged; excluded from the guides and used for its size
+     */
+    void prepare(Collection<EditorSpatialIndex.Entry> entries, EditorSpatialIndex.Entry dragged,
+                 int screenWidth, int screenHeight, int snapDistance, int gridSize) {
+        int[] xs = new int[(entries.size() + 1) * 3];
+        int[] ys = new int[xs.length];
+        int count = 0;
+
+        xs[count] = 0;
+        ys[count++] = 0;
+        xs[count] = screenWidth / 2;
+        ys[count++] = screenHeight / 2;
+        xs[count] = screenWidth;
+        ys[count++] = screenHeight;
+
+        for (EditorSpatialIndex.Entry entry : entries) {
+            if (entry == dragged) {
+                continue;
+            }
+            // 使用实际尺寸，而不是放大后的命中区域
+            xs[count] = entry.x;
+            ys[count++] = entry.y;
+            xs[count] = entry.x + entry.boundsWidth / 2;
+            ys[count++] = entry.y + entry.boundsHeight / 2;
+            xs[count] = entry.x + entry.boundsWidth;
+            ys[count++] = entry.y + entry.boundsHeight;
+        }
+
+        this.xGuides = sortedUnique(xs, count);
+        this.yGuides = sortedUnique(ys, count);
+        this.width = dragged.boundsWidth;
+        this.height = dragged.boundsHeight;
+        this.snapDistance = snapDistance;
+        this.gridSize = gridSize;
+        this.prepared = true;
+        this.activeX = NONE;
+        this.activeY = NONE;
+    }
+
+    void clear() {
+        prepared = false;
+        activeX = NONE;
+        activeY = NONE;
+    }
+
+    boolean isPrepared() {
+        return prepared;
+    }
+
+    /**
+     * Forget the highlighted guides, e.g. while snapping is bypassed.
+     */
+    void clearActive() {
+        activeX = NONE;
+        activeY = NONE;
+    }
+
+    int snapX(int x) {
+        if (!findNearestGuide(xGuides, x, width)) {
+            activeX = NONE;
+            return snapToGrid(x);
+        }
+        activeX = matchedGuide;
+        return matchedGuide - anchorOffset(matchedAnchor, width);
+    }
+
+    int snapY(int y) {
+        if (!findNearestGuide(yGuides, y, height)) {
+            activeY = NONE;
+            return snapToGrid(y);
+        }
+        activeY = matchedGuide;
+        return matchedGuide - anchorOffset(matchedAnchor, height);
+    }
+
+    /**
+     * Draw the grid and the guides the dragged component is aligned to.
+     */
+    void render(GuiGraphics graphics) {
+        if (!prepared) {
+            return;
+        }
+        int screenWidth = graphics.guiWidth();
+        int screenHeight = graphics.guiHeight();
+
+        if (gridSize > 0) {
+            for (int x = gridSize; x < screenWidth; x += gridSize) {
+                graphics.fill(x, 0, x + 1, screenHeight, COLOR_GRID);
+            }
+            for (int y = gridSize; y < screenHeight; y += gridSize) {
+                graphics.fill(0, y, screenWidth, y + 1, COLOR_GRID);
+            }
+        }
+
+        if (activeX != NONE) {
+            graphics.fill(activeX, 0, activeX + 1, screenHeight, COLOR_GUIDE);
+        }
+        if (activeY != NONE) {
+            graphics.fill(0, activeY, screenWidth, activeY + 1, COLOR_GUIDE);
+        }
+    }
+
+    /**
+     * Find the closest guide to the start, center or end of a span and store it in {@link #matchedGuide} and
+     * {@link #matchedAnchor} (0 start, 1 center, 2 end).
+     * @return false if no guide is within the snap distance
+     */
+    private boolean findNearestGuide(int[] guides, int start, int size) {
+        boolean found = false;
+        int bestDistance = snapDistance + 1;
+
+        for (int anchor = 0; anchor < 3; anchor++) {
+            int point = start + anchorOffset(anchor, size);
+            int index = Arrays.binarySearch(guides, point);
+            if (index < 0) {
+                index = -index - 1;
+            }
+
+            // 插入点两侧的参考线就是最近的候选
+            for (int i = index - 1; i <= index; i++) {
+                if (i < 0 || i >= guides.length) {
+                    continue;
+                }
+                int distance = Math.abs(guides[i] - point);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    matchedGuide = guides[i];
+                    matchedAnchor = anchor;
+                    found = true;
+                }
+            }
+        }
+        return found;
+    }
+
+    private static int anchorOffset(int anchor, int size) {
+        return anchor == 0 ? 0 : (anchor == 1 ? size / 2 : size);
+    }
+
+    private int snapToGrid(int value) {
+        if (gridSize <= 0) {
+            return value;
+        }
+        return Math.round(value / (float) gridSize) * gridSize;
+    }
+
+    private static int[] sortedUnique(int[] values, int count) {
+        int[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+
+        int unique = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[unique - 1]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, unique);
+    }
+}
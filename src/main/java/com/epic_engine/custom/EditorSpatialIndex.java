@@ -0,0 +1,197 @@
+package com.epic_engine.custom;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Uniform grid over the bounds of the components shown in the layout editor.
+ * Every entry is registered in each cell its bounds overlap, so a point query only looks at the few entries of one
+ * cell. Entries keep the order they were added in, and a query returns the earliest one, which is the component
+ * the editor would have picked first.
+ */
+@OnlyIn(Dist.CLIENT)
+class EditorSpatialIndex {
+
+    private static final int CELL_SIZE = 32;
+
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private int nextOrder = 0;
+
+    static class Entry {
+        final UnifiedLayoutEditor.ComponentType type;
+        final String id;
+        // 越小越靠上，与原先逐个检查的顺序一致
+        final int order;
+        // 禁用的按钮只能切换状态，不能拖动
+        final boolean draggable;
+        // 命中区域，过小的组件会被放大
+        int x, y, width, height;
+        // 组件的实际尺寸，用于对齐参考线
+        int boundsWidth, boundsHeight;
+
+        Entry(UnifiedLayoutEditor.ComponentType type, String id, int order, boolean draggable) {
+            this.type = type;
+            this.id = id;
+            this.order = order;
+            this.draggable = draggable;
+        }
+
+        boolean contains(int px, int py) {
+            return px >= x && px <= x + width && py >= y && py <= y + height;
+        }
+
+        boolean is(UnifiedLayoutEditor.ComponentType type, String id) {
+            return this.type == type && this.id.equals(id);
+        }
+    }
+
+    void clear() {
+        cells.clear();
+        entries.clear();
+        nextOrder = 0;
+    }
+
+    /**
+     * Add a component; components added earlier win when they overlap. Hit bounds are inclusive on all edges.
+     * @param width The component's actual width; {@code hitWidth} may be larger to make small components easier to grab
+     */
+    void add(UnifiedLayoutEditor.ComponentType type, String id, boolean draggable, int x, int y,
+             int width, int height, int hitWidth, int hitHeight) {
+        Entry entry = new Entry(type, id, nextOrder++, draggable);
+        entry.x = x;
+        entry.y = y;
+        entry.width = hitWidth;
+        entry.height = hitHeight;
+        entry.boundsWidth = width;
+        entry.boundsHeight = height;
+
+        Entry previous = entries.put(key(type, id), entry);
+        if (previous != null) {
+            forEachCell(previous, cell -> removeFromCell(cell, previous));
+        }
+        forEachCell(entry, cell -> cells.computeIfAbsent(cell, k -> new ArrayList<>(4)).add(entry));
+    }
+
+    /**
+     * Move a component, touching only the cells it leaves and enters.
+     */
+    void move(UnifiedLayoutEditor.ComponentType type, String id, int x, int y,
+              int width, int height, int hitWidth, int hitHeight) {
+        Entry entry = entries.get(key(type, id));
+        if (entry == null) {
+            return;
+        }
+        entry.boundsWidth = width;
+        entry.boundsHeight = height;
+        if (entry.x == x && entry.y == y && entry.width == hitWidth && entry.height == hitHeight) {
+            return;
+        }
+
+        int oldMinX = cellOf(entry.x), oldMaxX = cellOf(entry.x + entry.width);
+        int oldMinY = cellOf(entry.y), oldMaxY = cellOf(entry.y + entry.height);
+        entry.x = x;
+        entry.y = y;
+        entry.width = hitWidth;
+        entry.height = hitHeight;
+        int newMinX = cellOf(x), newMaxX = cellOf(x + hitWidth);
+        int newMinY = cellOf(y), newMaxY = cellOf(y + hitHeight);
+
+        if (oldMinX == newMinX && oldMaxX == newMaxX && oldMinY == newMinY && oldMaxY == newMaxY) {
+            return;
+        }
+
+        for (int cx = oldMinX; cx <= oldMaxX; cx++) {
+            for (int cy = oldMinY; cy <= oldMaxY; cy++) {
+                if (cx < newMinX || cx > newMaxX || cy < newMinY || cy > newMaxY) {
+                    removeFromCell(cellKey(cx, cy), entry);
+                }
+            }
+        }
+        for (int cx = newMinX; cx <= newMaxX; cx++) {
+            for (int cy = newMinY; cy <= newMaxY; cy++) {
+                if (cx < oldMinX || cx > oldMaxX || cy < oldMinY || cy > oldMaxY) {
+                    cells.computeIfAbsent(cellKey(cx, cy), k -> new ArrayList<>(4)).add(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The topmost component containing the point that matches {@code filter}, or null
+     */
+    Entry pick(int px, int py, Predicate<Entry> filter) {
+        List<Entry> cell = cells.get(cellKey(cellOf(px), cellOf(py)));
+        if (cell == null) {
+            return null;
+        }
+
+        Entry best = null;
+        for (Entry entry : cell) {
+            if ((best == null || entry.order < best.order) && entry.contains(px, py) && filter.test(entry)) {
+                best = entry;
+            }
+        }
+        return best;
+    }
+
+    Entry pick(int px, int py) {
+        return pick(px, py, entry -> true);
+    }
+
+    Entry get(UnifiedLayoutEditor.ComponentType type, String id) {
+        return entries.get(key(type, id));
+    }
+
+    Collection<Entry> entries() {
+        return entries.values();
+    }
+
+    boolean contains(UnifiedLayoutEditor.ComponentType type, String id) {
+        return entries.containsKey(key(type, id));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void removeFromCell(long cell, Entry entry) {
+        List<Entry> list = cells.get(cell);
+        if (list != null) {
+            list.remove(entry);
+            if (list.isEmpty()) {
+                cells.remove(cell);
+            }
+        }
+    }
+
+    private static void forEachCell(Entry entry, LongConsumer consumer) {
+        int maxX = cellOf(entry.x + entry.width);
+        int maxY = cellOf(entry.y + entry.height);
+        for (int cx = cellOf(entry.x); cx <= maxX; cx++) {
+            for (int cy = cellOf(entry.y); cy <= maxY; cy++) {
+                consumer.accept(cellKey(cx, cy));
+            }
+        }
+    }
+
+    private static int cellOf(int coordinate) {
+        return Math.floorDiv(coordinate, CELL_SIZE);
+    }
+
+    private static long cellKey(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    private static String key(UnifiedLayoutEditor.ComponentType type, String id) {
+        return type.name() + ':' + id;
+    }
+}
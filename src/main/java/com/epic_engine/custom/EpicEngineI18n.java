@@ -261,27 +261,62 @@ public class EpicEngineI18n {
     private static void loadTranslations(String languageCode) {
         translations.clear();
 
+        Map<String, String> loaded = readTranslations(languageCode);
+        if (loaded != null) {
+            translations.putAll(loaded);
+            LOGGER.info("[EPIC ENGINE]: Loaded {} translations for language: {}",
+                    translations.size(), languageCode);
+        }
+    }
+
+    /**
+     * Read a language file without touching the active table, so it can run off the render thread.
+     * @return The translations, or null if the file is missing or invalid
+     */
+    public static Map<String, String> readTranslations(String languageCode) {
         File langFile = LANG_DIR.resolve(languageCode + ".json").toFile();
         if (!langFile.exists()) {
             LOGGER.debug("[EPIC ENGINE]: Lang file not found: {}", langFile.getName());
-            return;
+            return null;
         }
 
         try (FileReader reader = new FileReader(langFile, StandardCharsets.UTF_8)) {
             JsonObject langJson = GSON.fromJson(reader, JsonObject.class);
-
-            if (langJson != null) {
-                for (String key : langJson.keySet()) {
-                    translations.put(key, langJson.get(key).getAsString());
-                }
-
-                LOGGER.info("[EPIC ENGINE]: Loaded {} translations for language: {}",
-                        translations.size(), languageCode);
+            if (langJson == null) {
+                return null;
             }
 
-        } catch (IOException e) {
+            Map<String, String> loaded = new HashMap<>();
+            for (String key : langJson.keySet()) {
+                loaded.put(key, langJson.get(key).getAsString());
+            }
+            return loaded;
+        } catch (Exception e) {
             LOGGER.error("[EPIC ENGINE]: Failed to load translations for: {}", languageCode, e);
+            return null;
+        }
+    }
+
+    /**
+     * Swap in a table read by {@link #readTranslations} if it is the language in use.
+     * @return true if the active translations changed
+     */
+    public static boolean swapTranslations(String languageCode, Map<String, String> loaded) {
+        boolean active = languageCode.equals(currentLanguage)
+                || (languageCode.equals("en_us") && !hasOwnLanguageFile(currentLanguage));
+        if (!initialized || !active) {
+            return false;
         }
+
+        translations.clear();
+        translations.putAll(loaded);
+        MainMenuLayerCache.invalidate();
+        LOGGER.info("[EPIC ENGINE]: Swapped in {} translations for language: {}", loaded.size(), languageCode);
+        return true;
+    }
+
+    private static boolean hasOwnLanguageFile(String languageCode) {
+        return LANG_DIR.resolve(languageCode + ".json").toFile().exists();
     }
 
     public static String translate(String key) {
@@ -320,6 +355,15 @@ public class EpicEngineI18n {
         return text;
     }
 
+    /**
+     * Reload the translations if the game language changed since they were loaded.
+     */
+    public static void refreshLanguage() {
+        if (initialized) {
+            checkAndReloadLanguage();
+        }
+    }
+
     private static void checkAndReloadLanguage() {
         try {
             String detectedLanguage = detectCurrentLanguage();
@@ -360,6 +404,7 @@ public class EpicEngineI18n {
 
     public static void reloadLanguage() {
         loadCurrentLanguage();
+        MainMenuLayerCache.invalidate();
         LOGGER.info("[EPIC ENGINE]: Reloaded language: {}", currentLanguage);
     }
 
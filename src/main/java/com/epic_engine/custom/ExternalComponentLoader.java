@@ -0,0 +1,159 @@
+package com.epic_engine.custom;
+
+import com.epic_engine.API.custom.IExternalButton;
+import com.epic_engine.API.custom.IExternalText;
+import com.epic_engine.API.custom.IMainMenuComponentProvider;
+import net.minecraft.client.Minecraft;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Starts external main menu component providers and collects their components.
+ * Providers are started on the render thread; legacy providers build their components right there, while providers
+ * that override the async methods get a small bounded pool for their work. Each provider's button and texts are
+ * awaited together with the provider's timeout; results are handed back on the render thread. Per-provider timings are kept for diagnostics and slow providers are logged.
+ */
+public class ExternalComponentLoader {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final int POOL_SIZE = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    private static final long SLOW_PROVIDER_MILLIS = 100L;
+    private static final long MIN_TIMEOUT_MILLIS = 50L;
+    private static final long MAX_TIMEOUT_MILLIS = 30000L;
+
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(POOL_SIZE, runnable -> {
+        Thread thread = new Thread(runnable, "Epic Engine Menu Provider #" + threadCounter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Map<String, ProviderTiming> timings = new ConcurrentHashMap<>();
+
+    /**
+     * Components produced by one provider
+     */
+    public static class ProviderResult {
+        public final IMainMenuComponentProvider provider;
+        public final IExternalButton button;
+        public final List<IExternalText> texts;
+
+        ProviderResult(IMainMenuComponentProvider provider, IExternalButton button, List<IExternalText> texts) {
+            this.provider = provider;
+            this.button = button;
+            this.texts = texts != null ? texts : Collections.emptyList();
+        }
+    }
+
+    /**
+     * Timing statistics for one provider
+     */
+    public static class ProviderTiming {
+        public volatile long lastMillis = 0L;
+        public volatile long maxMillis = 0L;
+        public volatile int runs = 0;
+        public volatile int timeouts = 0;
+        public volatile int failures = 0;
+    }
+
+    /**
+     * Start a provider and deliver its components on the render thread.
+     * @param onResult Called on the render thread with the provider's components and the dispatch index
+     * @param index Passed through to {@code onResult}, used for automatic placement order
+     */
+    public static void load(IMainMenuComponentProvider provider, MainMenuLayoutData layoutData, int index,
+                            BiConsumer<ProviderResult, Integer> onResult) {
+        String providerId = provider.getProviderId();
+        long timeout = Math.max(MIN_TIMEOUT_MILLIS, Math.min(MAX_TIMEOUT_MILLIS, provider.getTimeoutMillis()));
+        long start = System.nanoTime();
+
+        CompletableFuture<IExternalButton> buttonFuture;
+        CompletableFuture<List<IExternalText>> textsFuture;
+        try {
+            buttonFuture = provider.createButtonAsync(layoutData, POOL);
+            textsFuture = provider.createTextsAsync(layoutData, POOL);
+        } catch (Exception e) {
+            record(providerId, start, false, true);
+            LOGGER.error("[EPIC ENGINE]: Error starting components for provider: {}", providerId, e);
+            return;
+        }
+
+        buttonFuture.thenCombine(textsFuture, (button, texts) -> new ProviderResult(provider, button, texts))
+                .orTimeout(timeout, TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        boolean timedOut = unwrap(error) instanceof TimeoutException;
+                        record(providerId, start, timedOut, !timedOut);
+                        if (timedOut) {
+                            LOGGER.warn("[EPIC ENGINE]: Provider '{}' did not finish within {} ms, its components are skipped",
+                                    providerId, timeout);
+                        } else {
+                            LOGGER.error("[EPIC ENGINE]: Error creating components for provider: {}", providerId, unwrap(error));
+                        }
+                        return;
+                    }
+
+                    record(providerId, start, false, false);
+                    Minecraft.getInstance().execute(() -> onResult.accept(result, index));
+                });
+    }
+
+    /**
+     * @return Timing statistics keyed by provider ID
+     */
+    public static Map<String, ProviderTiming> getTimings() {
+        return Collections.unmodifiableMap(timings);
+    }
+
+    public static String getDiagnostics() {
+        StringBuilder info = new StringBuilder();
+        info.append("External Component Providers:\n");
+        timings.forEach((providerId, timing) -> info.append("- ").append(providerId)
+                .append(": last ").append(timing.lastMillis).append(" ms")
+                .append(", max ").append(timing.maxMillis).append(" ms")
+                .append(", runs ").append(timing.runs)
+                .append(", timeouts ").append(timing.timeouts)
+                .append(", failures ").append(timing.failures).append("\n"));
+        return info.toString();
+    }
+
+    private static void record(String providerId, long start, boolean timedOut, boolean failed) {
+        long elapsed = (System.nanoTime() - start) / 1_000_000L;
+        ProviderTiming timing = timings.computeIfAbsent(providerId, id -> new ProviderTiming());
+        synchronized (timing) {
+            timing.lastMillis = elapsed;
+            timing.maxMillis = Math.max(timing.maxMillis, elapsed);
+            timing.runs++;
+            if (timedOut) timing.timeouts++;
+            if (failed) timing.failures++;
+        }
+
+        if (!timedOut && elapsed >= SLOW_PROVIDER_MILLIS) {
+            LOGGER.warn("[EPIC ENGINE]: Slow main menu component provider '{}': {} ms", providerId, elapsed);
+        } else {
+            LOGGER.debug("[EPIC ENGINE]: Provider '{}' finished in {} ms", providerId, elapsed);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,140 @@
+package com.epic_engine.custom;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * HUD Layout Data
+ * Manages layout configuration for the in-game resource bars.
+ * Positions are offsets from an anchor point, so the layout holds for any window size and GUI scale.
+ */
+public class HudLayoutData {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    public String version = "1.0";
+    public String created_time = "";
+    public String last_modified = "";
+
+    public BarComponent mana_bar = new BarComponent(
+            "epic_engine:textures/screens/mana_bar.png", "epic_engine:textures/screens/mana_full.png", 4, 4);
+    public BarComponent stamina_bar = new BarComponent(
+            "epic_engine:textures/screens/stamina_bar.png", "epic_engine:textures/screens/stamina_full.png", 4, 18);
+
+    public static class Position {
+        public int x = 0;
+        public int y = 0;
+        public int width = -1;
+        public int height = -1;
+
+        public Position() {}
+
+        public Position(int x, int y, int width, int height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    public static class BarComponent {
+        public boolean enabled = true;
+        public String background_texture = "";
+        public String fill_texture = "";
+        // TOP_LEFT, TOP_CENTER, TOP_RIGHT, CENTER_LEFT, CENTER, CENTER_RIGHT, BOTTOM_LEFT, BOTTOM_CENTER, BOTTOM_RIGHT
+        public String anchor = "TOP_LEFT";
+        public Position position = new Position();
+
+        public BarComponent() {}
+
+        public BarComponent(String backgroundTexture, String fillTexture, int x, int y) {
+            this.background_texture = backgroundTexture;
+            this.fill_texture = fillTexture;
+            this.position = new Position(x, y, -1, -1);
+        }
+    }
+
+    /**
+     * Save layout data to file
+     */
+    public void save(File file) {
+        try {
+            this.last_modified = LocalDateTime.now().format(TIME_FORMATTER);
+
+            file.getParentFile().mkdirs();
+
+            try (FileWriter writer = new FileWriter(file)) {
+                GSON.toJson(this, writer);
+                LOGGER.info("[EPIC ENGINE]: HUD layout saved to: {}", file.getAbsolutePath());
+            }
+        } catch (IOException e) {
+            LOGGER.error("[EPIC ENGINE]: Failed to save HUD layout to: {}", file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Load layout data from file
+     */
+    public static HudLayoutData load(File file) {
+        if (!file.exists()) {
+            LOGGER.info("[EPIC ENGINE]: HUD layout file not found, creating default: {}", file.getAbsolutePath());
+            HudLayoutData defaultLayout = createDefault();
+            defaultLayout.save(file);
+            return defaultLayout;
+        }
+
+        try (FileReader reader = new FileReader(file)) {
+            HudLayoutData data = GSON.fromJson(reader, HudLayoutData.class);
+            if (data == null || !data.validate()) {
+                LOGGER.warn("[EPIC ENGINE]: Failed to parse HUD layout file, using default");
+                return createDefault();
+            }
+
+            LOGGER.info("[EPIC ENGINE]: HUD layout loaded from: {}", file.getAbsolutePath());
+            return data;
+        } catch (Exception e) {
+            LOGGER.error("[EPIC ENGINE]: Failed to load HUD layout from: {}, using default", file.getAbsolutePath(), e);
+            return createDefault();
+        }
+    }
+
+    /**
+     * Create default HUD layout
+     */
+    public static HudLayoutData createDefault() {
+        HudLayoutData data = new HudLayoutData();
+
+        String currentTime = LocalDateTime.now().format(TIME_FORMATTER);
+        data.created_time = currentTime;
+        data.last_modified = currentTime;
+
+        return data;
+    }
+
+    /**
+     * Validate layout data
+     */
+    public boolean validate() {
+        if (mana_bar == null || mana_bar.position == null) {
+            LOGGER.warn("[EPIC ENGINE]: Invalid mana bar configuration");
+            return false;
+        }
+
+        if (stamina_bar == null || stamina_bar.position == null) {
+            LOGGER.warn("[EPIC ENGINE]: Invalid stamina bar configuration");
+            return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,238 @@
+package com.epic_engine.custom;
+
+import com.epic_engine.config.EpicEngineCustomConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Binary sidecar cache for the layout JSON files, stored in config/epic_engine/cache.
+ * The sidecar holds a header (magic, format version, schema version, SHA-256 of the JSON bytes, payload length)
+ * followed by a length-prefixed field-by-field encoding written by the layout class itself. The header is read and
+ * checked first, and the payload is only read when the JSON hash matches; otherwise the JSON is parsed with Gson and
+ * the sidecar rewritten. The JSON stays the editable source of truth.
+ */
+public class LayoutBinaryCache {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final int MAGIC = 0x45454C43; // "EELC"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HASH_LENGTH = 32;
+    private static final int HEADER_LENGTH = 4 + 4 + 4 + HASH_LENGTH + 4;
+
+    /** 布局类自己负责字段的编码顺序 */
+    public interface Codec<T> {
+        void write(T value, DataOutputStream out) throws IOException;
+
+        T read(ByteBuffer in);
+    }
+
+    /**
+     * Load a layout, using the sidecar when it matches the JSON.
+     * @param json The layout JSON file; must exist
+     * @param schemaVersion Bumped by the layout class whenever its fields or their encoding change
+     * @param parser Parses the JSON text; may return null or throw for invalid files
+     * @return The layout, or null if the parser returned null
+     */
+    public static <T> T load(File json, int schemaVersion, Codec<T> codec, Function<String, T> parser) throws IOException {
+        byte[] jsonBytes = Files.readAllBytes(json.toPath());
+        byte[] hash = sha256(jsonBytes);
+        Path sidecar = sidecarFor(json);
+
+        T cached = readSidecar(sidecar, schemaVersion, hash, codec);
+        if (cached != null) {
+            LOGGER.debug("[EPIC ENGINE]: Layout {} loaded from binary cache", json.getName());
+            return cached;
+        }
+
+        // 与保存布局时使用的默认编码一致
+        T parsed = parser.apply(new String(jsonBytes, Charset.defaultCharset()));
+        if (parsed != null) {
+            writeSidecar(sidecar, schemaVersion, hash, codec, parsed);
+        }
+        return parsed;
+    }
+
+    private static <T> T readSidecar(Path sidecar, int schemaVersion, byte[] hash, Codec<T> codec) {
+        if (!Files.isRegularFile(sidecar)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_LENGTH || size > Integer.MAX_VALUE) {
+                return null;
+            }
+
+            // 不做内存映射：失效的缓存在 Windows 上被映射时无法被替换，而且头部不匹配时无需读取整个文件
+            ByteBuffer header = readFully(channel, HEADER_LENGTH);
+            if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION || header.getInt() != schemaVersion) {
+                return null;
+            }
+
+            byte[] storedHash = new byte[HASH_LENGTH];
+            header.get(storedHash);
+            if (!Arrays.equals(storedHash, hash)) {
+                return null;
+            }
+
+            int length = header.getInt();
+            if (length != size - HEADER_LENGTH) {
+                return null;
+            }
+            return codec.read(readFully(channel, length));
+        } catch (IOException | RuntimeException e) {
+            // 缓存损坏或格式不符时直接忽略，重新解析 JSON
+            LOGGER.debug("[EPIC ENGINE]: Ignoring unreadable layout cache {}", sidecar, e);
+            return null;
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new BufferUnderflowException();
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Encode a layout with its codec, e.g. to take a cheap deep copy on the render thread.
+     */
+    public static <T> byte[] encode(Codec<T> codec, T value) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(payload)) {
+            codec.write(value, out);
+        } catch (IOException e) {
+            // 写入内存流不会失败
+            throw new IllegalStateException(e);
+        }
+        return payload.toByteArray();
+    }
+
+    public static <T> T decode(Codec<T> codec, byte[] payload) {
+        return codec.read(ByteBuffer.wrap(payload));
+    }
+
+    private static <T> void writeSidecar(Path sidecar, int schemaVersion, byte[] hash, Codec<T> codec, T value) {
+        try {
+            byte[] payload = encode(codec, value);
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_LENGTH + payload.length);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(schemaVersion);
+                out.write(hash);
+                out.writeInt(payload.length);
+                out.write(payload);
+            }
+
+            // 先写临时文件再替换，读取时不会看到写了一半的缓存
+            Files.createDirectories(sidecar.getParent());
+            Path temp = sidecar.resolveSibling(sidecar.getFileName() + ".tmp");
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("[EPIC ENGINE]: Failed to write layout cache {}", sidecar, e);
+        }
+    }
+
+    private static Path sidecarFor(File json) {
+        return EpicEngineCustomConfig.getCacheDir().resolve(json.getName() + ".bin");
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ========== Encoding Helpers ==========
+
+    public static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    public static List<String> readStrings(ByteBuffer in) {
+        int count = in.getInt();
+        if (count < 0) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(Math.min(count, in.remaining() / 4));
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    /**
+     * Write whether a nested object is present; the caller writes its fields only if this returns true.
+     */
+    public static boolean writePresence(DataOutputStream out, Object value) throws IOException {
+        out.writeBoolean(value != null);
+        return value != null;
+    }
+
+    public static boolean readPresence(ByteBuffer in) {
+        return in.get() != 0;
+    }
+
+    public static boolean readBoolean(ByteBuffer in) {
+        return in.get() != 0;
+    }
+}
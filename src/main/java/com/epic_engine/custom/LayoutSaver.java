@@ -0,0 +1,133 @@
+package com.epic_engine.custom;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Writes layout files off the render thread. Each save hands over a serializer working on a snapshot of the layout;
+ * saves of the same file that pile up while a write is in progress are coalesced so only the newest one is written.
+ * Files are written to a temp file and moved into place, so a crash never leaves a truncated layout behind.
+ */
+public class LayoutSaver {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final long SHUTDOWN_WAIT_MILLIS = 2000L;
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Epic Engine Layout Saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 每个文件最多一个待写入的快照，新的保存请求直接替换它
+    private static final Map<Path, Pending> pending = new HashMap<>();
+
+    private static class Pending {
+        Supplier<String> serializer;
+        final List<CompletableFuture<Boolean>> waiters = new ArrayList<>();
+    }
+
+    static {
+        // 退出游戏时等待尚未写完的布局
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            EXECUTOR.shutdown();
+            try {
+                EXECUTOR.awaitTermination(SHUTDOWN_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "Epic Engine Layout Saver Shutdown"));
+    }
+
+    /**
+     * Queue a save.
+     * @param serializer Produces the file content on the saver thread; must only touch a snapshot
+     * @return Completes with true once this content (or a newer one) is on disk, false if writing failed
+     */
+    public static CompletableFuture<Boolean> save(File file, Supplier<String> serializer) {
+        Path path = file.toPath().toAbsolutePath().normalize();
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        synchronized (pending) {
+            Pending entry = pending.get(path);
+            if (entry != null) {
+                // 上一个快照还没开始写，直接用新的替换
+                entry.serializer = serializer;
+                entry.waiters.add(future);
+                return future;
+            }
+
+            entry = new Pending();
+            entry.serializer = serializer;
+            entry.waiters.add(future);
+            pending.put(path, entry);
+        }
+
+        EXECUTOR.execute(() -> write(path));
+        return future;
+    }
+
+    private static void write(Path path) {
+        Pending entry;
+        synchronized (pending) {
+            entry = pending.remove(path);
+        }
+        if (entry == null) {
+            return;
+        }
+
+        boolean success;
+        long start = System.nanoTime();
+        try {
+            writeAtomically(path, entry.serializer.get());
+            success = true;
+            LOGGER.debug("[EPIC ENGINE]: Layout written to {} in {} µs ({} save(s) coalesced)",
+                    path, (System.nanoTime() - start) / 1000L, entry.waiters.size());
+        } catch (Exception e) {
+            success = false;
+            LOGGER.error("[EPIC ENGINE]: Failed to save layout to: {}", path, e);
+        }
+
+        for (CompletableFuture<Boolean> waiter : entry.waiters) {
+            waiter.complete(success);
+        }
+    }
+
+    /**
+     * Write {@code content} to a temp file next to {@code path} and move it into place.
+     */
+    public static void writeAtomically(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        // 与之前 FileWriter 的默认编码保持一致
+        try (Writer writer = Files.newBufferedWriter(temp, Charset.defaultCharset())) {
+            writer.write(content);
+        }
+
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -6,14 +6,15 @@ import net.minecraft.client.Minecraft;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Loading Screen Layout Data
@@ -24,6 +25,9 @@ public class LoadingScreenLayoutData {
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 
+    // 二进制缓存的字段编码版本，修改字段或编码顺序时递增
+    private static final int BINARY_SCHEMA = 1;
+
     public String version = "1.0";
     public String created_time = "";
     public String last_modified = "";
@@ -173,18 +177,23 @@ public class LoadingScreenLayoutData {
     public void save(File file) {
         try {
             this.last_modified = LocalDateTime.now().format(TIME_FORMATTER);
-
-            file.getParentFile().mkdirs();
-
-            try (FileWriter writer = new FileWriter(file)) {
-                GSON.toJson(this, writer);
-                LOGGER.info("[EPIC ENGINE]: Loading screen layout saved to: {}", file.getAbsolutePath());
-            }
+            LayoutSaver.writeAtomically(file.toPath(), GSON.toJson(this));
+            LOGGER.info("[EPIC ENGINE]: Loading screen layout saved to: {}", file.getAbsolutePath());
         } catch (IOException e) {
             LOGGER.error("[EPIC ENGINE]: Failed to save loading layout to: {}", file.getAbsolutePath(), e);
         }
     }
 
+    /**
+     * Save without blocking the caller: the layout is snapshotted now and serialized and written on the saver thread.
+     * @return Completes with true once the file is written
+     */
+    public CompletableFuture<Boolean> saveAsync(File file) {
+        this.last_modified = LocalDateTime.now().format(TIME_FORMATTER);
+        byte[] snapshot = LayoutBinaryCache.encode(BINARY_CODEC, this);
+        return LayoutSaver.save(file, () -> GSON.toJson(LayoutBinaryCache.decode(BINARY_CODEC, snapshot)));
+    }
+
     /**
      * Load layout data from file
      */
@@ -196,8 +205,9 @@ public class LoadingScreenLayoutData {
             return defaultLayout;
         }
 
-        try (FileReader reader = new FileReader(file)) {
-            LoadingScreenLayoutData data = GSON.fromJson(reader, LoadingScreenLayoutData.class);
+        try {
+            LoadingScreenLayoutData data = LayoutBinaryCache.load(file, BINARY_SCHEMA, BINARY_CODEC,
+                    json -> GSON.fromJson(json, LoadingScreenLayoutData.class));
             if (data == null) {
                 LOGGER.warn("[EPIC ENGINE]: Failed to parse loading layout file, using default");
                 return createDefault();
@@ -211,6 +221,20 @@ public class LoadingScreenLayoutData {
         }
     }
 
+    /**
+     * Parse a layout file without falling back to defaults (live reload of a file that may be mid-write).
+     * @return The parsed layout, or null if the file is missing or invalid
+     */
+    public static LoadingScreenLayoutData parse(File file) {
+        try {
+            return LayoutBinaryCache.load(file, BINARY_SCHEMA, BINARY_CODEC,
+                    json -> GSON.fromJson(json, LoadingScreenLayoutData.class));
+        } catch (Exception e) {
+            LOGGER.debug("[EPIC ENGINE]: Could not parse loading layout file: {}", file.getAbsolutePath(), e);
+            return null;
+        }
+    }
+
     /**
      * Create default loading screen layout
      */
@@ -333,4 +357,165 @@ public class LoadingScreenLayoutData {
 
         return true;
     }
+
+    // ========== Binary Cache Codec ==========
+
+    private static final LayoutBinaryCache.Codec<LoadingScreenLayoutData> BINARY_CODEC = new LayoutBinaryCache.Codec<>() {
+        @Override
+        public void write(LoadingScreenLayoutData data, DataOutputStream out) throws IOException {
+            LayoutBinaryCache.writeString(out, data.version);
+            LayoutBinaryCache.writeString(out, data.created_time);
+            LayoutBinaryCache.writeString(out, data.last_modified);
+            if (LayoutBinaryCache.writePresence(out, data.screen_resolution)) {
+                out.writeInt(data.screen_resolution.width);
+                out.writeInt(data.screen_resolution.height);
+            }
+            if (LayoutBinaryCache.writePresence(out, data.background)) {
+                LayoutBinaryCache.writeString(out, data.background.texture_name);
+                out.writeBoolean(data.background.enabled);
+            }
+            if (LayoutBinaryCache.writePresence(out, data.progress_bar)) {
+                LayoutBinaryCache.writeString(out, data.progress_bar.texture_name);
+                writePosition(out, data.progress_bar.position);
+                out.writeBoolean(data.progress_bar.enabled);
+                out.writeBoolean(data.progress_bar.show_background);
+                LayoutBinaryCache.writeString(out, data.progress_bar.background_color);
+                out.writeInt(data.progress_bar.background_alpha);
+            }
+            if (LayoutBinaryCache.writePresence(out, data.tip_text)) {
+                writePosition(out, data.tip_text.position);
+                TipTextComponent.TipProperties tip = data.tip_text.properties;
+                if (LayoutBinaryCache.writePresence(out, tip)) {
+                    LayoutBinaryCache.writeString(out, tip.color);
+                    out.writeFloat(tip.font_scale);
+                    out.writeBoolean(tip.shadow);
+                    LayoutBinaryCache.writeString(out, tip.alignment);
+                    out.writeInt(tip.switch_interval_seconds);
+                    LayoutBinaryCache.writeStrings(out, tip.tip_keys);
+                }
+                out.writeBoolean(data.tip_text.enabled);
+            }
+            if (LayoutBinaryCache.writePresence(out, data.percentage_text)) {
+                writePosition(out, data.percentage_text.position);
+                PercentageTextComponent.PercentageProperties percentage = data.percentage_text.properties;
+                if (LayoutBinaryCache.writePresence(out, percentage)) {
+                    LayoutBinaryCache.writeString(out, percentage.color);
+                    out.writeFloat(percentage.font_scale);
+                    out.writeBoolean(percentage.shadow);
+                    LayoutBinaryCache.writeString(out, percentage.alignment);
+                    LayoutBinaryCache.writeString(out, percentage.format);
+                }
+                out.writeBoolean(data.percentage_text.enabled);
+            }
+
+            out.writeInt(data.custom_texts != null ? data.custom_texts.size() : -1);
+            if (data.custom_texts != null) {
+                for (CustomTextComponent text : data.custom_texts) {
+                    LayoutBinaryCache.writeString(out, text.id);
+                    if (LayoutBinaryCache.writePresence(out, text.properties)) {
+                        LayoutBinaryCache.writeString(out, text.properties.text);
+                        out.writeFloat(text.properties.font_scale);
+                        LayoutBinaryCache.writeString(out, text.properties.color);
+                        out.writeBoolean(text.properties.shadow);
+                        LayoutBinaryCache.writeString(out, text.properties.alignment);
+                    }
+                    writePosition(out, text.position);
+                }
+            }
+        }
+
+        @Override
+        public LoadingScreenLayoutData read(ByteBuffer in) {
+            LoadingScreenLayoutData data = new LoadingScreenLayoutData();
+            data.version = LayoutBinaryCache.readString(in);
+            data.created_time = LayoutBinaryCache.readString(in);
+            data.last_modified = LayoutBinaryCache.readString(in);
+            data.screen_resolution = LayoutBinaryCache.readPresence(in)
+                    ? new ScreenResolution(in.getInt(), in.getInt()) : null;
+            if (LayoutBinaryCache.readPresence(in)) {
+                data.background.texture_name = LayoutBinaryCache.readString(in);
+                data.background.enabled = LayoutBinaryCache.readBoolean(in);
+            } else {
+                data.background = null;
+            }
+            if (LayoutBinaryCache.readPresence(in)) {
+                data.progress_bar.texture_name = LayoutBinaryCache.readString(in);
+                data.progress_bar.position = readPosition(in);
+                data.progress_bar.enabled = LayoutBinaryCache.readBoolean(in);
+                data.progress_bar.show_background = LayoutBinaryCache.readBoolean(in);
+                data.progress_bar.background_color = LayoutBinaryCache.readString(in);
+                data.progress_bar.background_alpha = in.getInt();
+            } else {
+                data.progress_bar = null;
+            }
+            if (LayoutBinaryCache.readPresence(in)) {
+                data.tip_text.position = readPosition(in);
+                if (LayoutBinaryCache.readPresence(in)) {
+                    TipTextComponent.TipProperties tip = data.tip_text.properties;
+                    tip.color = LayoutBinaryCache.readString(in);
+                    tip.font_scale = in.getFloat();
+                    tip.shadow = LayoutBinaryCache.readBoolean(in);
+                    tip.alignment = LayoutBinaryCache.readString(in);
+                    tip.switch_interval_seconds = in.getInt();
+                    tip.tip_keys = LayoutBinaryCache.readStrings(in);
+                } else {
+                    data.tip_text.properties = null;
+                }
+                data.tip_text.enabled = LayoutBinaryCache.readBoolean(in);
+            } else {
+                data.tip_text = null;
+            }
+            if (LayoutBinaryCache.readPresence(in)) {
+                data.percentage_text.position = readPosition(in);
+                if (LayoutBinaryCache.readPresence(in)) {
+                    PercentageTextComponent.PercentageProperties percentage = data.percentage_text.properties;
+                    percentage.color = LayoutBinaryCache.readString(in);
+                    percentage.font_scale = in.getFloat();
+                    percentage.shadow = LayoutBinaryCache.readBoolean(in);
+                    percentage.alignment = LayoutBinaryCache.readString(in);
+                    percentage.format = LayoutBinaryCache.readString(in);
+                } else {
+                    data.percentage_text.properties = null;
+                }
+                data.percentage_text.enabled = LayoutBinaryCache.readBoolean(in);
+            } else {
+                data.percentage_text = null;
+            }
+
+            int textCount = in.getInt();
+            if (textCount < 0) {
+                data.custom_texts = null;
+            }
+            for (int i = 0; i < textCount; i++) {
+                CustomTextComponent text = new CustomTextComponent();
+                text.id = LayoutBinaryCache.readString(in);
+                if (LayoutBinaryCache.readPresence(in)) {
+                    text.properties.text = LayoutBinaryCache.readString(in);
+                    text.properties.font_scale = in.getFloat();
+                    text.properties.color = LayoutBinaryCache.readString(in);
+                    text.properties.shadow = LayoutBinaryCache.readBoolean(in);
+                    text.properties.alignment = LayoutBinaryCache.readString(in);
+                } else {
+                    text.properties = null;
+                }
+                text.position = readPosition(in);
+                data.custom_texts.add(text);
+            }
+            return data;
+        }
+
+        private void writePosition(DataOutputStream out, Position position) throws IOException {
+            if (LayoutBinaryCache.writePresence(out, position)) {
+                out.writeInt(position.x);
+                out.writeInt(position.y);
+                out.writeInt(position.width);
+                out.writeInt(position.height);
+            }
+        }
+
+        private Position readPosition(ByteBuffer in) {
+            return LayoutBinaryCache.readPresence(in)
+                    ? new Position(in.getInt(), in.getInt(), in.getInt(), in.getInt()) : null;
+        }
+    };
 }
\ No newline at end of file
@@ -0,0 +1,161 @@
+package com.epic_engine.custom;
+
+import com.epic_engine.EpicEngineMod;
+import com.mojang.blaze3d.pipeline.RenderTarget;
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.platform.Window;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.gui.screens.TitleScreen;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.client.event.ScreenEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.joml.Matrix4f;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Offscreen cache for the static layers of the customized title screen (background, title image, custom texts).
+ * The layers are drawn into a framebuffer once and composited as a single quad each frame; the cache is
+ * rebuilt when the window size, GUI scale, layout instance or game language changes, or on {@link #invalidate()}.
+ * The framebuffer is freed whenever the title screen is closed.
+ */
+@OnlyIn(Dist.CLIENT)
+@Mod.EventBusSubscriber(modid = EpicEngineMod.MODID, value = Dist.CLIENT)
+public class MainMenuLayerCache {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static TextureTarget target = null;
+    private static boolean valid = false;
+
+    private static int cachedWidth = -1;
+    private static int cachedHeight = -1;
+    private static double cachedGuiScale = -1;
+    private static Object cachedLayout = null;
+    private static String cachedLanguage = null;
+
+    /**
+     * Draw the cached static layers, re-recording them through {@code painter} if anything they depend on changed.
+     * @param layout The layout the layers were drawn from; a different instance forces a rebuild
+     * @param painter Draws the static layers in GUI coordinates
+     */
+    public static void render(GuiGraphics guiGraphics, Object layout, Consumer<GuiGraphics> painter) {
+        Minecraft mc = Minecraft.getInstance();
+        Window window = mc.getWindow();
+        int width = window.getWidth();
+        int height = window.getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+
+        String language = mc.getLanguageManager().getSelected();
+        if (!valid || target == null
+                || width != cachedWidth || height != cachedHeight
+                || window.getGuiScale() != cachedGuiScale
+                || layout != cachedLayout
+                || !Objects.equals(language, cachedLanguage)) {
+            rebuild(guiGraphics, width, height, painter);
+            cachedGuiScale = window.getGuiScale();
+            cachedLayout = layout;
+            cachedLanguage = language;
+        }
+
+        composite(guiGraphics);
+    }
+
+    /**
+     * Force the next {@link #render} to redraw the layers (layout edited, textures reloaded, ...).
+     */
+    public static void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Free the framebuffer; it is recreated on next use.
+     */
+    public static void release() {
+        RenderSystem.assertOnRenderThread();
+        if (target != null) {
+            target.destroyBuffers();
+            target = null;
+        }
+        valid = false;
+        cachedLayout = null;
+    }
+
+    @SubscribeEvent
+    public static void onScreenClosing(ScreenEvent.Closing event) {
+        // 离开主菜单后不再保留窗口大小的帧缓冲（进入游戏后一直占用显存）
+        if (event.getScreen() instanceof TitleScreen) {
+            release();
+        }
+    }
+
+    private static void rebuild(GuiGraphics guiGraphics, int width, int height, Consumer<GuiGraphics> painter) {
+        long start = System.nanoTime();
+
+        if (target == null) {
+            target = new TextureTarget(width, height, true, Minecraft.ON_OSX);
+            // 与主帧缓冲一致的不透明黑底，合成时可以直接覆盖
+            target.setClearColor(0.0F, 0.0F, 0.0F, 1.0F);
+        } else if (width != cachedWidth || height != cachedHeight) {
+            target.resize(width, height, Minecraft.ON_OSX);
+        }
+        cachedWidth = width;
+        cachedHeight = height;
+
+        RenderTarget mainTarget = Minecraft.getInstance().getMainRenderTarget();
+
+        // 先提交之前已排队的绘制，避免它们落进缓存
+        guiGraphics.flush();
+        target.clear(Minecraft.ON_OSX);
+        target.bindWrite(true);
+        try {
+            painter.accept(guiGraphics);
+            guiGraphics.flush();
+        } finally {
+            mainTarget.bindWrite(true);
+        }
+
+        valid = true;
+        LOGGER.debug("[EPIC ENGINE]: Main menu static layers cached ({}x{}) in {} µs",
+                width, height, (System.nanoTime() - start) / 1000L);
+    }
+
+    private static void composite(GuiGraphics guiGraphics) {
+        int screenWidth = guiGraphics.guiWidth();
+        int screenHeight = guiGraphics.guiHeight();
+        Matrix4f matrix = guiGraphics.pose().last().pose();
+
+        RenderSystem.setShader(GameRenderer::getPositionTexShader);
+        RenderSystem.setShaderTexture(0, target.getColorTextureId());
+        RenderSystem.setShaderColor(1.0F, 1.0F, 1.0F, 1.0F);
+        // 缓存内容是不透明的，直接覆盖
+        RenderSystem.disableBlend();
+
+        // 帧缓冲纹理原点在左下角，V 方向翻转
+        BufferBuilder buffer = Tesselator.getInstance().getBuilder();
+        buffer.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+        buffer.vertex(matrix, 0.0F, screenHeight, 0.0F).uv(0.0F, 0.0F).endVertex();
+        buffer.vertex(matrix, screenWidth, screenHeight, 0.0F).uv(1.0F, 0.0F).endVertex();
+        buffer.vertex(matrix, screenWidth, 0.0F, 0.0F).uv(1.0F, 1.0F).endVertex();
+        buffer.vertex(matrix, 0.0F, 0.0F, 0.0F).uv(0.0F, 1.0F).endVertex();
+        BufferUploader.drawWithShader(buffer.end());
+
+        RenderSystem.enableBlend();
+        RenderSystem.defaultBlendFunc();
+    }
+}
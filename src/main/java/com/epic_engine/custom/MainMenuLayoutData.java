@@ -6,20 +6,24 @@ import net.minecraft.client.Minecraft;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class MainMenuLayoutData {
     private static final Logger LOGGER = LogManager.getLogger();
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 
+    // 二进制缓存的字段编码版本，修改字段或编码顺序时递增
+    private static final int BINARY_SCHEMA = 1;
+
     public String version = "1.0";
     public String created_time = "";
     public String last_modified = "";
@@ -122,18 +126,23 @@ public class MainMenuLayoutData {
     public void save(File file) {
         try {
             this.last_modified = LocalDateTime.now().format(TIME_FORMATTER);
-
-            file.getParentFile().mkdirs();
-
-            try (FileWriter writer = new FileWriter(file)) {
-                GSON.toJson(this, writer);
-                LOGGER.info("[EPIC ENGINE]: Main menu layout saved to: {}", file.getAbsolutePath());
-            }
+            LayoutSaver.writeAtomically(file.toPath(), GSON.toJson(this));
+            LOGGER.info("[EPIC ENGINE]: Main menu layout saved to: {}", file.getAbsolutePath());
         } catch (IOException e) {
             LOGGER.error("[EPIC ENGINE]: Failed to save layout to: {}", file.getAbsolutePath(), e);
         }
     }
 
+    /**
+     * Save without blocking the caller: the layout is snapshotted now and serialized and written on the saver thread.
+     * @return Completes with true once the file is written
+     */
+    public CompletableFuture<Boolean> saveAsync(File file) {
+        this.last_modified = LocalDateTime.now().format(TIME_FORMATTER);
+        byte[] snapshot = LayoutBinaryCache.encode(BINARY_CODEC, this);
+        return LayoutSaver.save(file, () -> GSON.toJson(LayoutBinaryCache.decode(BINARY_CODEC, snapshot)));
+    }
+
     public static MainMenuLayoutData load(File file) {
         if (!file.exists()) {
             LOGGER.info("[EPIC ENGINE]: Layout file not found, creating default: {}", file.getAbsolutePath());
@@ -142,8 +151,9 @@ public class MainMenuLayoutData {
             return defaultLayout;
         }
 
-        try (FileReader reader = new FileReader(file)) {
-            MainMenuLayoutData data = GSON.fromJson(reader, MainMenuLayoutData.class);
+        try {
+            MainMenuLayoutData data = LayoutBinaryCache.load(file, BINARY_SCHEMA, BINARY_CODEC,
+                    json -> GSON.fromJson(json, MainMenuLayoutData.class));
             if (data == null) {
                 LOGGER.warn("[EPIC ENGINE]: Failed to parse layout file, using default");
                 return createDefault();
@@ -157,6 +167,20 @@ public class MainMenuLayoutData {
         }
     }
 
+    /**
+     * Parse a layout file without falling back to defaults (live reload of a file that may be mid-write).
+     * @return The parsed layout, or null if the file is missing or invalid
+     */
+    public static MainMenuLayoutData parse(File file) {
+        try {
+            return LayoutBinaryCache.load(file, BINARY_SCHEMA, BINARY_CODEC,
+                    json -> GSON.fromJson(json, MainMenuLayoutData.class));
+        } catch (Exception e) {
+            LOGGER.debug("[EPIC ENGINE]: Could not parse layout file: {}", file.getAbsolutePath(), e);
+            return null;
+        }
+    }
+
     public static MainMenuLayoutData createDefault() {
         MainMenuLayoutData data = new MainMenuLayoutData();
 
@@ -288,4 +312,138 @@ public class MainMenuLayoutData {
 
         return true;
     }
+
+    // ========== Binary Cache Codec ==========
+
+    private static final LayoutBinaryCache.Codec<MainMenuLayoutData> BINARY_CODEC = new LayoutBinaryCache.Codec<>() {
+        @Override
+        public void write(MainMenuLayoutData data, DataOutputStream out) throws IOException {
+            LayoutBinaryCache.writeString(out, data.version);
+            LayoutBinaryCache.writeString(out, data.created_time);
+            LayoutBinaryCache.writeString(out, data.last_modified);
+            if (LayoutBinaryCache.writePresence(out, data.screen_resolution)) {
+                out.writeInt(data.screen_resolution.width);
+                out.writeInt(data.screen_resolution.height);
+            }
+            if (LayoutBinaryCache.writePresence(out, data.background)) {
+                LayoutBinaryCache.writeString(out, data.background.texture_name);
+            }
+            if (LayoutBinaryCache.writePresence(out, data.title_image)) {
+                LayoutBinaryCache.writeString(out, data.title_image.texture_name);
+                out.writeFloat(data.title_image.scale);
+                writePosition(out, data.title_image.position);
+            }
+
+            out.writeInt(data.buttons != null ? data.buttons.size() : -1);
+            if (data.buttons != null) {
+                for (ButtonComponent button : data.buttons) {
+                    LayoutBinaryCache.writeString(out, button.id);
+                    out.writeInt(button.button_index);
+                    out.writeBoolean(button.enabled);
+                    if (LayoutBinaryCache.writePresence(out, button.properties)) {
+                        LayoutBinaryCache.writeString(out, button.properties.custom_text);
+                        LayoutBinaryCache.writeString(out, button.properties.texture_name);
+                        LayoutBinaryCache.writeString(out, button.properties.text_color);
+                        out.writeFloat(button.properties.texture_scale);
+                        out.writeBoolean(button.properties.show_text_over_texture);
+                    }
+                    writePosition(out, button.position);
+                }
+            }
+
+            out.writeInt(data.custom_texts != null ? data.custom_texts.size() : -1);
+            if (data.custom_texts != null) {
+                for (CustomTextComponent text : data.custom_texts) {
+                    LayoutBinaryCache.writeString(out, text.id);
+                    if (LayoutBinaryCache.writePresence(out, text.properties)) {
+                        LayoutBinaryCache.writeString(out, text.properties.text);
+                        out.writeFloat(text.properties.font_scale);
+                        LayoutBinaryCache.writeString(out, text.properties.color);
+                        out.writeBoolean(text.properties.shadow);
+                        LayoutBinaryCache.writeString(out, text.properties.alignment);
+                    }
+                    writePosition(out, text.position);
+                }
+            }
+        }
+
+        @Override
+        public MainMenuLayoutData read(ByteBuffer in) {
+            MainMenuLayoutData data = new MainMenuLayoutData();
+            data.version = LayoutBinaryCache.readString(in);
+            data.created_time = LayoutBinaryCache.readString(in);
+            data.last_modified = LayoutBinaryCache.readString(in);
+            data.screen_resolution = LayoutBinaryCache.readPresence(in)
+                    ? new ScreenResolution(in.getInt(), in.getInt()) : null;
+            if (LayoutBinaryCache.readPresence(in)) {
+                data.background.texture_name = LayoutBinaryCache.readString(in);
+            } else {
+                data.background = null;
+            }
+            if (LayoutBinaryCache.readPresence(in)) {
+                data.title_image.texture_name = LayoutBinaryCache.readString(in);
+                data.title_image.scale = in.getFloat();
+                data.title_image.position = readPosition(in);
+            } else {
+                data.title_image = null;
+            }
+
+            int buttonCount = in.getInt();
+            if (buttonCount < 0) {
+                data.buttons = null;
+            }
+            for (int i = 0; i < buttonCount; i++) {
+                ButtonComponent button = new ButtonComponent();
+                button.id = LayoutBinaryCache.readString(in);
+                button.button_index = in.getInt();
+                button.enabled = LayoutBinaryCache.readBoolean(in);
+                if (LayoutBinaryCache.readPresence(in)) {
+                    button.properties.custom_text = LayoutBinaryCache.readString(in);
+                    button.properties.texture_name = LayoutBinaryCache.readString(in);
+                    button.properties.text_color = LayoutBinaryCache.readString(in);
+                    button.properties.texture_scale = in.getFloat();
+                    button.properties.show_text_over_texture = LayoutBinaryCache.readBoolean(in);
+                } else {
+                    button.properties = null;
+                }
+                button.position = readPosition(in);
+                data.buttons.add(button);
+            }
+
+            int textCount = in.getInt();
+            if (textCount < 0) {
+                data.custom_texts = null;
+            }
+            for (int i = 0; i < textCount; i++) {
+                CustomTextComponent text = new CustomTextComponent();
+                text.id = LayoutBinaryCache.readString(in);
+                if (LayoutBinaryCache.readPresence(in)) {
+                    text.properties.text = LayoutBinaryCache.readString(in);
+                    text.properties.font_scale = in.getFloat();
+                    text.properties.color = LayoutBinaryCache.readString(in);
+                    text.properties.shadow = LayoutBinaryCache.readBoolean(in);
+                    text.properties.alignment = LayoutBinaryCache.readString(in);
+                } else {
+                    text.properties = null;
+                }
+                text.position = readPosition(in);
+                data.custom_texts.add(text);
+            }
+            return data;
+        }
+
+        private void writePosition(DataOutputStream out, Position position) throws IOException {
+            if (LayoutBinaryCache.writePresence(out, position)) {
+                out.writeInt(position.x);
+                out.writeInt(position.y);
+                out.writeInt(position.width);
+                out.writeInt(position.height);
+            }
+        }
+
+        private Position readPosition(ByteBuffer in) {
+            return LayoutBinaryCache.readPresence(in)
+                    ? new Position(in.getInt(), in.getInt(), in.getInt(), in.getInt()) : null;
+        }
+    };
 }
\ No newline at end of file
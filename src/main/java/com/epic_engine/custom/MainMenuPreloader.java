@@ -0,0 +1,140 @@
+package com.epic_engine.custom;
+
+import com.epic_engine.config.EpicEngineCustomConfig;
+import com.mojang.blaze3d.platform.NativeImage;
+import net.minecraft.Util;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decodes the title screen textures and parses the main menu layout on background threads during client setup.
+ * The first title screen init takes the results instead of reading from disk; only the GPU upload is left
+ * for the render thread. Anything not preloaded (or changed on disk since) falls back to a synchronous read.
+ */
+@OnlyIn(Dist.CLIENT)
+public class MainMenuPreloader {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final Map<String, PreloadedImage> images = new ConcurrentHashMap<>();
+    private static CompletableFuture<MainMenuLayoutData> layoutFuture = null;
+    private static boolean started = false;
+
+    private static class PreloadedImage {
+        final long lastModified;
+        final CompletableFuture<NativeImage> future;
+
+        PreloadedImage(long lastModified, CompletableFuture<NativeImage> future) {
+            this.lastModified = lastModified;
+            this.future = future;
+        }
+    }
+
+    /**
+     * Start preloading. Must run after the default resources were extracted.
+     */
+    public static synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        long start = System.nanoTime();
+
+        if (EpicEngineCustomConfig.isMainMenuBackgroundEnabled()) {
+            preloadImage(EpicEngineCustomConfig.getTextureFile(EpicEngineCustomConfig.MAIN_MENU_BACKGROUND_FILENAME.get()));
+        }
+        if (EpicEngineCustomConfig.isMainMenuTitleEnabled()) {
+            preloadImage(EpicEngineCustomConfig.getTextureFile(EpicEngineCustomConfig.MAIN_MENU_TITLE_FILENAME.get()));
+        }
+        if (EpicEngineCustomConfig.isMainMenuButtonsEnabled()) {
+            String prefix = EpicEngineCustomConfig.getMainMenuButtonPrefix();
+            for (int i = 1; i <= 10; i++) {
+                preloadImage(EpicEngineCustomConfig.getTextureFile(prefix + i + ".png"));
+            }
+        }
+
+        File layoutFile = EpicEngineCustomConfig.getLayoutFile();
+        layoutFuture = CompletableFuture.supplyAsync(() -> MainMenuLayoutData.load(layoutFile), Util.backgroundExecutor());
+
+        LOGGER.info("[EPIC ENGINE]: Main menu preload started for {} textures in {} µs",
+                images.size(), (System.nanoTime() - start) / 1000L);
+    }
+
+    /**
+     * Take a preloaded image. The caller owns the returned image.
+     * @return The decoded image, or null if it was not preloaded, failed, or the file changed since
+     */
+    public static NativeImage takeImage(File file) {
+        PreloadedImage preloaded = images.remove(file.getAbsolutePath());
+        if (preloaded == null) {
+            return null;
+        }
+
+        NativeImage image = preloaded.future.join();
+        if (image != null && file.lastModified() != preloaded.lastModified) {
+            image.close();
+            return null;
+        }
+        return image;
+    }
+
+    /**
+     * Take the preloaded layout, waiting for it if parsing is still in progress.
+     * @return The parsed layout, or null if it was not preloaded or already taken
+     */
+    public static synchronized MainMenuLayoutData takeLayout() {
+        CompletableFuture<MainMenuLayoutData> future = layoutFuture;
+        layoutFuture = null;
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.join();
+        } catch (Exception e) {
+            LOGGER.warn("[EPIC ENGINE]: Preloaded main menu layout failed, loading synchronously", e);
+            return null;
+        }
+    }
+
+    /**
+     * Release whatever was preloaded but not used.
+     */
+    public static synchronized void discardRemaining() {
+        images.values().forEach(preloaded -> preloaded.future.thenAccept(image -> {
+            if (image != null) {
+                image.close();
+            }
+        }));
+        images.clear();
+        layoutFuture = null;
+    }
+
+    private static void preloadImage(File file) {
+        if (!file.isFile()) {
+            return;
+        }
+
+        long lastModified = file.lastModified();
+        CompletableFuture<NativeImage> future = CompletableFuture.supplyAsync(() -> {
+            try (InputStream in = Files.newInputStream(file.toPath())) {
+                return NativeImage.read(in);
+            } catch (IOException e) {
+                LOGGER.warn("[EPIC ENGINE]: Failed to preload image: {}", file.getPath(), e);
+                return null;
+            }
+        }, Util.backgroundExecutor());
+
+        images.put(file.getAbsolutePath(), new PreloadedImage(lastModified, future));
+    }
+}
@@ -0,0 +1,160 @@
+package com.epic_engine.custom;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.saveddata.SavedData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Remembers which players already received their first-join commands.
+ * UUIDs are spread over 64 shards by their top bits; each shard is its own saved data file holding a sorted
+ * array of (most, least) significant long pairs. Lookups are a binary search, and a join only rewrites
+ * the one shard it touched.
+ */
+public class PlayerFirstJoinTracker {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final int SHARD_BITS = 6;
+
+    /**
+     * @return true if the player was already marked as joined
+     */
+    public static boolean hasJoined(ServerLevel overworld, UUID player) {
+        return getShard(overworld, player).contains(player);
+    }
+
+    /**
+     * Mark a player as joined.
+     * @return false if the player was already marked
+     */
+    public static boolean markJoined(ServerLevel overworld, UUID player) {
+        return getShard(overworld, player).add(player);
+    }
+
+    /**
+     * Forget a player, so their first-join commands run again on next login.
+     */
+    public static boolean reset(ServerLevel overworld, UUID player) {
+        return getShard(overworld, player).remove(player);
+    }
+
+    private static Shard getShard(ServerLevel overworld, UUID player) {
+        int index = (int) (player.getMostSignificantBits() >>> (Long.SIZE - SHARD_BITS));
+        return overworld.getDataStorage().computeIfAbsent(
+                Shard::load,
+                Shard::new,
+                String.format("epic_engine_first_join_%02x", index)
+        );
+    }
+
+    /** 单个分片：按 (高位, 低位) 有序存放的 UUID 数组 */
+    public static class Shard extends SavedData {
+        private long[] entries = new long[0];
+        private int size = 0;
+
+        public Shard() {}
+
+        public static Shard load(CompoundTag tag) {
+            Shard shard = new Shard();
+            long[] stored = tag.getLongArray("players");
+            int count = stored.length / 2;
+
+            if (isSorted(stored, count)) {
+                shard.entries = stored;
+                shard.size = count;
+            } else {
+                // 数据被外部修改过，逐个插入重建有序数组
+                LOGGER.warn("[EPIC ENGINE]: First-join data was not sorted, rebuilding");
+                for (int i = 0; i < count; i++) {
+                    shard.insert(stored[i * 2], stored[i * 2 + 1]);
+                }
+            }
+            return shard;
+        }
+
+        @Override
+        public CompoundTag save(CompoundTag tag) {
+            tag.putLongArray("players", Arrays.copyOf(entries, size * 2));
+            return tag;
+        }
+
+        boolean contains(UUID player) {
+            return indexOf(player.getMostSignificantBits(), player.getLeastSignificantBits()) >= 0;
+        }
+
+        boolean add(UUID player) {
+            if (insert(player.getMostSignificantBits(), player.getLeastSignificantBits())) {
+                setDirty();
+                return true;
+            }
+            return false;
+        }
+
+        boolean remove(UUID player) {
+            int index = indexOf(player.getMostSignificantBits(), player.getLeastSignificantBits());
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(entries, (index + 1) * 2, entries, index * 2, (size - index - 1) * 2);
+            size--;
+            setDirty();
+            return true;
+        }
+
+        private boolean insert(long most, long least) {
+            int index = indexOf(most, least);
+            if (index >= 0) {
+                return false;
+            }
+
+            int insertAt = -(index + 1);
+            if ((size + 1) * 2 > entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(16, entries.length * 2));
+            }
+            System.arraycopy(entries, insertAt * 2, entries, (insertAt + 1) * 2, (size - insertAt) * 2);
+            entries[insertAt * 2] = most;
+            entries[insertAt * 2 + 1] = least;
+            size++;
+            return true;
+        }
+
+        /**
+         * @return Pair index, or {@code -(insertion point) - 1} if absent
+         */
+        private int indexOf(long most, long least) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(entries[mid * 2], entries[mid * 2 + 1], most, least);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private static int compare(long mostA, long leastA, long mostB, long leastB) {
+            int cmp = Long.compare(mostA, mostB);
+            return cmp != 0 ? cmp : Long.compare(leastA, leastB);
+        }
+
+        private static boolean isSorted(long[] pairs, int count) {
+            for (int i = 1; i < count; i++) {
+                if (compare(pairs[(i - 1) * 2], pairs[(i - 1) * 2 + 1], pairs[i * 2], pairs[i * 2 + 1]) >= 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
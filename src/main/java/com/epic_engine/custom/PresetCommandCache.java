@@ -0,0 +1,140 @@
+package com.epic_engine.custom;
+
+import com.epic_engine.config.EpicEngineCustomConfig;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.server.MinecraftServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Brigadier parse cache for the preset command list.
+ * The list is parsed once per config change and per command dispatcher (datapack reloads replace the
+ * dispatcher); executions reuse the parsed form. Parse errors are logged when the cache is built.
+ */
+public class PresetCommandCache {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static String cachedList = null;
+    private static CommandDispatcher<CommandSourceStack> cachedDispatcher = null;
+    private static List<ParsedCommand> cachedCommands = Collections.emptyList();
+
+    /**
+     * One command with its parse result, or the reason it could not be parsed
+     */
+    public static class ParsedCommand {
+        public final String command;
+        @Nullable public final ParseResults<CommandSourceStack> parsed;
+        @Nullable public final String error;
+
+        private ParsedCommand(String command, @Nullable ParseResults<CommandSourceStack> parsed, @Nullable String error) {
+            this.command = command;
+            this.parsed = parsed;
+            this.error = error;
+        }
+
+        public boolean isValid() {
+            return parsed != null;
+        }
+    }
+
+    /**
+     * Get the parsed preset command list, rebuilding it if the config or the dispatcher changed.
+     * Must be called on the server thread.
+     */
+    public static synchronized List<ParsedCommand> get(MinecraftServer server) {
+        String raw = EpicEngineCustomConfig.getEffectivePresetCommandsList();
+        String list = raw != null ? raw : "";
+        CommandDispatcher<CommandSourceStack> dispatcher = server.getCommands().getDispatcher();
+
+        if (!list.equals(cachedList) || dispatcher != cachedDispatcher) {
+            cachedCommands = build(server, list);
+            cachedList = list;
+            cachedDispatcher = dispatcher;
+        }
+        return cachedCommands;
+    }
+
+    /**
+     * Drop the cache; the next {@link #get} re-parses.
+     */
+    public static synchronized void invalidate() {
+        cachedList = null;
+        cachedDispatcher = null;
+        cachedCommands = Collections.emptyList();
+    }
+
+    /**
+     * Parse a single command against the server dispatcher.
+     * @param source The source the command will run as; it is captured in the parse result
+     */
+    public static ParsedCommand parse(MinecraftServer server, CommandSourceStack source, String command) {
+        String trimmed = command.trim();
+        String input = trimmed.startsWith("/") ? trimmed.substring(1) : trimmed;
+
+        ParseResults<CommandSourceStack> results = server.getCommands().getDispatcher().parse(new StringReader(input), source);
+        CommandSyntaxException exception = Commands.getParseException(results);
+        if (exception != null) {
+            return new ParsedCommand(trimmed, null, exception.getMessage());
+        }
+        return new ParsedCommand(trimmed, results, null);
+    }
+
+    /**
+     * Run a parsed command.
+     * @return Command result, or 0 if the command could not be parsed
+     */
+    public static int execute(MinecraftServer server, ParsedCommand command) {
+        if (command.parsed == null) {
+            return 0;
+        }
+        return server.getCommands().performCommand(command.parsed, command.command);
+    }
+
+    /**
+     * Source used for preset commands: overworld, permission level 4, no chat output.
+     */
+    public static CommandSourceStack createSource(MinecraftServer server) {
+        return server.createCommandSourceStack()
+                .withLevel(server.overworld())
+                .withPermission(4)
+                .withSuppressedOutput();
+    }
+
+    private static List<ParsedCommand> build(MinecraftServer server, String list) {
+        if (list.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        long start = System.nanoTime();
+        CommandSourceStack source = createSource(server);
+        List<ParsedCommand> commands = new ArrayList<>();
+        int errors = 0;
+
+        for (String part : list.split(";")) {
+            if (part.trim().isEmpty()) continue;
+
+            ParsedCommand parsed = parse(server, source, part);
+            if (!parsed.isValid()) {
+                errors++;
+                LOGGER.warn("[EPIC ENGINE]: Preset command #{} will be skipped, parse error: {} ({})",
+                        commands.size() + 1, parsed.error, parsed.command);
+            }
+            commands.add(parsed);
+        }
+
+        LOGGER.info("[EPIC ENGINE]: Parsed {} preset commands ({} invalid) in {} µs (config source: {})",
+                commands.size(), errors, (System.nanoTime() - start) / 1000L, EpicEngineCustomConfig.getConfigSource());
+        return Collections.unmodifiableList(commands);
+    }
+}
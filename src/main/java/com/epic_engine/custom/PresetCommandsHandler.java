@@ -1,38 +1,75 @@
 package com.epic_engine.custom;
 
 import com.epic_engine.config.EpicEngineCustomConfig;
-import net.minecraft.commands.Commands;
+import net.minecraft.Util;
+import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtUtils;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.level.storage.LevelResource;
 import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
 import net.minecraftforge.event.server.ServerStartingEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @Mod.EventBusSubscriber
 public class PresetCommandsHandler {
 
     private static final Logger LOGGER = LogManager.getLogger();
     private static MinecraftServer serverInstance;
-    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private static boolean scriptsScheduled = false;
+    // 本次运行已排队的脚本文件名，重新扫描时只排队新增的脚本
+    private static final Set<String> queuedScripts = new HashSet<>();
+    private static final Set<UUID> pendingFirstJoin = new HashSet<>();
+
+    private static final String PRESET_DATA_NAME = "epic_engine_global_preset_commands";
 
     @SubscribeEvent
     public static void onServerStarting(ServerStartingEvent event) {
         serverInstance = event.getServer();
+        scriptsScheduled = false;
+        queuedScripts.clear();
+        pendingFirstJoin.clear();
         LOGGER.info("[EPIC ENGINE]: PresetCommandsHandler initialized");
     }
 
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        // 启动时解析一次，尽早报告无效命令
+        if (!EpicEngineCustomConfig.getEffectivePresetCommandsEnabled()
+                || !EpicEngineCustomConfig.OTHERS_MODULE_ENABLED.get()) {
+            return;
+        }
+        PresetCommandCache.get(event.getServer());
+
+        // 上次运行中断的脚本（崩溃或停服）在启动后立即续跑
+        ServerLevel overworld = event.getServer().overworld();
+        if (getGlobalPresetData(overworld).hasUnfinishedScript()) {
+            LOGGER.info("[EPIC ENGINE]: Found interrupted preset scripts, resuming");
+            scheduleScripts(overworld);
+        }
+    }
+
     @SubscribeEvent
     public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
         Player player = event.getEntity();
@@ -50,11 +87,14 @@ public class PresetCommandsHandler {
 
         // 使用主世界存储全局状态（不受玩家当前维度影响）
         ServerLevel overworld = serverInstance.overworld();
+        schedulePlayerFirstJoinCommands((ServerPlayer) player, overworld);
+
         PresetData data = getGlobalPresetData(overworld);
 
-        // 如果已经执行过，直接返回
+        // 如果已经执行过，只补跑新增或未完成的脚本
         if (data.hasExecuted()) {
             LOGGER.debug("[EPIC ENGINE]: Preset commands already executed for this server");
+            scheduleScripts(overworld);
             return;
         }
 
@@ -66,113 +106,250 @@ public class PresetCommandsHandler {
     /**
      * 获取全局预设数据（存储在主世界，但代表整个服务器的状态）
      */
-    private static PresetData getGlobalPresetData(ServerLevel overworld) {
+    static PresetData getGlobalPresetData(ServerLevel overworld) {
+        File progressFile = getPresetProgressFile(overworld.getServer());
         return overworld.getDataStorage().computeIfAbsent(
-                PresetData::load,
-                PresetData::new,
-                "epic_engine_global_preset_commands"  // 明确标明这是全局状态
+                tag -> PresetData.load(tag, progressFile),
+                () -> PresetData.load(new CompoundTag(), progressFile),
+                PRESET_DATA_NAME  // 明确标明这是全局状态
         );
     }
 
+    /** 脚本进度检查点文件，与自动保存写的全局预设数据文件分开，两者不会同时写同一个文件 */
+    static File getPresetProgressFile(MinecraftServer server) {
+        return server.getWorldPath(LevelResource.ROOT).resolve("data").resolve(PRESET_DATA_NAME + "_progress.dat").toFile();
+    }
+
     private static void scheduleCommandExecution(ServerLevel overworld) {
         // 使用智能配置获取方法
         int delayTicks = EpicEngineCustomConfig.getEffectivePresetCommandsDelay();
-        long delayMillis = delayTicks * 50L;
+        ServerCommandQueue.schedule(serverInstance, new GlobalPresetTask(overworld), delayTicks);
+        scheduleScripts(overworld);
+    }
 
-        scheduler.schedule(() -> {
-            try {
-                executeGlobalPresetCommands(overworld);
-            } catch (Exception e) {
-                LOGGER.error("[EPIC ENGINE]: Error executing global preset commands", e);
+    /** 玩家首次加入时排队个人命令（每个玩家只执行一次） */
+    private static void schedulePlayerFirstJoinCommands(ServerPlayer player, ServerLevel overworld) {
+        String raw = EpicEngineCustomConfig.getFirstJoinCommandsList();
+        if (raw == null || raw.isBlank()) {
+            return;
+        }
+
+        UUID uuid = player.getUUID();
+        if (pendingFirstJoin.contains(uuid) || PlayerFirstJoinTracker.hasJoined(overworld, uuid)) {
+            return;
+        }
+
+        pendingFirstJoin.add(uuid);
+        LOGGER.info("[EPIC ENGINE]: Player {} joined for the first time, queuing first-join commands",
+                player.getName().getString());
+        ServerCommandQueue.schedule(serverInstance, new PlayerFirstJoinTask(overworld, uuid, raw.split(";")),
+                EpicEngineCustomConfig.getEffectivePresetCommandsDelay());
+    }
+
+    /** 玩家首次加入命令任务：以该玩家身份执行，全部执行后才记录，玩家提前离线则下次登录重试 */
+    private static class PlayerFirstJoinTask extends ServerCommandQueue.Task {
+        private final ServerLevel overworld;
+        private final UUID uuid;
+        private final String[] commands;
+        private int cursor = 0;
+        // 执行途中玩家离线，剩余命令未生效，不能记录为已加入
+        private boolean playerMissing = false;
+
+        PlayerFirstJoinTask(ServerLevel overworld, UUID uuid, String[] commands) {
+            super("first_join:" + uuid);
+            this.overworld = overworld;
+            this.uuid = uuid;
+            this.commands = commands;
+        }
+
+        @Override
+        protected boolean onStart(MinecraftServer server) {
+            if (server.getPlayerList().getPlayer(uuid) == null) {
+                pendingFirstJoin.remove(uuid);
+                LOGGER.debug("[EPIC ENGINE]: Player {} left before first-join commands ran", uuid);
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        protected boolean hasNext() {
+            if (playerMissing) {
+                return false;
             }
-        }, delayMillis, TimeUnit.MILLISECONDS);
+            while (cursor < commands.length && commands[cursor].trim().isEmpty()) {
+                cursor++;
+            }
+            return cursor < commands.length;
+        }
+
+        @Override
+        protected String nextCommand() {
+            return commands[cursor++].trim();
+        }
+
+        @Override
+        protected int execute(MinecraftServer server, String command) {
+            ServerPlayer player = server.getPlayerList().getPlayer(uuid);
+            if (player == null) {
+                playerMissing = true;
+                return 0;
+            }
+            CommandSourceStack source = player.createCommandSourceStack()
+                    .withPermission(4)
+                    .withSuppressedOutput();
+            PresetCommandCache.ParsedCommand parsed = PresetCommandCache.parse(server, source, command);
+            if (!parsed.isValid()) {
+                LOGGER.warn("[EPIC ENGINE]: Skipping first-join command, parse error: {} ({})", parsed.error, command);
+                return 0;
+            }
+            return PresetCommandCache.execute(server, parsed);
+        }
+
+        @Override
+        protected void onComplete() {
+            pendingFirstJoin.remove(uuid);
+            if (playerMissing) {
+                LOGGER.info("[EPIC ENGINE]: Player {} left during first-join commands, will retry on next login", uuid);
+                return;
+            }
+            PlayerFirstJoinTracker.markJoined(overworld, uuid);
+        }
+
+        @Override
+        protected void onCancelled() {
+            pendingFirstJoin.remove(uuid);
+        }
     }
 
-    private static void executeGlobalPresetCommands(ServerLevel overworld) {
-        if (serverInstance == null) {
+    /**
+     * 按文件名顺序排队尚未完成的脚本文件，排在命令列表之后执行。
+     * 可重复调用：每次重新扫描目录，只排队本次运行中尚未排队过的脚本
+     */
+    private static void scheduleScripts(ServerLevel overworld) {
+        scriptsScheduled = true;
+
+        Path dir = EpicEngineCustomConfig.getScriptsDir();
+        if (!Files.isDirectory(dir)) {
             return;
         }
 
-        // 再次使用智能配置检查 - 支持运行时配置变更
-        if (!EpicEngineCustomConfig.getEffectivePresetCommandsEnabled()
-                || !EpicEngineCustomConfig.OTHERS_MODULE_ENABLED.get()) {
-            LOGGER.warn("[EPIC ENGINE]: Preset commands disabled during execution, aborting (config source: {})",
-                    EpicEngineCustomConfig.getConfigSource());
+        List<Path> scripts;
+        try (Stream<Path> files = Files.list(dir)) {
+            scripts = files.filter(path -> path.getFileName().toString().endsWith(".mcfunction"))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            LOGGER.error("[EPIC ENGINE]: Failed to list preset scripts in {}", dir, e);
             return;
         }
 
         PresetData data = getGlobalPresetData(overworld);
-        if (data.hasExecuted()) {
-            LOGGER.debug("[EPIC ENGINE]: Global preset commands already executed");
-            return;
+        int delayTicks = EpicEngineCustomConfig.getEffectivePresetCommandsDelay();
+        int queued = 0;
+        for (Path script : scripts) {
+            String name = script.getFileName().toString();
+            if (!data.isScriptDone(name) && queuedScripts.add(name)) {
+                ServerCommandQueue.schedule(serverInstance, new PresetScriptTask(overworld, script), delayTicks);
+                queued++;
+            }
         }
 
-        // 使用智能配置获取命令列表
-        String raw = EpicEngineCustomConfig.getEffectivePresetCommandsList();
-        String[] commands = raw == null || raw.isBlank()
-                ? new String[0]
-                : raw.split(";");
+        if (queued > 0) {
+            LOGGER.info("[EPIC ENGINE]: Queued {} preset script(s) from {}", queued, dir);
+        }
+    }
 
-        if (commands.length == 0) {
-            data.markAsExecuted();
-            LOGGER.info("[EPIC ENGINE]: No preset commands configured, marking as executed (config source: {})",
-                    EpicEngineCustomConfig.getConfigSource());
-            return;
+    /** 全局预设命令任务：在服务端线程上按 tick 预算逐条执行，使用预解析的命令缓存 */
+    private static class GlobalPresetTask extends ServerCommandQueue.Task {
+        private final ServerLevel overworld;
+        private List<PresetCommandCache.ParsedCommand> commands = List.of();
+        private PresetCommandCache.ParsedCommand currentCommand;
+        private int cursor = 0;
+        private PresetData data;
+
+        GlobalPresetTask(ServerLevel overworld) {
+            super("global_preset_commands");
+            this.overworld = overworld;
         }
 
-        LOGGER.info("[EPIC ENGINE]: Executing {} global preset commands for server initialization (config source: {})",
-                commands.length, EpicEngineCustomConfig.getConfigSource());
+        @Override
+        protected boolean onStart(MinecraftServer server) {
+            // 再次使用智能配置检查 - 支持运行时配置变更
+            if (!EpicEngineCustomConfig.getEffectivePresetCommandsEnabled()
+                    || !EpicEngineCustomConfig.OTHERS_MODULE_ENABLED.get()) {
+                LOGGER.warn("[EPIC ENGINE]: Preset commands disabled during execution, aborting (config source: {})",
+                        EpicEngineCustomConfig.getConfigSource());
+                return false;
+            }
+
+            data = getGlobalPresetData(overworld);
+            if (data.hasExecuted()) {
+                LOGGER.debug("[EPIC ENGINE]: Global preset commands already executed");
+                return false;
+            }
 
-        Commands commandManager = serverInstance.getCommands();
-        var source = serverInstance.createCommandSourceStack()
-                .withLevel(overworld)  // 在主世界上下文中执行命令
-                .withPermission(4)
-                .withSuppressedOutput();
+            // 使用预解析缓存，配置或命令调度器变化时才重新解析
+            commands = PresetCommandCache.get(server);
 
-        AtomicInteger successCount = new AtomicInteger(0);
+            if (commands.isEmpty()) {
+                data.markAsExecuted();
+                LOGGER.info("[EPIC ENGINE]: No preset commands configured, marking as executed (config source: {})",
+                        EpicEngineCustomConfig.getConfigSource());
+                return false;
+            }
 
-        // 异步执行每个命令，避免阻塞调度器线程
-        for (int i = 0; i < commands.length; i++) {
-            String cmd = commands[i].trim();
-            if (cmd.isEmpty()) continue;
+            LOGGER.info("[EPIC ENGINE]: Executing {} global preset commands for server initialization (config source: {})",
+                    commands.size(), EpicEngineCustomConfig.getConfigSource());
+            return true;
+        }
 
-            final int commandIndex = i;
-            final boolean isLastCommand = (i == commands.length - 1);
-            final String finalCmd = cmd;
+        @Override
+        protected boolean hasNext() {
+            return cursor < commands.size();
+        }
 
-            // 每个命令延迟执行，避免阻塞
-            scheduler.schedule(() -> {
-                try {
-                    LOGGER.info("[EPIC ENGINE]: Running {} command {}/{}: {}",
-                            EpicEngineCustomConfig.getConfigSource(),
-                            commandIndex + 1, commands.length, finalCmd);
-                    int result = commandManager.performPrefixedCommand(source, finalCmd);
-                    if (result > 0) {
-                        successCount.incrementAndGet();
-                    }
-
-                    // 如果是最后一个命令，标记完成
-                    if (isLastCommand) {
-                        data.markAsExecuted();
-                        LOGGER.info("[EPIC ENGINE]: Global preset commands completed: {}/{} succeeded (config source: {})",
-                                successCount.get(), commands.length, EpicEngineCustomConfig.getConfigSource());
-                        LOGGER.info("[EPIC ENGINE]: Server initialization commands will not run again for this world");
-                    }
-                } catch (Exception e) {
-                    LOGGER.error("[EPIC ENGINE]: Failed to run {} preset command: {}",
-                            EpicEngineCustomConfig.getConfigSource(), finalCmd, e);
-
-                    // 即使失败，最后一个命令也要标记完成
-                    if (isLastCommand) {
-                        data.markAsExecuted();
-                        LOGGER.info("[EPIC ENGINE]: Global preset commands completed with errors: {}/{} succeeded (config source: {})",
-                                successCount.get(), commands.length, EpicEngineCustomConfig.getConfigSource());
-                    }
-                }
-            }, 50L * commandIndex, TimeUnit.MILLISECONDS);
+        @Override
+        protected String nextCommand() {
+            currentCommand = commands.get(cursor++);
+            return currentCommand.command;
+        }
+
+        @Override
+        protected int execute(MinecraftServer server, String command) {
+            // 解析错误已在加载配置时报告，这里直接跳过
+            return PresetCommandCache.execute(server, currentCommand);
+        }
+
+        @Override
+        protected void onComplete() {
+            // 即使部分命令失败，也标记完成
+            data.markAsExecuted();
+            LOGGER.info("[EPIC ENGINE]: Global preset commands completed: {}/{} succeeded (config source: {})",
+                    getSucceededCount(), getExecutedCount(), EpicEngineCustomConfig.getConfigSource());
+            LOGGER.info("[EPIC ENGINE]: Server initialization commands will not run again for this world");
         }
     }
 
+    /** 重新解析预设命令并报告解析错误（配置加载或重载时调用） */
+    public static void reparseCommands() {
+        MinecraftServer server = serverInstance;
+        if (server == null || !server.isRunning()) {
+            PresetCommandCache.invalidate();
+            return;
+        }
+        server.execute(() -> {
+            PresetCommandCache.invalidate();
+            PresetCommandCache.get(server);
+
+            // 脚本已开始运行时，重新扫描目录，运行期间新增的脚本无需重启即可执行
+            if (scriptsScheduled) {
+                scheduleScripts(server.overworld());
+            }
+        });
+    }
+
     /** 重置全局执行状态（测试用） */
     public static void resetGlobalExecution() {
         if (serverInstance != null) {
@@ -209,6 +386,7 @@ public class PresetCommandsHandler {
 
         // 临时重置状态以允许重新执行
         data.reset();
+        scriptsScheduled = false;
 
         LOGGER.info("[EPIC ENGINE]: Admin {} is forcing preset commands execution", admin.getName().getString());
         scheduleCommandExecution(overworld);
@@ -241,6 +419,9 @@ public class PresetCommandsHandler {
 
     /** 获取配置的命令数量 */
     private static int getCommandCount() {
+        if (serverInstance != null) {
+            return PresetCommandCache.get(serverInstance).size();
+        }
         String raw = EpicEngineCustomConfig.getEffectivePresetCommandsList();
         if (raw == null || raw.isBlank()) {
             return 0;
@@ -248,20 +429,10 @@ public class PresetCommandsHandler {
         return raw.split(";").length;
     }
 
-    /** 关闭调度器（服务端停服时调用） */
+    /** 丢弃尚未执行的命令任务（停服时由 ServerCommandQueue 自动调用） */
     public static void shutdown() {
-        LOGGER.info("[EPIC ENGINE]: Shutting down PresetCommandsHandler scheduler");
-        scheduler.shutdown();
-        try {
-            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
-                LOGGER.warn("[EPIC ENGINE]: Scheduler did not terminate gracefully, forcing shutdown");
-                scheduler.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            LOGGER.warn("[EPIC ENGINE]: Interrupted while waiting for scheduler shutdown");
-            scheduler.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
+        LOGGER.info("[EPIC ENGINE]: Shutting down PresetCommandsHandler queue");
+        ServerCommandQueue.clear();
     }
 
     /** 全局预设命令执行状态 */
@@ -270,18 +441,47 @@ public class PresetCommandsHandler {
         private long executionTime = 0L;
         private String serverVersion = "";
         private String configSource = "";
-
-        public PresetData() {}
+        // 脚本进度：文件名 -> {line: 最后完成的行号, done: 是否完成}
+        private final CompoundTag scripts;
+        // 每次修改递增，读档时用来判断检查点文件和常规存档哪个更新
+        private long revision = 0L;
+        // 单独写盘的请求串行执行，旧快照不会覆盖新快照
+        private CompletableFuture<Void> pendingWrite = CompletableFuture.completedFuture(null);
+
+        public PresetData() {
+            this.scripts = new CompoundTag();
+        }
 
         public PresetData(CompoundTag tag) {
             this.executed = tag.getBoolean("executed");
             this.executionTime = tag.getLong("execution_time");
             this.serverVersion = tag.getString("server_version");
             this.configSource = tag.getString("config_source");
+            this.scripts = tag.getCompound("scripts");
+            this.revision = tag.getLong("revision");
         }
 
-        public static PresetData load(CompoundTag tag) {
-            return new PresetData(tag);
+        /**
+         * Load the data, preferring the progress checkpoint when it is newer than the regular save.
+         */
+        public static PresetData load(CompoundTag tag, File progressFile) {
+            PresetData data = new PresetData(tag);
+            if (!progressFile.isFile()) {
+                return data;
+            }
+
+            try {
+                CompoundTag progress = NbtIo.readCompressed(progressFile).getCompound("data");
+                if (progress.getLong("revision") > data.revision) {
+                    // 崩溃前的检查点比上次自动保存新，以检查点为准并在下次保存时写回
+                    data = new PresetData(progress);
+                    data.setDirty();
+                    LOGGER.info("[EPIC ENGINE]: Restored preset script progress from checkpoint {}", progressFile.getName());
+                }
+            } catch (IOException e) {
+                LOGGER.warn("[EPIC ENGINE]: Failed to read preset progress checkpoint {}", progressFile, e);
+            }
+            return data;
         }
 
         @Override
@@ -290,9 +490,40 @@ public class PresetCommandsHandler {
             tag.putLong("execution_time", this.executionTime);
             tag.putString("server_version", this.serverVersion);
             tag.putString("config_source", this.configSource);
+            tag.put("scripts", this.scripts);
+            tag.putLong("revision", this.revision);
             return tag;
         }
 
+        /**
+         * Write a checkpoint of this data to its own progress file on the IO pool, without flushing the other saved
+         * data of the world. The regular save file is left to autosave; {@link #load} picks whichever is newer.
+         * @return Completes once this snapshot is on disk
+         */
+        public CompletableFuture<Void> writeAsync(File file) {
+            CompoundTag root = new CompoundTag();
+            // 在服务端线程上拍快照，写盘线程只接触副本
+            root.put("data", this.save(new CompoundTag()).copy());
+            NbtUtils.addCurrentDataVersion(root);
+
+            pendingWrite = pendingWrite.thenRunAsync(() -> {
+                try {
+                    // 先写临时文件再原子替换，崩溃时不会留下写了一半的检查点
+                    File temp = new File(file.getPath() + ".tmp");
+                    NbtIo.writeCompressed(root, temp);
+                    Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    LOGGER.error("[EPIC ENGINE]: Failed to save preset progress to {}", file, e);
+                }
+            }, Util.ioPool());
+            return pendingWrite;
+        }
+
+        private void changed() {
+            this.revision++;
+            this.setDirty();
+        }
+
         public boolean hasExecuted() {
             return this.executed;
         }
@@ -302,7 +533,7 @@ public class PresetCommandsHandler {
             this.executionTime = System.currentTimeMillis();
             this.serverVersion = serverInstance != null ? serverInstance.getServerVersion() : "unknown";
             this.configSource = EpicEngineCustomConfig.getConfigSource();
-            this.setDirty();
+            this.changed();
         }
 
         public void reset() {
@@ -310,7 +541,43 @@ public class PresetCommandsHandler {
             this.executionTime = 0L;
             this.serverVersion = "";
             this.configSource = "";
-            this.setDirty();
+            for (String name : Set.copyOf(this.scripts.getAllKeys())) {
+                this.scripts.remove(name);
+            }
+            this.changed();
+        }
+
+        public long getScriptLine(String name) {
+            return this.scripts.getCompound(name).getLong("line");
+        }
+
+        public void setScriptLine(String name, long line) {
+            CompoundTag entry = this.scripts.getCompound(name);
+            entry.putLong("line", line);
+            this.scripts.put(name, entry);
+            this.changed();
+        }
+
+        public boolean isScriptDone(String name) {
+            return this.scripts.getCompound(name).getBoolean("done");
+        }
+
+        public void markScriptDone(String name) {
+            CompoundTag entry = this.scripts.getCompound(name);
+            entry.putBoolean("done", true);
+            entry.putLong("completed_time", System.currentTimeMillis());
+            this.scripts.put(name, entry);
+            this.changed();
+        }
+
+        public boolean hasUnfinishedScript() {
+            for (String name : this.scripts.getAllKeys()) {
+                CompoundTag entry = this.scripts.getCompound(name);
+                if (!entry.getBoolean("done") && entry.getLong("line") > 0) {
+                    return true;
+                }
+            }
+            return false;
         }
 
         public long getExecutionTime() {
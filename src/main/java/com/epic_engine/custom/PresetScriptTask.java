@@ -0,0 +1,170 @@
+package com.epic_engine.custom;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs one {@code .mcfunction}-style script file through the command queue.
+ * The file is streamed line by line, never held in memory; the last completed line is recorded in
+ * {@link PresetCommandsHandler.PresetData} so an interrupted run resumes where it stopped.
+ */
+class PresetScriptTask extends ServerCommandQueue.Task {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    // 进度落盘间隔，避免每条命令都写存档
+    private static final long CHECKPOINT_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final ServerLevel overworld;
+    private final Path file;
+    private final String scriptName;
+
+    private PresetCommandsHandler.PresetData data;
+    private File progressFile;
+    private BufferedReader reader;
+    private String pendingLine;
+    private long lineNumber = 0L;
+    private long pendingLineNumber = 0L;
+    private long lastCheckpoint = 0L;
+
+    PresetScriptTask(ServerLevel overworld, Path file) {
+        super("script:" + file.getFileName());
+        this.overworld = overworld;
+        this.file = file;
+        this.scriptName = file.getFileName().toString();
+    }
+
+    @Override
+    protected boolean onStart(MinecraftServer server) {
+        data = PresetCommandsHandler.getGlobalPresetData(overworld);
+        progressFile = PresetCommandsHandler.getPresetProgressFile(server);
+        if (data.isScriptDone(scriptName)) {
+            return false;
+        }
+
+        long resumeLine = data.getScriptLine(scriptName);
+        try {
+            reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+            // 跳过已完成的行
+            while (lineNumber < resumeLine && reader.readLine() != null) {
+                lineNumber++;
+            }
+        } catch (IOException e) {
+            LOGGER.error("[EPIC ENGINE]: Failed to open preset script: {}", file, e);
+            close();
+            return false;
+        }
+
+        if (resumeLine > 0) {
+            LOGGER.info("[EPIC ENGINE]: Resuming preset script {} after line {}", scriptName, resumeLine);
+        } else {
+            LOGGER.info("[EPIC ENGINE]: Running preset script {}", scriptName);
+        }
+        lastCheckpoint = System.nanoTime();
+        return true;
+    }
+
+    @Override
+    protected boolean hasNext() {
+        if (pendingLine != null) {
+            return true;
+        }
+        if (reader == null) {
+            return false;
+        }
+
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                // 跳过空行与注释
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                pendingLine = trimmed;
+                pendingLineNumber = lineNumber;
+                return true;
+            }
+        } catch (IOException e) {
+            LOGGER.error("[EPIC ENGINE]: Failed to read preset script {} at line {}", scriptName, lineNumber + 1, e);
+        }
+
+        close();
+        return false;
+    }
+
+    @Override
+    protected String nextCommand() {
+        String command = pendingLine;
+        pendingLine = null;
+        return command;
+    }
+
+    @Override
+    protected int execute(MinecraftServer server, String command) {
+        PresetCommandCache.ParsedCommand parsed = PresetCommandCache.parse(server, getSource(server), command);
+        if (!parsed.isValid()) {
+            LOGGER.warn("[EPIC ENGINE]: Skipping {}:{}, parse error: {}", scriptName, pendingLineNumber, parsed.error);
+            return 0;
+        }
+        return PresetCommandCache.execute(server, parsed);
+    }
+
+    @Override
+    protected CommandSourceStack createSource(MinecraftServer server) {
+        return PresetCommandCache.createSource(server).withLevel(overworld);
+    }
+
+    @Override
+    protected void onCommandFinished(String command, int result) {
+        data.setScriptLine(scriptName, pendingLineNumber);
+
+        long now = System.nanoTime();
+        if (now - lastCheckpoint >= CHECKPOINT_INTERVAL_NANOS) {
+            lastCheckpoint = now;
+            // 只写进度文件，且不在服务端线程上写
+            data.writeAsync(progressFile);
+        }
+    }
+
+    @Override
+    protected void onComplete() {
+        close();
+        data.markScriptDone(scriptName);
+        data.writeAsync(progressFile);
+        LOGGER.info("[EPIC ENGINE]: Preset script {} completed: {}/{} succeeded",
+                scriptName, getSucceededCount(), getExecutedCount());
+    }
+
+    @Override
+    protected void onCancelled() {
+        close();
+        if (data != null) {
+            // 停服时等待检查点写完再退出
+            data.writeAsync(progressFile).join();
+            LOGGER.info("[EPIC ENGINE]: Preset script {} interrupted after line {}, will resume on next start",
+                    scriptName, data.getScriptLine(scriptName));
+        }
+    }
+
+    private void close() {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (IOException ignored) {
+            }
+            reader = null;
+        }
+    }
+}
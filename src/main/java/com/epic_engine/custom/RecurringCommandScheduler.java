@@ -0,0 +1,311 @@
+package com.epic_engine.custom;
+
+import com.epic_engine.config.EpicEngineCustomConfig;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.Nullable;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * Recurring server commands from the Others module config.
+ * Entries sit in a priority queue keyed by the overworld game time of their next run, so an idle tick costs
+ * one peek. Due entries hand their command to {@link ServerCommandQueue}, which applies the per-tick budget.
+ * Last runs are kept in saved data so schedules continue across restarts.
+ */
+@Mod.EventBusSubscriber
+public class RecurringCommandScheduler {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final int MAX_CATCH_UP_RUNS = 10;
+    private static final long MILLIS_PER_TICK = 50L;
+
+    private static final PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparingLong(entry -> entry.nextTick));
+    private static MinecraftServer serverInstance;
+
+    public enum MissedRunPolicy {
+        COALESCE, CATCH_UP
+    }
+
+    private static class Entry {
+        final String id;
+        final String command;
+        final long intervalTicks;
+        @Nullable final CronExpression cron;
+        final MissedRunPolicy policy;
+
+        // 下一次常规执行：周期条目用游戏时间，cron 条目用时钟时刻
+        long gridTick;
+        long gridMillis;
+        // 错过后待补跑的次数，补跑期间每 tick 执行一次
+        int pendingRuns = 0;
+        long nextTick;
+
+        Entry(String id, String command, long intervalTicks, @Nullable CronExpression cron, MissedRunPolicy policy) {
+            this.id = id;
+            this.command = command;
+            this.intervalTicks = intervalTicks;
+            this.cron = cron;
+            this.policy = policy;
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        serverInstance = event.getServer();
+        rebuild();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        queue.clear();
+        serverInstance = null;
+    }
+
+    /**
+     * Re-read the entries from config (on config reload).
+     */
+    public static void reload() {
+        MinecraftServer server = serverInstance;
+        if (server != null) {
+            server.execute(RecurringCommandScheduler::rebuild);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || queue.isEmpty() || serverInstance == null) {
+            return;
+        }
+
+        long now = serverInstance.overworld().getGameTime();
+        while (!queue.isEmpty() && queue.peek().nextTick <= now) {
+            Entry entry = queue.poll();
+
+            // 卡顿补帧时游戏时间可能先于时钟到达，等时钟追上再执行
+            if (entry.cron != null && entry.pendingRuns == 0) {
+                long clockLead = entry.gridMillis - System.currentTimeMillis();
+                if (clockLead > MILLIS_PER_TICK) {
+                    entry.nextTick = now + clockLead / MILLIS_PER_TICK;
+                    queue.add(entry);
+                    continue;
+                }
+            }
+
+            run(entry, now);
+
+            if (entry.pendingRuns > 0) {
+                entry.pendingRuns--;
+                entry.nextTick = entry.pendingRuns > 0 ? now + 1 : scheduledTick(entry, now);
+            } else {
+                if (entry.cron == null) {
+                    entry.gridTick += entry.intervalTicks;
+                } else {
+                    entry.gridMillis = entry.cron.nextAfter(entry.gridMillis);
+                }
+                settle(entry, now);
+            }
+
+            if (entry.nextTick != Long.MAX_VALUE) {
+                queue.add(entry);
+            }
+        }
+    }
+
+    private static void rebuild() {
+        queue.clear();
+        if (serverInstance == null || !EpicEngineCustomConfig.isScheduledCommandsEnabled()) {
+            return;
+        }
+
+        ScheduleData data = getData();
+        long now = serverInstance.overworld().getGameTime();
+
+        for (String line : EpicEngineCustomConfig.getScheduledCommands()) {
+            Entry entry = parse(line);
+            if (entry == null) {
+                continue;
+            }
+
+            // 从上次执行记录续接；没有记录时从现在开始计时
+            CompoundTag record = data.get(entry.id);
+            if (entry.cron == null) {
+                entry.gridTick = (record != null ? record.getLong("last_run_tick") : now) + entry.intervalTicks;
+            } else {
+                entry.gridMillis = entry.cron.nextAfter(record != null ? record.getLong("last_run_time") : System.currentTimeMillis());
+            }
+            settle(entry, now);
+
+            if (entry.nextTick != Long.MAX_VALUE) {
+                queue.add(entry);
+            }
+        }
+
+        LOGGER.info("[EPIC ENGINE]: Loaded {} scheduled command(s)", queue.size());
+    }
+
+    /**
+     * Work out the next run after the grid moved. Occurrences already in the past were missed (server offline,
+     * entry disabled, or lagging behind the clock) and are either merged into one run or replayed one per tick.
+     */
+    private static void settle(Entry entry, long now) {
+        long nowMillis = System.currentTimeMillis();
+        int missed = 0;
+
+        if (entry.cron == null) {
+            if (entry.gridTick <= now) {
+                long count = (now - entry.gridTick) / entry.intervalTicks + 1;
+                entry.gridTick += count * entry.intervalTicks;
+                missed = (int) Math.min(count, MAX_CATCH_UP_RUNS);
+            }
+        } else {
+            long occurrence = entry.gridMillis;
+            while (occurrence <= nowMillis && missed < MAX_CATCH_UP_RUNS) {
+                missed++;
+                occurrence = entry.cron.nextAfter(occurrence);
+            }
+            if (entry.gridMillis <= nowMillis) {
+                entry.gridMillis = entry.cron.nextAfter(nowMillis);
+            }
+        }
+
+        if (missed > 0) {
+            entry.pendingRuns = entry.policy == MissedRunPolicy.CATCH_UP ? missed : 1;
+            entry.nextTick = now + 1;
+            LOGGER.debug("[EPIC ENGINE]: Scheduled command '{}' missed {} run(s), running {}",
+                    entry.id, missed, entry.pendingRuns);
+        } else {
+            entry.nextTick = scheduledTick(entry, now);
+        }
+    }
+
+    private static long scheduledTick(Entry entry, long now) {
+        if (entry.cron == null) {
+            return entry.gridTick;
+        }
+        if (entry.gridMillis == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        long delta = entry.gridMillis - System.currentTimeMillis();
+        return now + Math.max(1L, (delta + MILLIS_PER_TICK - 1) / MILLIS_PER_TICK);
+    }
+
+    private static void run(Entry entry, long now) {
+        getData().recordRun(entry.id, now, System.currentTimeMillis());
+
+        ServerCommandQueue.schedule(serverInstance, new ServerCommandQueue.Task("scheduled:" + entry.id) {
+            private boolean done = false;
+
+            @Override
+            protected boolean hasNext() {
+                return !done;
+            }
+
+            @Override
+            protected String nextCommand() {
+                done = true;
+                return entry.command;
+            }
+        }, 0);
+    }
+
+    @Nullable
+    private static Entry parse(String line) {
+        String[] parts = line.split("\\|");
+        if (parts.length < 3 || parts.length > 4) {
+            LOGGER.warn("[EPIC ENGINE]: Invalid scheduled command '{}', expected id|schedule|command[|missed]", line);
+            return null;
+        }
+
+        String id = parts[0].trim();
+        String schedule = parts[1].trim();
+        String command = parts[2].trim();
+        if (id.isEmpty() || command.isEmpty()) {
+            LOGGER.warn("[EPIC ENGINE]: Invalid scheduled command '{}', id and command are required", line);
+            return null;
+        }
+
+        MissedRunPolicy policy = MissedRunPolicy.COALESCE;
+        if (parts.length == 4) {
+            String missed = parts[3].trim().toLowerCase(Locale.ROOT);
+            if (missed.equals("catchup") || missed.equals("catch_up")) {
+                policy = MissedRunPolicy.CATCH_UP;
+            } else if (!missed.equals("coalesce")) {
+                LOGGER.warn("[EPIC ENGINE]: Unknown missed-run policy '{}' for scheduled command '{}', using coalesce", missed, id);
+            }
+        }
+
+        try {
+            if (schedule.startsWith("every ")) {
+                long interval = Long.parseLong(schedule.substring(6).trim());
+                if (interval <= 0) {
+                    throw new IllegalArgumentException("interval must be positive");
+                }
+                return new Entry(id, command, interval, null, policy);
+            }
+            if (schedule.startsWith("cron ")) {
+                return new Entry(id, command, 0L, CronExpression.parse(schedule.substring(5)), policy);
+            }
+            throw new IllegalArgumentException("schedule must start with 'every' or 'cron'");
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("[EPIC ENGINE]: Invalid schedule '{}' for scheduled command '{}': {}", schedule, id, e.getMessage());
+            return null;
+        }
+    }
+
+    private static ScheduleData getData() {
+        return serverInstance.overworld().getDataStorage().computeIfAbsent(
+                ScheduleData::load,
+                ScheduleData::new,
+                "epic_engine_scheduled_commands"
+        );
+    }
+
+    /** 定时命令的上次执行记录 */
+    public static class ScheduleData extends SavedData {
+        private final CompoundTag entries;
+
+        public ScheduleData() {
+            this.entries = new CompoundTag();
+        }
+
+        public ScheduleData(CompoundTag tag) {
+            this.entries = tag.getCompound("entries");
+        }
+
+        public static ScheduleData load(CompoundTag tag) {
+            return new ScheduleData(tag);
+        }
+
+        @Override
+        public CompoundTag save(CompoundTag tag) {
+            tag.put("entries", this.entries);
+            return tag;
+        }
+
+        @Nullable
+        public CompoundTag get(String id) {
+            return this.entries.contains(id) ? this.entries.getCompound(id) : null;
+        }
+
+        public void recordRun(String id, long gameTime, long millis) {
+            CompoundTag record = this.entries.getCompound(id);
+            record.putLong("last_run_tick", gameTime);
+            record.putLong("last_run_time", millis);
+            record.putInt("runs", record.getInt("runs") + 1);
+            this.entries.put(id, record);
+            this.setDirty();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.epic_engine.custom;
+
+import com.epic_engine.config.EpicEngineCustomConfig;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.server.ServerLifecycleHooks;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Runs queued command tasks on the server thread.
+ * Tasks become due after a delay in ticks and are drained at the end of each server tick until the
+ * configured per-tick time budget is spent; a started task runs to completion before the next one begins.
+ */
+@Mod.EventBusSubscriber
+public class ServerCommandQueue {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final PriorityQueue<Task> queue = new PriorityQueue<>(
+            Comparator.comparingLong((Task task) -> task.dueTick).thenComparingLong(task -> task.sequence));
+    private static long nextSequence = 0L;
+    private static Task current = null;
+
+    /**
+     * A named sequence of commands. Subclasses supply the commands one at a time and may override how each is run.
+     */
+    public abstract static class Task {
+        protected final String name;
+
+        private long dueTick;
+        private long sequence;
+        private CommandSourceStack source = null;
+
+        private int executed = 0;
+        private int succeeded = 0;
+        private long totalNanos = 0L;
+        private long slowestNanos = 0L;
+        private String slowestCommand = "";
+
+        protected Task(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Called on the server thread when the task becomes due.
+         * @return false to drop the task without running anything
+         */
+        protected boolean onStart(MinecraftServer server) {
+            return true;
+        }
+
+        protected abstract boolean hasNext();
+
+        /**
+         * @return The next command, without leading slash requirements
+         */
+        protected abstract String nextCommand();
+
+        /**
+         * Run one command. The default runs it through the server command dispatcher.
+         * @return Command result; values above 0 count as success
+         */
+        protected int execute(MinecraftServer server, String command) {
+            return server.getCommands().performPrefixedCommand(getSource(server), command);
+        }
+
+        protected CommandSourceStack getSource(MinecraftServer server) {
+            if (source == null) {
+                source = createSource(server);
+            }
+            return source;
+        }
+
+        protected CommandSourceStack createSource(MinecraftServer server) {
+            return server.createCommandSourceStack()
+                    .withLevel(server.overworld())
+                    .withPermission(4)
+                    .withSuppressedOutput();
+        }
+
+        /**
+         * Called after each command, whether it succeeded or not.
+         */
+        protected void onCommandFinished(String command, int result) {}
+
+        /**
+         * Called once every command has run.
+         */
+        protected void onComplete() {}
+
+        /**
+         * Called when the task is discarded before completing (server stopping).
+         */
+        protected void onCancelled() {}
+
+        public int getExecutedCount() {
+            return executed;
+        }
+
+        public int getSucceededCount() {
+            return succeeded;
+        }
+
+        private void record(String command, int result, long nanos) {
+            executed++;
+            if (result > 0) succeeded++;
+            totalNanos += nanos;
+            if (nanos > slowestNanos) {
+                slowestNanos = nanos;
+                slowestCommand = command;
+            }
+        }
+    }
+
+    /**
+     * Queue a task to start after a delay.
+     * @param delayTicks Ticks to wait before the first command (20 ticks = 1 second)
+     */
+    public static void schedule(MinecraftServer server, Task task, int delayTicks) {
+        task.dueTick = (long) server.getTickCount() + Math.max(0, delayTicks);
+        task.sequence = nextSequence++;
+        queue.add(task);
+        LOGGER.debug("[EPIC ENGINE]: Queued command task '{}' to start in {} ticks", task.name, delayTicks);
+    }
+
+    /**
+     * @return Number of tasks waiting or running
+     */
+    public static int getPendingCount() {
+        return queue.size() + (current != null ? 1 : 0);
+    }
+
+    /**
+     * Drop all pending tasks. Unfinished tasks do not complete.
+     */
+    public static void clear() {
+        if (current != null || !queue.isEmpty()) {
+            LOGGER.info("[EPIC ENGINE]: Discarding {} pending command task(s)", getPendingCount());
+        }
+        if (current != null) {
+            cancelTask(current);
+        }
+        for (Task task : queue) {
+            cancelTask(task);
+        }
+        queue.clear();
+        current = null;
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || (current == null && queue.isEmpty())) {
+            return;
+        }
+
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) {
+            return;
+        }
+
+        long tick = server.getTickCount();
+        long budgetNanos = EpicEngineCustomConfig.getCommandTickBudgetMicros() * 1000L;
+        long start = System.nanoTime();
+
+        // 至少执行一条命令，保证单条命令超出预算时队列仍能推进
+        do {
+            if (current == null) {
+                Task head = queue.peek();
+                if (head == null || head.dueTick > tick) {
+                    break;
+                }
+                queue.poll();
+                if (!startTask(server, head)) {
+                    continue;
+                }
+                current = head;
+            }
+
+            if (!current.hasNext()) {
+                finishTask(current);
+                current = null;
+                continue;
+            }
+
+            runCommand(server, current, budgetNanos);
+        } while (System.nanoTime() - start < budgetNanos);
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        clear();
+    }
+
+    private static boolean startTask(MinecraftServer server, Task task) {
+        try {
+            return task.onStart(server);
+        } catch (Exception e) {
+            LOGGER.error("[EPIC ENGINE]: Failed to start command task '{}'", task.name, e);
+            return false;
+        }
+    }
+
+    private static void runCommand(MinecraftServer server, Task task, long budgetNanos) {
+        String command = task.nextCommand();
+        int result = 0;
+        long begin = System.nanoTime();
+
+        try {
+            result = task.execute(server, command);
+        } catch (Exception e) {
+            LOGGER.error("[EPIC ENGINE]: Failed to run command in task '{}': {}", task.name, command, e);
+        }
+
+        long nanos = System.nanoTime() - begin;
+        task.record(command, result, nanos);
+
+        if (nanos > budgetNanos) {
+            LOGGER.warn("[EPIC ENGINE]: Command in task '{}' exceeded the tick budget ({} µs): {}",
+                    task.name, nanos / 1000L, command);
+        } else {
+            LOGGER.debug("[EPIC ENGINE]: Task '{}' command #{} took {} µs (result {}): {}",
+                    task.name, task.executed, nanos / 1000L, result, command);
+        }
+
+        try {
+            task.onCommandFinished(command, result);
+        } catch (Exception e) {
+            LOGGER.error("[EPIC ENGINE]: Error after command in task '{}'", task.name, e);
+        }
+    }
+
+    private static void cancelTask(Task task) {
+        try {
+            task.onCancelled();
+        } catch (Exception e) {
+            LOGGER.error("[EPIC ENGINE]: Error cancelling command task '{}'", task.name, e);
+        }
+    }
+
+    private static void finishTask(Task task) {
+        LOGGER.info("[EPIC ENGINE]: Command task '{}' completed: {}/{} succeeded, {} ms total, slowest {} µs ({})",
+                task.name, task.succeeded, task.executed, task.totalNanos / 1_000_000L,
+                task.slowestNanos / 1000L, task.slowestCommand);
+        try {
+            task.onComplete();
+        } catch (Exception e) {
+            LOGGER.error("[EPIC ENGINE]: Error completing command task '{}'", task.name, e);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.epic_engine.config.EpicEngineCustomConfig;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.Button;
+import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.gui.screens.TitleScreen;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
@@ -14,6 +15,7 @@ import org.apache.logging.log4j.Logger;
 import org.lwjgl.glfw.GLFW;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class UnifiedLayoutEditor {
     private static final Logger LOGGER = LogManager.getLogger();
@@ -39,6 +41,22 @@ public class UnifiedLayoutEditor {
     private static Button pageIndicatorButton = null;
     private static Button saveLayoutButton = null;
 
+    // 拖动停止后延迟自动保存
+    private static final long AUTOSAVE_DELAY_MILLIS = 1000L;
+    private static long autosaveDueMillis = 0L;
+    private static boolean mainMenuAutosavePending = false;
+    private static boolean loadingAutosavePending = false;
+
+    // 组件命中索引：内容变化时懒重建，拖动时增量更新
+    private static final EditorSpatialIndex componentIndex = new EditorSpatialIndex();
+    private static boolean componentIndexDirty = true;
+    private static EditPage componentIndexPage = null;
+    private static int componentIndexButtonsVersion = -1;
+    // 每帧只查询一次悬停的组件
+    private static EditorSpatialIndex.Entry hoveredEntry = null;
+    // 拖动时的对齐参考线，在开始拖动时收集
+    private static final EditorSnapGuides snapGuides = new EditorSnapGuides();
+
     private static final int COLOR_HOVER = 0x8000FF00;
     private static final int COLOR_SELECTED = 0x80FF0000;
     private static final int COLOR_BORDER = 0x80FFFFFF;
@@ -80,6 +98,7 @@ public class UnifiedLayoutEditor {
         loadLayoutData();
         updateScreenResolution(screenWidth, screenHeight);
         createEditorButtons(screenWidth, screenHeight);
+        componentIndexDirty = true;
 
         if (isEditMode) {
             initializeCurrentPageSystems();
@@ -90,7 +109,8 @@ public class UnifiedLayoutEditor {
 
     private static void loadLayoutData() {
         if (mainMenuLayout == null) {
-            mainMenuLayout = MainMenuLayoutData.load(EpicEngineCustomConfig.getLayoutFile());
+            MainMenuLayoutData preloaded = MainMenuPreloader.takeLayout();
+            mainMenuLayout = preloaded != null ? preloaded : MainMenuLayoutData.load(EpicEngineCustomConfig.getLayoutFile());
             LOGGER.info("[EPIC ENGINE]: Main menu layout loaded - {} buttons, {} texts",
                     mainMenuLayout.getButtonCount(), mainMenuLayout.getCustomTextCount());
         }
@@ -185,11 +205,17 @@ public class UnifiedLayoutEditor {
 
         if (!isEditMode) {
             stopDragging();
+            // 退出编辑模式时立即写入待自动保存的修改
+            autosaveDueMillis = 0L;
+            runDueAutosave();
             currentPage = EditPage.MAIN_MENU;
         }
 
         LOGGER.info("[EPIC ENGINE]: Layout editor mode changed: {} -> {}", oldMode, isEditMode);
 
+        // 编辑期间可能移动了组件，静态层缓存需要重绘
+        MainMenuLayerCache.invalidate();
+
         Minecraft mc = Minecraft.getInstance();
         if (mc.screen != null) {
             init(mc.screen.width, mc.screen.height);
@@ -232,6 +258,8 @@ public class UnifiedLayoutEditor {
     }
 
     private static void initializeCurrentPageSystems() {
+        componentIndexDirty = true;
+
         if (currentPage == EditPage.MAIN_MENU) {
             if (mainMenuLayout != null) {
                 Minecraft mc = Minecraft.getInstance();
@@ -248,27 +276,64 @@ public class UnifiedLayoutEditor {
     }
 
     private static void saveCurrentLayout() {
-        boolean success = false;
+        CompletableFuture<Boolean> saved = null;
 
+        // 布局在渲染线程拍快照，序列化和写文件在后台线程完成
         if (currentPage == EditPage.MAIN_MENU && mainMenuLayout != null) {
-            mainMenuLayout.save(EpicEngineCustomConfig.getLayoutFile());
-            success = true;
-            LOGGER.info("[EPIC ENGINE]: Main menu layout saved successfully");
+            saved = mainMenuLayout.saveAsync(EpicEngineCustomConfig.getLayoutFile());
+            mainMenuAutosavePending = false;
         } else if (currentPage == EditPage.LOADING_SCREEN && loadingScreenLayout != null) {
-            loadingScreenLayout.save(getLoadingLayoutFile());
-            success = true;
-            LOGGER.info("[EPIC ENGINE]: Loading screen layout saved successfully");
+            saved = loadingScreenLayout.saveAsync(getLoadingLayoutFile());
+            loadingAutosavePending = false;
         }
 
-        if (success) {
-            Minecraft mc = Minecraft.getInstance();
-            if (mc.gui != null) {
-                mc.gui.setOverlayMessage(
-                        Component.translatable("epic_engine.editor.layout_saved"),
-                        false
-                );
-            }
+        if (saved != null) {
+            EditPage page = currentPage;
+            saved.thenAccept(success -> Minecraft.getInstance().execute(() -> {
+                if (!success) {
+                    return;
+                }
+                LOGGER.info("[EPIC ENGINE]: {} layout saved successfully", page == EditPage.MAIN_MENU ? "Main menu" : "Loading screen");
+                Minecraft mc = Minecraft.getInstance();
+                if (mc.gui != null) {
+                    mc.gui.setOverlayMessage(
+                            Component.translatable("epic_engine.editor.layout_saved"),
+                            false
+                    );
+                }
+            }));
+        }
+    }
+
+    /**
+     * Queue an autosave of the edited layout once dragging has been idle for a moment.
+     */
+    private static void scheduleAutosave(boolean mainMenu) {
+        if (!EpicEngineCustomConfig.isLayoutEditorAutosaveEnabled()) {
+            return;
         }
+        if (mainMenu) {
+            mainMenuAutosavePending = true;
+        } else {
+            loadingAutosavePending = true;
+        }
+        autosaveDueMillis = System.currentTimeMillis() + AUTOSAVE_DELAY_MILLIS;
+    }
+
+    private static void runDueAutosave() {
+        if ((!mainMenuAutosavePending && !loadingAutosavePending) || System.currentTimeMillis() < autosaveDueMillis) {
+            return;
+        }
+
+        if (mainMenuAutosavePending && mainMenuLayout != null) {
+            mainMenuLayout.saveAsync(EpicEngineCustomConfig.getLayoutFile());
+        }
+        if (loadingAutosavePending && loadingScreenLayout != null) {
+            loadingScreenLayout.saveAsync(getLoadingLayoutFile());
+        }
+        mainMenuAutosavePending = false;
+        loadingAutosavePending = false;
+        LOGGER.debug("[EPIC ENGINE]: Layout autosaved");
     }
 
     public static void render(GuiGraphics graphics, int mouseX, int mouseY, float partialTicks) {
@@ -276,6 +341,8 @@ public class UnifiedLayoutEditor {
             return;
         }
 
+        runDueAutosave();
+
         if (isEditMode) {
             renderCurrentPageContent(graphics, mouseX, mouseY, partialTicks);
 
@@ -326,9 +393,11 @@ public class UnifiedLayoutEditor {
     }
 
     private static void renderMainMenuEditContent(GuiGraphics graphics, int mouseX, int mouseY, float partialTicks) {
+        hoveredEntry = getComponentIndex().pick(mouseX, mouseY);
         renderEditModeOverlay(graphics, mouseX, mouseY, "gui.epic_engine.main_menu.edit_mode_title");
         renderMainMenuComponentEditAreas(graphics, mouseX, mouseY);
         handleDragLogic(mouseX, mouseY);
+        snapGuides.render(graphics);
     }
 
     private static void renderLoadingScreenEditContent(GuiGraphics graphics, int mouseX, int mouseY, float partialTicks) {
@@ -341,9 +410,12 @@ public class UnifiedLayoutEditor {
             graphics.pose().popPose();
         }
 
+        // 进度条的预览位置在上面渲染时才确定，之后再查询悬停组件
+        hoveredEntry = getComponentIndex().pick(mouseX, mouseY);
         renderEditModeOverlay(graphics, mouseX, mouseY, "gui.epic_engine.loading_screen.edit_mode_title");
         renderLoadingScreenComponentEditAreas(graphics, mouseX, mouseY);
         handleDragLogic(mouseX, mouseY);
+        snapGuides.render(graphics);
     }
 
     private static void renderEditModeOverlay(GuiGraphics graphics, int mouseX, int mouseY, String titleKey) {
@@ -391,7 +463,7 @@ public class UnifiedLayoutEditor {
     private static void renderTitleEditArea(GuiGraphics graphics, int mouseX, int mouseY) {
         MainMenuLayoutData.Position titlePos = mainMenuLayout.title_image.position;
 
-        boolean isHovered = isMouseOverPosition(mouseX, mouseY, titlePos);
+        boolean isHovered = isHovered(ComponentType.TITLE_IMAGE, "");
         boolean isSelected = isDragging && draggingType == ComponentType.TITLE_IMAGE;
 
         int borderColor = isSelected ? COLOR_SELECTED : (isHovered ? COLOR_HOVER : COLOR_BORDER);
@@ -412,7 +484,7 @@ public class UnifiedLayoutEditor {
 
         // Render enabled buttons normally
         for (CustomMainMenuButton customButton : CustomButtonManager.getCustomButtons()) {
-            boolean isHovered = isMouseOverWidget(mouseX, mouseY, customButton);
+            boolean isHovered = isHovered(ComponentType.MENU_BUTTON, customButton.getButtonId());
             boolean isSelected = isDragging && draggingType == ComponentType.MENU_BUTTON &&
                     customButton.getButtonId().equals(draggingComponentId);
 
@@ -431,7 +503,7 @@ public class UnifiedLayoutEditor {
         // Render disabled buttons with special styling
         for (MainMenuLayoutData.ButtonComponent buttonComponent : mainMenuLayout.buttons) {
             if (!buttonComponent.enabled && !buttonComponent.id.startsWith("external_")) {
-                boolean isHovered = isMouseOverPosition(mouseX, mouseY, buttonComponent.position);
+                boolean isHovered = isHovered(ComponentType.MENU_BUTTON, buttonComponent.id);
                 boolean isSelected = isDragging && draggingType == ComponentType.MENU_BUTTON &&
                         buttonComponent.id.equals(draggingComponentId);
 
@@ -456,7 +528,7 @@ public class UnifiedLayoutEditor {
 
     private static void renderMainMenuCustomTextEditAreas(GuiGraphics graphics, int mouseX, int mouseY) {
         for (MainMenuLayoutData.CustomTextComponent text : mainMenuLayout.custom_texts) {
-            boolean isHovered = isMouseOverPosition(mouseX, mouseY, text.position);
+            boolean isHovered = isHovered(ComponentType.CUSTOM_TEXT, text.id);
             boolean isSelected = isDragging && draggingType == ComponentType.CUSTOM_TEXT &&
                     text.id.equals(draggingComponentId);
 
@@ -677,7 +749,7 @@ public class UnifiedLayoutEditor {
         LoadingScreenLayoutData.Position pos = loadingScreenLayout.progress_bar.position;
 
         // 使用实际渲染位置进行边框绘制（位置已在 renderPreviewProgressBar 中更新）
-        boolean isHovered = isMouseOverPosition(mouseX, mouseY, pos);
+        boolean isHovered = isHovered(ComponentType.PROGRESS_BAR, "");
         boolean isSelected = isDragging && draggingType == ComponentType.PROGRESS_BAR;
 
         int borderColor = isSelected ? COLOR_SELECTED : (isHovered ? COLOR_HOVER : COLOR_BORDER);
@@ -694,7 +766,7 @@ public class UnifiedLayoutEditor {
     private static void renderTipTextEditArea(GuiGraphics graphics, int mouseX, int mouseY) {
         LoadingScreenLayoutData.Position pos = loadingScreenLayout.tip_text.position;
 
-        boolean isHovered = isMouseOverPosition(mouseX, mouseY, pos);
+        boolean isHovered = isHovered(ComponentType.TIP_TEXT, "");
         boolean isSelected = isDragging && draggingType == ComponentType.TIP_TEXT;
 
         int borderColor = isSelected ? COLOR_SELECTED : (isHovered ? COLOR_HOVER : COLOR_BORDER);
@@ -715,7 +787,7 @@ public class UnifiedLayoutEditor {
     private static void renderPercentageTextEditArea(GuiGraphics graphics, int mouseX, int mouseY) {
         LoadingScreenLayoutData.Position pos = loadingScreenLayout.percentage_text.position;
 
-        boolean isHovered = isMouseOverPosition(mouseX, mouseY, pos);
+        boolean isHovered = isHovered(ComponentType.PERCENTAGE_TEXT, "");
         boolean isSelected = isDragging && draggingType == ComponentType.PERCENTAGE_TEXT;
 
         int borderColor = isSelected ? COLOR_SELECTED : (isHovered ? COLOR_HOVER : COLOR_BORDER);
@@ -731,7 +803,7 @@ public class UnifiedLayoutEditor {
 
     private static void renderLoadingScreenCustomTextEditAreas(GuiGraphics graphics, int mouseX, int mouseY) {
         for (LoadingScreenLayoutData.CustomTextComponent text : loadingScreenLayout.custom_texts) {
-            boolean isHovered = isMouseOverPosition(mouseX, mouseY, text.position);
+            boolean isHovered = isHovered(ComponentType.LOADING_CUSTOM_TEXT, text.id);
             boolean isSelected = isDragging && draggingType == ComponentType.LOADING_CUSTOM_TEXT &&
                     text.id.equals(draggingComponentId);
 
@@ -821,31 +893,37 @@ public class UnifiedLayoutEditor {
     private static boolean startMainMenuDrag(int mouseX, int mouseY) {
         LOGGER.info("[EPIC ENGINE]: Checking for draggable main menu components at ({}, {})", mouseX, mouseY);
 
-        for (CustomMainMenuButton customButton : CustomButtonManager.getCustomButtons()) {
-            if (isMouseOverWidget(mouseX, mouseY, customButton)) {
-                LOGGER.info("[EPIC ENGINE]: Starting custom button drag: {}", customButton.getButtonId());
-                MainMenuLayoutData.Position pos = new MainMenuLayoutData.Position(
-                        customButton.getX(), customButton.getY(),
-                        customButton.getWidth(), customButton.getHeight());
-                startDragging(ComponentType.MENU_BUTTON, customButton.getButtonId(), mouseX, mouseY, pos);
-                return true;
-            }
-        }
-
-        if (EpicEngineCustomConfig.isMainMenuTitleEnabled() && mainMenuLayout != null &&
-                isMouseOverPosition(mouseX, mouseY, mainMenuLayout.title_image.position)) {
-            LOGGER.info("[EPIC ENGINE]: Starting title drag");
-            startDragging(ComponentType.TITLE_IMAGE, "", mouseX, mouseY, mainMenuLayout.title_image.position);
-            return true;
-        }
+        EditorSpatialIndex.Entry entry = getComponentIndex().pick(mouseX, mouseY, candidate -> candidate.draggable);
+        if (entry != null && mainMenuLayout != null) {
+            switch (entry.type) {
+                case MENU_BUTTON:
+                    CustomMainMenuButton customButton = CustomButtonManager.findButtonById(entry.id);
+                    if (customButton != null) {
+                        LOGGER.info("[EPIC ENGINE]: Starting custom button drag: {}", customButton.getButtonId());
+                        MainMenuLayoutData.Position pos = new MainMenuLayoutData.Position(
+                                customButton.getX(), customButton.getY(),
+                                customButton.getWidth(), customButton.getHeight());
+                        startDragging(ComponentType.MENU_BUTTON, customButton.getButtonId(), mouseX, mouseY, pos);
+                        return true;
+                    }
+                    break;
 
-        if (mainMenuLayout != null) {
-            for (MainMenuLayoutData.CustomTextComponent text : mainMenuLayout.custom_texts) {
-                if (isMouseOverPosition(mouseX, mouseY, text.position)) {
-                    LOGGER.info("[EPIC ENGINE]: Starting custom text drag: {}", text.id);
-                    startDragging(ComponentType.CUSTOM_TEXT, text.id, mouseX, mouseY, text.position);
+                case TITLE_IMAGE:
+                    LOGGER.info("[EPIC ENGINE]: Starting title drag");
+                    startDragging(ComponentType.TITLE_IMAGE, "", mouseX, mouseY, mainMenuLayout.title_image.position);
                     return true;
-                }
+
+                case CUSTOM_TEXT:
+                    MainMenuLayoutData.CustomTextComponent text = mainMenuLayout.findTextById(entry.id);
+                    if (text != null) {
+                        LOGGER.info("[EPIC ENGINE]: Starting custom text drag: {}", text.id);
+                        startDragging(ComponentType.CUSTOM_TEXT, text.id, mouseX, mouseY, text.position);
+                        return true;
+                    }
+                    break;
+
+                default:
+                    break;
             }
         }
 
@@ -863,26 +941,23 @@ public class UnifiedLayoutEditor {
             return false;
         }
 
-        // Check all buttons in layout
-        for (MainMenuLayoutData.ButtonComponent buttonComponent : mainMenuLayout.buttons) {
-            // Skip external buttons
-            if (buttonComponent.id.startsWith("external_")) {
-                continue;
-            }
+        // Find the topmost layout button under the mouse, skipping external buttons
+        EditorSpatialIndex.Entry entry = getComponentIndex().pick(mouseX, mouseY,
+                candidate -> candidate.type == ComponentType.MENU_BUTTON && !candidate.id.startsWith("external_"));
+        MainMenuLayoutData.ButtonComponent buttonComponent = entry != null ? mainMenuLayout.findButtonById(entry.id) : null;
 
-            // Check if mouse is over this button's position
-            if (isMouseOverPosition(mouseX, mouseY, buttonComponent.position)) {
-                // Toggle enabled state
-                buttonComponent.enabled = !buttonComponent.enabled;
-                
-                String status = buttonComponent.enabled ? "enabled" : "disabled";
-                LOGGER.info("[EPIC ENGINE]: Toggled button '{}' to {}", buttonComponent.id, status);
-                
-                // Save layout immediately to persist changes
-                saveCurrentLayout();
-                
-                return true;
-            }
+        if (buttonComponent != null) {
+            // Toggle enabled state
+            buttonComponent.enabled = !buttonComponent.enabled;
+            componentIndexDirty = true;
+
+            String status = buttonComponent.enabled ? "enabled" : "disabled";
+            LOGGER.info("[EPIC ENGINE]: Toggled button '{}' to {}", buttonComponent.id, status);
+
+            // Save layout immediately to persist changes
+            saveCurrentLayout();
+
+            return true;
         }
 
         LOGGER.info("[EPIC ENGINE]: No button found at ({}, {}) to toggle", mouseX, mouseY);
@@ -894,36 +969,38 @@ public class UnifiedLayoutEditor {
 
         if (loadingScreenLayout == null) return false;
 
-        // 检查进度条拖动 - 使用当前实际渲染位置
-        if (loadingScreenLayout.progress_bar.enabled) {
-            LoadingScreenLayoutData.Position currentProgressBarPos = getCurrentProgressBarPosition();
-            if (isMouseOverPosition(mouseX, mouseY, currentProgressBarPos)) {
-                LOGGER.info("[EPIC ENGINE]: Starting progress bar drag at current position ({}, {}) size {}x{}", 
-                        currentProgressBarPos.x, currentProgressBarPos.y, currentProgressBarPos.width, currentProgressBarPos.height);
-                startDragging(ComponentType.PROGRESS_BAR, "", mouseX, mouseY, currentProgressBarPos);
-                return true;
-            }
-        }
+        EditorSpatialIndex.Entry entry = getComponentIndex().pick(mouseX, mouseY);
+        if (entry != null) {
+            switch (entry.type) {
+                case PROGRESS_BAR:
+                    // 使用当前实际渲染位置
+                    LoadingScreenLayoutData.Position currentProgressBarPos = getCurrentProgressBarPosition();
+                    LOGGER.info("[EPIC ENGINE]: Starting progress bar drag at current position ({}, {}) size {}x{}",
+                            currentProgressBarPos.x, currentProgressBarPos.y, currentProgressBarPos.width, currentProgressBarPos.height);
+                    startDragging(ComponentType.PROGRESS_BAR, "", mouseX, mouseY, currentProgressBarPos);
+                    return true;
 
-        if (loadingScreenLayout.tip_text.enabled &&
-                isMouseOverPosition(mouseX, mouseY, loadingScreenLayout.tip_text.position)) {
-            LOGGER.info("[EPIC ENGINE]: Starting tip text drag");
-            startDragging(ComponentType.TIP_TEXT, "", mouseX, mouseY, loadingScreenLayout.tip_text.position);
-            return true;
-        }
+                case TIP_TEXT:
+                    LOGGER.info("[EPIC ENGINE]: Starting tip text drag");
+                    startDragging(ComponentType.TIP_TEXT, "", mouseX, mouseY, loadingScreenLayout.tip_text.position);
+                    return true;
 
-        if (loadingScreenLayout.percentage_text.enabled &&
-                isMouseOverPosition(mouseX, mouseY, loadingScreenLayout.percentage_text.position)) {
-            LOGGER.info("[EPIC ENGINE]: Starting percentage text drag");
-            startDragging(ComponentType.PERCENTAGE_TEXT, "", mouseX, mouseY, loadingScreenLayout.percentage_text.position);
-            return true;
-        }
+                case PERCENTAGE_TEXT:
+                    LOGGER.info("[EPIC ENGINE]: Starting percentage text drag");
+                    startDragging(ComponentType.PERCENTAGE_TEXT, "", mouseX, mouseY, loadingScreenLayout.percentage_text.position);
+                    return true;
 
-        for (LoadingScreenLayoutData.CustomTextComponent text : loadingScreenLayout.custom_texts) {
-            if (isMouseOverPosition(mouseX, mouseY, text.position)) {
-                LOGGER.info("[EPIC ENGINE]: Starting loading custom text drag: {}", text.id);
-                startDragging(ComponentType.LOADING_CUSTOM_TEXT, text.id, mouseX, mouseY, text.position);
-                return true;
+                case LOADING_CUSTOM_TEXT:
+                    LoadingScreenLayoutData.CustomTextComponent text = loadingScreenLayout.findTextById(entry.id);
+                    if (text != null) {
+                        LOGGER.info("[EPIC ENGINE]: Starting loading custom text drag: {}", text.id);
+                        startDragging(ComponentType.LOADING_CUSTOM_TEXT, text.id, mouseX, mouseY, text.position);
+                        return true;
+                    }
+                    break;
+
+                default:
+                    break;
             }
         }
 
@@ -940,6 +1017,7 @@ public class UnifiedLayoutEditor {
         dragStartY = mouseY;
         componentStartX = position.x;
         componentStartY = position.y;
+        prepareSnapGuides(type, componentId);
 
         LOGGER.info("[EPIC ENGINE]: Started dragging {} '{}' from ({}, {})",
                 type, componentId, position.x, position.y);
@@ -954,11 +1032,32 @@ public class UnifiedLayoutEditor {
         dragStartY = mouseY;
         componentStartX = position.x;
         componentStartY = position.y;
+        prepareSnapGuides(type, componentId);
 
         LOGGER.info("[EPIC ENGINE]: Started dragging {} '{}' from ({}, {})",
                 type, componentId, position.x, position.y);
     }
 
+    /**
+     * Collect the alignment guides from every other component on the page for the drag that just started.
+     */
+    private static void prepareSnapGuides(ComponentType type, String componentId) {
+        snapGuides.clear();
+        if (!EpicEngineCustomConfig.isLayoutEditorSnapEnabled()) {
+            return;
+        }
+
+        Minecraft mc = Minecraft.getInstance();
+        EditorSpatialIndex index = getComponentIndex();
+        EditorSpatialIndex.Entry dragged = index.get(type, componentId);
+        if (mc.screen == null || dragged == null) {
+            return;
+        }
+
+        snapGuides.prepare(index.entries(), dragged, mc.screen.width, mc.screen.height,
+                EpicEngineCustomConfig.getLayoutEditorSnapDistance(), EpicEngineCustomConfig.getLayoutEditorGridSize());
+    }
+
     private static void stopDragging() {
         if (isDragging) {
             LOGGER.info("[EPIC ENGINE]: Stopped dragging {} '{}'", draggingType, draggingComponentId);
@@ -975,6 +1074,7 @@ public class UnifiedLayoutEditor {
         isDragging = false;
         draggingType = ComponentType.NONE;
         draggingComponentId = "";
+        snapGuides.clear();
     }
 
     private static void handleDragLogic(int mouseX, int mouseY) {
@@ -1005,6 +1105,14 @@ public class UnifiedLayoutEditor {
         int newX = componentStartX + deltaX;
         int newY = componentStartY + deltaY;
 
+        // 按住 Shift 时不吸附，自由放置
+        if (snapGuides.isPrepared() && !Screen.hasShiftDown()) {
+            newX = snapGuides.snapX(newX);
+            newY = snapGuides.snapY(newY);
+        } else {
+            snapGuides.clearActive();
+        }
+
         Minecraft mc = Minecraft.getInstance();
         if (mc.screen != null) {
             newX = Math.max(0, Math.min(newX, mc.screen.width - 50));
@@ -1018,11 +1126,15 @@ public class UnifiedLayoutEditor {
     }
 
     private static void updateComponentPosition(int newX, int newY) {
+        scheduleAutosave(currentPage == EditPage.MAIN_MENU);
+
         switch (draggingType) {
             case TITLE_IMAGE:
                 if (mainMenuLayout != null) {
                     mainMenuLayout.title_image.position.x = newX;
                     mainMenuLayout.title_image.position.y = newY;
+                    moveIndexedComponent(ComponentType.TITLE_IMAGE, "", newX, newY,
+                            mainMenuLayout.title_image.position.width, mainMenuLayout.title_image.position.height);
                 }
                 break;
 
@@ -1037,6 +1149,9 @@ public class UnifiedLayoutEditor {
                         if (customButton != null) {
                             customButton.setX(newX);
                             customButton.setY(newY);
+                            componentIndex.move(ComponentType.MENU_BUTTON, draggingComponentId, newX, newY,
+                                    customButton.getWidth(), customButton.getHeight(),
+                                    customButton.getWidth(), customButton.getHeight());
                         }
                     }
                 }
@@ -1048,6 +1163,8 @@ public class UnifiedLayoutEditor {
                     if (text != null) {
                         text.position.x = newX;
                         text.position.y = newY;
+                        moveIndexedComponent(ComponentType.CUSTOM_TEXT, text.id, newX, newY,
+                                text.position.width, text.position.height);
                     }
                 }
                 break;
@@ -1058,6 +1175,8 @@ public class UnifiedLayoutEditor {
                     loadingScreenLayout.progress_bar.position.y = newY;
                     // 标记进度条为手动定位
                     progressBarManuallyPositioned = true;
+                    moveIndexedComponent(ComponentType.PROGRESS_BAR, "", newX, newY,
+                            loadingScreenLayout.progress_bar.position.width, loadingScreenLayout.progress_bar.position.height);
                     LOGGER.debug("[EPIC ENGINE]: Progress bar manually positioned to ({}, {})", newX, newY);
                 }
                 break;
@@ -1066,6 +1185,8 @@ public class UnifiedLayoutEditor {
                 if (loadingScreenLayout != null) {
                     loadingScreenLayout.tip_text.position.x = newX;
                     loadingScreenLayout.tip_text.position.y = newY;
+                    moveIndexedComponent(ComponentType.TIP_TEXT, "", newX, newY,
+                            loadingScreenLayout.tip_text.position.width, loadingScreenLayout.tip_text.position.height);
                 }
                 break;
 
@@ -1073,6 +1194,8 @@ public class UnifiedLayoutEditor {
                 if (loadingScreenLayout != null) {
                     loadingScreenLayout.percentage_text.position.x = newX;
                     loadingScreenLayout.percentage_text.position.y = newY;
+                    moveIndexedComponent(ComponentType.PERCENTAGE_TEXT, "", newX, newY,
+                            loadingScreenLayout.percentage_text.position.width, loadingScreenLayout.percentage_text.position.height);
                 }
                 break;
 
@@ -1082,6 +1205,8 @@ public class UnifiedLayoutEditor {
                     if (text != null) {
                         text.position.x = newX;
                         text.position.y = newY;
+                        moveIndexedComponent(ComponentType.LOADING_CUSTOM_TEXT, text.id, newX, newY,
+                                text.position.width, text.position.height);
                     }
                 }
                 break;
@@ -1117,23 +1242,93 @@ public class UnifiedLayoutEditor {
         return false;
     }
 
-    private static boolean isMouseOverPosition(int mouseX, int mouseY, MainMenuLayoutData.Position pos) {
-        int width = Math.max(pos.width, 50);
-        int height = Math.max(pos.height, 20);
-        return mouseX >= pos.x && mouseX <= pos.x + width &&
-                mouseY >= pos.y && mouseY <= pos.y + height;
+    /**
+     * @return The hit index for the current page, rebuilt if the page, its layout or the button widgets changed
+     */
+    private static EditorSpatialIndex getComponentIndex() {
+        if (componentIndexDirty || componentIndexPage != currentPage
+                || componentIndexButtonsVersion != CustomButtonManager.getButtonsVersion()) {
+            rebuildComponentIndex();
+        }
+
+        // 进度条未手动定位时跟随屏幕和贴图尺寸计算，每次查询前同步一下
+        if (currentPage == EditPage.LOADING_SCREEN && loadingScreenLayout != null && loadingScreenLayout.progress_bar.enabled) {
+            LoadingScreenLayoutData.Position pos = getCurrentProgressBarPosition();
+            moveIndexedComponent(ComponentType.PROGRESS_BAR, "", pos.x, pos.y, pos.width, pos.height);
+        }
+        return componentIndex;
+    }
+
+    /**
+     * Re-add every component of the current page, in the order they take precedence when they overlap.
+     */
+    private static void rebuildComponentIndex() {
+        componentIndex.clear();
+        componentIndexDirty = false;
+        componentIndexPage = currentPage;
+        componentIndexButtonsVersion = CustomButtonManager.getButtonsVersion();
+
+        if (currentPage == EditPage.MAIN_MENU && mainMenuLayout != null) {
+            for (CustomMainMenuButton customButton : CustomButtonManager.getCustomButtons()) {
+                componentIndex.add(ComponentType.MENU_BUTTON, customButton.getButtonId(), true,
+                        customButton.getX(), customButton.getY(), customButton.getWidth(), customButton.getHeight(),
+                        customButton.getWidth(), customButton.getHeight());
+            }
+
+            if (EpicEngineCustomConfig.isMainMenuTitleEnabled()) {
+                MainMenuLayoutData.Position pos = mainMenuLayout.title_image.position;
+                indexComponent(ComponentType.TITLE_IMAGE, "", true, pos.x, pos.y, pos.width, pos.height);
+            }
+
+            for (MainMenuLayoutData.CustomTextComponent text : mainMenuLayout.custom_texts) {
+                indexComponent(ComponentType.CUSTOM_TEXT, text.id, true,
+                        text.position.x, text.position.y, text.position.width, text.position.height);
+            }
+
+            // 没有按钮控件的布局按钮（已禁用的）只能用中键切换
+            for (MainMenuLayoutData.ButtonComponent buttonComponent : mainMenuLayout.buttons) {
+                if (!buttonComponent.id.startsWith("external_")
+                        && !componentIndex.contains(ComponentType.MENU_BUTTON, buttonComponent.id)) {
+                    MainMenuLayoutData.Position pos = buttonComponent.position;
+                    indexComponent(ComponentType.MENU_BUTTON, buttonComponent.id, false, pos.x, pos.y, pos.width, pos.height);
+                }
+            }
+        } else if (currentPage == EditPage.LOADING_SCREEN && loadingScreenLayout != null) {
+            if (loadingScreenLayout.progress_bar.enabled) {
+                LoadingScreenLayoutData.Position pos = getCurrentProgressBarPosition();
+                indexComponent(ComponentType.PROGRESS_BAR, "", true, pos.x, pos.y, pos.width, pos.height);
+            }
+
+            if (loadingScreenLayout.tip_text.enabled) {
+                LoadingScreenLayoutData.Position pos = loadingScreenLayout.tip_text.position;
+                indexComponent(ComponentType.TIP_TEXT, "", true, pos.x, pos.y, pos.width, pos.height);
+            }
+
+            if (loadingScreenLayout.percentage_text.enabled) {
+                LoadingScreenLayoutData.Position pos = loadingScreenLayout.percentage_text.position;
+                indexComponent(ComponentType.PERCENTAGE_TEXT, "", true, pos.x, pos.y, pos.width, pos.height);
+            }
+
+            for (LoadingScreenLayoutData.CustomTextComponent text : loadingScreenLayout.custom_texts) {
+                indexComponent(ComponentType.LOADING_CUSTOM_TEXT, text.id, true,
+                        text.position.x, text.position.y, text.position.width, text.position.height);
+            }
+        }
+
+        LOGGER.debug("[EPIC ENGINE]: Rebuilt editor hit index for {} - {} components", currentPage, componentIndex.size());
+    }
+
+    private static void indexComponent(ComponentType type, String id, boolean draggable, int x, int y, int width, int height) {
+        // 过小的组件按最小尺寸命中，方便拖动空文本等
+        componentIndex.add(type, id, draggable, x, y, width, height, Math.max(width, 50), Math.max(height, 20));
     }
 
-    private static boolean isMouseOverPosition(int mouseX, int mouseY, LoadingScreenLayoutData.Position pos) {
-        int width = Math.max(pos.width, 50);
-        int height = Math.max(pos.height, 20);
-        return mouseX >= pos.x && mouseX <= pos.x + width &&
-                mouseY >= pos.y && mouseY <= pos.y + height;
+    private static void moveIndexedComponent(ComponentType type, String id, int x, int y, int width, int height) {
+        componentIndex.move(type, id, x, y, width, height, Math.max(width, 50), Math.max(height, 20));
     }
 
-    private static boolean isMouseOverWidget(int mouseX, int mouseY, CustomMainMenuButton widget) {
-        return mouseX >= widget.getX() && mouseX <= widget.getX() + widget.getWidth() &&
-                mouseY >= widget.getY() && mouseY <= widget.getY() + widget.getHeight();
+    private static boolean isHovered(ComponentType type, String id) {
+        return hoveredEntry != null && hoveredEntry.is(type, id);
     }
 
     private static void renderComponentBorder(GuiGraphics graphics, MainMenuLayoutData.Position pos, int color) {
@@ -1309,6 +1504,14 @@ public class UnifiedLayoutEditor {
         return mainMenuLayout;
     }
 
+    /**
+     * Get the main menu layout, loading it (or taking the preloaded one) if needed.
+     */
+    public static MainMenuLayoutData getOrLoadMainMenuLayout() {
+        loadLayoutData();
+        return mainMenuLayout;
+    }
+
     public static LoadingScreenLayoutData getCurrentLoadingScreenLayout() {
         return loadingScreenLayout;
     }
@@ -1339,6 +1542,9 @@ public class UnifiedLayoutEditor {
         stopDragging();
         clearEditModeButtons();
         editToggleButton = null;
+        componentIndex.clear();
+        componentIndexDirty = true;
+        hoveredEntry = null;
         
         // 重置进度条手动定位标志
         progressBarManuallyPositioned = false;
@@ -1346,10 +1552,48 @@ public class UnifiedLayoutEditor {
         LOGGER.info("[EPIC ENGINE]: Unified layout editor reset");
     }
 
+    /**
+     * Swap in a main menu layout re-read from disk. Ignored while editing so unsaved changes are kept.
+     * @return true if the layout was replaced
+     */
+    public static boolean replaceMainMenuLayout(MainMenuLayoutData layout) {
+        if (isEditMode) {
+            return false;
+        }
+        mainMenuLayout = layout;
+        componentIndexDirty = true;
+        MainMenuLayerCache.invalidate();
+
+        // 重新 init 主界面，按钮按新布局重建
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.screen instanceof TitleScreen titleScreen) {
+            titleScreen.resize(mc, mc.getWindow().getGuiScaledWidth(), mc.getWindow().getGuiScaledHeight());
+        }
+        return true;
+    }
+
+    /**
+     * Swap in a loading screen layout re-read from disk. Ignored while editing so unsaved changes are kept.
+     * @return true if the layout was replaced
+     */
+    public static boolean replaceLoadingScreenLayout(LoadingScreenLayoutData layout) {
+        if (isEditMode) {
+            return false;
+        }
+        loadingScreenLayout = layout;
+        componentIndexDirty = true;
+        if (layout.tip_text != null && layout.tip_text.properties != null) {
+            TipTextManager.initialize(layout.tip_text.properties);
+        }
+        return true;
+    }
+
     public static void refreshLayoutData() {
         mainMenuLayout = null;
         loadingScreenLayout = null;
         loadLayoutData();
+        componentIndexDirty = true;
+        MainMenuLayerCache.invalidate();
         LOGGER.info("[EPIC ENGINE]: Layout data refreshed");
     }
 
@@ -770,6 +770,8 @@ public class UnifiedLoadingRenderer {
                         progressBarTexture = new ResourceLocation("epic_engine", "unified_progress_bar");
                         Minecraft.getInstance().getTextureManager()
                                 .register(progressBarTexture, new DynamicTexture(image));
+                        CustomTextureTracker.track(progressFile, progressBarTexture,
+                                progressBarImageWidth, progressBarImageHeight, EpicEngineCustomConfig.Module.LOADING_SCREEN);
 
                         LOGGER.info("[EPIC ENGINE]: Progress bar loaded: {} ({}x{})",
                                 filename, progressBarImageWidth, progressBarImageHeight);
@@ -789,6 +791,8 @@ public class UnifiedLoadingRenderer {
             NativeImage image = NativeImage.read(stream);
             ResourceLocation location = new ResourceLocation("epic_engine", resourceName);
             Minecraft.getInstance().getTextureManager().register(location, new DynamicTexture(image));
+            CustomTextureTracker.track(file, location, image.getWidth(), image.getHeight(),
+                    EpicEngineCustomConfig.Module.LOADING_SCREEN);
             return location;
         }
     }
@@ -838,6 +842,17 @@ public class UnifiedLoadingRenderer {
         }
     }
 
+    /**
+     * Drop the loaded textures so they are read again on next render, keeping the progress state
+     */
+    public static void reloadTextures() {
+        resourcesInitialized = false;
+        backgroundTexture = null;
+        progressBarTexture = null;
+        progressBarImageWidth = 0;
+        progressBarImageHeight = 0;
+    }
+
     /**
      * Reset all resources and state
      */
@@ -8,15 +8,23 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.entity.EntityAttributeModificationEvent;
 
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.entity.ai.attributes.RangedAttribute;
 import net.minecraft.world.entity.ai.attributes.Attribute;
 
+import com.epic_engine.API.battle_system.AttributesUtil;
+import com.epic_engine.API.battle_system.ResourcePoolRegistry;
 import com.epic_engine.EpicEngineMod;
+import com.epic_engine.battle_system.ResourcePoolLoader;
+import com.epic_engine.battle_system.ResourcePoolStorage;
 import com.epic_engine.config.EpicEngineBattleSystemConfig;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.List;
+
 @Mod.EventBusSubscriber(bus = Mod.EventBusSubscriber.Bus.MOD)
 public class EpicEngineModAttributes {
     private static final Logger LOGGER = LogManager.getLogger();
@@ -70,9 +78,26 @@ public class EpicEngineModAttributes {
             try {
                 if (EpicEngineBattleSystemConfig.isBattleSystemEnabled()) {
                     Player player = (Player) event.getEntity();
-                    applyConfigToPlayer(player);
-                    LOGGER.debug("[EPIC ENGINE]: Applied config values to player {} (Battle system enabled)",
-                            player.getName().getString());
+                    ResourcePoolStorage storage = ResourcePoolStorage.get(player);
+
+                    if (storage != null && storage.isInitialized()) {
+                        // 老玩家：当前值已随玩家存档读入，只应用配置的上限与回复速度，再补上离线期间的回复
+                        double offlineSeconds = EpicEngineBattleSystemConfig.isOfflineRegenerationEnabled()
+                                ? storage.getMillisSinceLastSave() / 1000.0
+                                : 0.0;
+                        applyConfigLimitsToPlayer(player);
+                        applyOfflineRegeneration(player, storage, offlineSeconds);
+                        LOGGER.debug("[EPIC ENGINE]: Restored saved resources for player {} ({}s offline regeneration)",
+                                player.getName().getString(), (long) offlineSeconds);
+                    } else {
+                        // 首次加入：应用配置默认值
+                        applyConfigToPlayer(player);
+                        if (storage != null) {
+                            storage.markInitialized();
+                        }
+                        LOGGER.debug("[EPIC ENGINE]: Applied config values to player {} (Battle system enabled)",
+                                player.getName().getString());
+                    }
                 } else {
                     // 如果战斗系统被禁用，将属性设置为0或最小值
                     Player player = (Player) event.getEntity();
@@ -103,26 +128,70 @@ public class EpicEngineModAttributes {
                     applyConfigToPlayer(newPlayer);
                     LOGGER.debug("[EPIC ENGINE]: Player died - attributes reset to config values");
                 } else {
-                    // 维度切换时根据配置决定是否保留
+                    // 维度切换时根据配置决定是否保留上限与回复速度，当前值始终保留
                     if (EpicEngineBattleSystemConfig.shouldPreserveOnDimensionChange()) {
-                        copyAttributeValue(oldPlayer, newPlayer, MANA.get());
                         copyAttributeValue(oldPlayer, newPlayer, MAX_MANA.get());
                         copyAttributeValue(oldPlayer, newPlayer, MANA_REGENERATION.get());
-                        copyAttributeValue(oldPlayer, newPlayer, STAMINA.get());
                         copyAttributeValue(oldPlayer, newPlayer, MAX_STAMINA.get());
                         copyAttributeValue(oldPlayer, newPlayer, STAMINA_REGENERATION.get());
 
                         LOGGER.debug("[EPIC ENGINE]: Player attributes preserved during dimension change");
                     } else {
-                        applyConfigToPlayer(newPlayer);
-                        LOGGER.debug("[EPIC ENGINE]: Player attributes reset to config values during dimension change");
+                        applyConfigLimitsToPlayer(newPlayer);
+                        LOGGER.debug("[EPIC ENGINE]: Player attribute limits reset to config values during dimension change");
                     }
+                    copyAttributeValue(oldPlayer, newPlayer, MANA.get());
+                    copyAttributeValue(oldPlayer, newPlayer, STAMINA.get());
+                }
+
+                ResourcePoolStorage storage = ResourcePoolStorage.get(newPlayer);
+                if (storage != null) {
+                    storage.markInitialized();
                 }
             } catch (Exception e) {
                 LOGGER.warn("[EPIC ENGINE]: Failed to handle player clone event", e);
             }
         }
 
+        /**
+         * Push changed config defaults to every online player in one pass (called on the server thread after a reload)
+         */
+        public static void applyConfigChanges(MinecraftServer server,
+                                              EpicEngineBattleSystemConfig.Snapshot previous,
+                                              EpicEngineBattleSystemConfig.Snapshot current) {
+            if (!previous.customResources.equals(current.customResources)) {
+                // 与数据包定义重新合并，保持配置覆盖数据包的顺序
+                ResourcePoolLoader.applyMergedDefinitions();
+            }
+
+            boolean toggled = previous.battleSystemEnabled != current.battleSystemEnabled;
+            if (!toggled && !current.limitsDifferFrom(previous)) {
+                return;
+            }
+
+            List<ServerPlayer> players = server.getPlayerList().getPlayers();
+            for (ServerPlayer player : players) {
+                try {
+                    if (!current.battleSystemEnabled) {
+                        disableBattleAttributes(player);
+                    } else if (toggled) {
+                        // 重新启用战斗系统：按首次加入处理
+                        applyConfigToPlayer(player);
+                    } else {
+                        applyConfigLimitsToPlayer(player);
+                        // 上限可能被调低，重新夹取当前值
+                        AttributesUtil.setMana(player, AttributesUtil.getMana(player));
+                        AttributesUtil.setStamina(player, AttributesUtil.getStamina(player));
+                    }
+                } catch (Exception e) {
+                    LOGGER.warn("[EPIC ENGINE]: Failed to apply config changes to player {}",
+                            player.getName().getString(), e);
+                }
+            }
+
+            LOGGER.info("[EPIC ENGINE]: Pushed battle system config changes to {} online players", players.size());
+        }
+
         /**
          * Apply config values to a player's attributes
          */
@@ -135,6 +204,34 @@ public class EpicEngineModAttributes {
             setAttributeValue(player, STAMINA_REGENERATION.get(), EpicEngineBattleSystemConfig.getStaminaRegeneration());
         }
 
+        /**
+         * Apply only the configured limits (max and regeneration), keeping current values
+         */
+        private static void applyConfigLimitsToPlayer(Player player) {
+            setAttributeValue(player, MAX_MANA.get(), EpicEngineBattleSystemConfig.getMaxMana());
+            setAttributeValue(player, MANA_REGENERATION.get(), EpicEngineBattleSystemConfig.getManaRegeneration());
+            setAttributeValue(player, MAX_STAMINA.get(), EpicEngineBattleSystemConfig.getMaxStamina());
+            setAttributeValue(player, STAMINA_REGENERATION.get(), EpicEngineBattleSystemConfig.getStaminaRegeneration());
+        }
+
+        /**
+         * Regenerate every pool the player uses for the given offline time.
+         * Also re-clamps current values in case the configured maximum was lowered.
+         */
+        private static void applyOfflineRegeneration(Player player, ResourcePoolStorage storage, double seconds) {
+            for (int index = 0; index < ResourcePoolRegistry.size(); index++) {
+                if (index >= ResourcePoolRegistry.BUILT_IN_COUNT && !storage.has(index)) {
+                    continue;
+                }
+                // 内置资源仅在启用内置回复时离线补回，与在线时一致
+                if (index < ResourcePoolRegistry.BUILT_IN_COUNT && !EpicEngineBattleSystemConfig.isBuiltInRegenerationEnabled()) {
+                    continue;
+                }
+                double regen = AttributesUtil.getResourceRegeneration(player, index);
+                AttributesUtil.setResource(player, index, AttributesUtil.getResource(player, index) + regen * seconds);
+            }
+        }
+
         /**
          * Disable battle attributes by setting them to minimal/zero values
          */
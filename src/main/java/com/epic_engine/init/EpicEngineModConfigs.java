@@ -1,6 +1,7 @@
 package com.epic_engine.init;
 
 import com.epic_engine.EpicEngineMod;
+import com.epic_engine.config.EpicEngineBattleSystemConfig;
 import com.epic_engine.config.EpicEngineCustomConfig;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.ModLoadingContext;
@@ -21,6 +22,13 @@ public class EpicEngineModConfigs {
                     EpicEngineCustomConfig.CONFIG,
                     "Epic_Engine_Custom.toml"
             );
+
+            // 注册战斗系统配置（服务端配置，每个存档可在 serverconfig 中单独覆盖）
+            ModLoadingContext.get().registerConfig(
+                    ModConfig.Type.SERVER,
+                    EpicEngineBattleSystemConfig.CONFIG,
+                    "Epic_Engine_Battle_System.toml"
+            );
         });
     }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.epic_engine.mixin;
+
+import net.minecraft.client.gui.components.Button;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(Button.class)
+public interface ButtonAccessor {
+
+    @Accessor("onPress")
+    Button.OnPress epic_engine$getOnPress();
+}
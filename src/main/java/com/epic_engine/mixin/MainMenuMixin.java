@@ -1,14 +1,22 @@
 package com.epic_engine.mixin;
 
 import com.epic_engine.custom.UnifiedLayoutEditor;
+import com.epic_engine.custom.ClientConfigReloader;
 import com.epic_engine.custom.CustomButtonManager;
+import com.epic_engine.custom.CustomMainMenuButton;
+import com.epic_engine.custom.CustomTextureTracker;
+import com.epic_engine.custom.DynamicTextManager;
 import com.epic_engine.custom.EpicEngineI18n;
+import com.epic_engine.custom.MainMenuLayerCache;
 import com.epic_engine.custom.MainMenuLayoutData;
+import com.epic_engine.custom.MainMenuPreloader;
 import com.epic_engine.config.EpicEngineCustomConfig;
 import com.mojang.blaze3d.platform.NativeImage;
 import com.mojang.blaze3d.systems.RenderSystem;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.gui.components.Button;
+import net.minecraft.client.gui.components.events.GuiEventListener;
 import net.minecraft.client.gui.screens.TitleScreen;
 import net.minecraft.client.renderer.GameRenderer;
 import net.minecraft.client.renderer.texture.DynamicTexture;
@@ -19,6 +27,7 @@ import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.ModifyArg;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
@@ -48,8 +57,8 @@ public class MainMenuMixin {
 
     @Inject(method = "init", at = @At("HEAD"))
     private void epicEngine$onInitStart(CallbackInfo ci) {
-        CustomButtonManager.reset();
-        epicEngine$LOGGER.info("[EPIC ENGINE]: MainMenu init started, reset custom button system");
+        // 同一个界面重新 init（调整窗口大小、从子界面返回）时保留已创建的按钮
+        CustomButtonManager.prepareInit((TitleScreen)(Object)this);
     }
 
     @Inject(method = "init", at = @At("TAIL"))
@@ -58,20 +67,29 @@ public class MainMenuMixin {
 
         TitleScreen titleScreen = (TitleScreen)(Object)this;
 
+        // 主界面模块配置重载后重新读取配置并上传贴图
+        if (ClientConfigReloader.consumeMainMenuTextureReload()) {
+            epicEngine$configCached = false;
+            epicEngine$resourcesProcessed = false;
+            epicEngine$customBackgroundLoaded = false;
+            epicEngine$customTitleLoaded = false;
+            // 沿用的按钮实例按旧配置创建（贴图前缀、尺寸），同一界面也要完整重建
+            CustomButtonManager.reset();
+        }
+
         epicEngine$cacheConfig();
 
+        // 先取走后台解析好的布局，下面丢弃未用的预加载结果时不会把它一起丢掉
+        MainMenuLayoutData layoutData = UnifiedLayoutEditor.getOrLoadMainMenuLayout();
+
+        // 默认资源已在客户端设置阶段解压，贴图已在后台解码，这里只剩上传
         if (!epicEngine$resourcesProcessed) {
-            EpicEngineCustomConfig.initializeResources();
             epicEngine$loadCustomResources();
+            MainMenuPreloader.discardRemaining();
             epicEngine$resourcesProcessed = true;
             epicEngine$LOGGER.info("[EPIC ENGINE]: Resources processed and cached");
         }
 
-        MainMenuLayoutData layoutData = UnifiedLayoutEditor.getCurrentMainMenuLayout();
-        if (layoutData == null) {
-            layoutData = MainMenuLayoutData.load(EpicEngineCustomConfig.getLayoutFile());
-        }
-
         layoutData.updateScreenResolution(titleScreen.width, titleScreen.height);
 
         if (epicEngine$buttonsEnabled) {
@@ -85,6 +103,20 @@ public class MainMenuMixin {
                 epicEngine$backgroundEnabled, epicEngine$titleEnabled, epicEngine$buttonsEnabled);
     }
 
+    /**
+     * Tag vanilla buttons by their translation key as the title screen adds them,
+     * so the button manager can identify them in any language.
+     */
+    @ModifyArg(method = {"init", "createNormalMenuOptions", "createDemoMenuOptions"},
+            at = @At(value = "INVOKE",
+                    target = "Lnet/minecraft/client/gui/screens/TitleScreen;addRenderableWidget(Lnet/minecraft/client/gui/components/events/GuiEventListener;)Lnet/minecraft/client/gui/components/events/GuiEventListener;"))
+    private GuiEventListener epicEngine$tagVanillaButton(GuiEventListener widget) {
+        if (widget instanceof Button button) {
+            CustomButtonManager.tagVanillaButton(button);
+        }
+        return widget;
+    }
+
     @Inject(method = "render", at = @At("HEAD"), cancellable = true)
     private void epicEngine$onRenderStart(GuiGraphics guiGraphics,
                                           int mouseX, int mouseY, float partialTicks,
@@ -144,29 +176,52 @@ public class MainMenuMixin {
     private void epicEngine$renderCustomizedInterface(GuiGraphics guiGraphics, int mouseX, int mouseY, float partialTicks,
                                                       MainMenuLayoutData layoutData, TitleScreen titleScreen) {
 
-        if (epicEngine$backgroundEnabled && epicEngine$customBackgroundLoaded) {
-            epicEngine$renderCustomBackground(guiGraphics);
-        } else {
-            epicEngine$renderOriginalBackground(guiGraphics, partialTicks);
-        }
+        // 编辑模式下组件随拖动变化，直接绘制；否则静态层走离屏缓存
+        if (UnifiedLayoutEditor.isEditMode()) {
+            epicEngine$renderBackgroundAndTitle(guiGraphics, partialTicks, layoutData);
 
-        if (epicEngine$titleEnabled && epicEngine$customTitleLoaded && layoutData != null) {
-            epicEngine$renderCustomTitleWithLayout(guiGraphics, layoutData.title_image);
-        }
+            if (UnifiedLayoutEditor.isMainMenuPage()) {
+                titleScreen.renderables.forEach(
+                        r -> r.render(guiGraphics, mouseX, mouseY, partialTicks)
+                );
+            }
+
+            if (layoutData != null) {
+                epicEngine$renderCustomTexts(guiGraphics, layoutData);
+            }
+            DynamicTextManager.render(guiGraphics);
+        } else {
+            MainMenuLayerCache.render(guiGraphics, layoutData, graphics -> {
+                epicEngine$renderBackgroundAndTitle(graphics, partialTicks, layoutData);
+                if (layoutData != null) {
+                    epicEngine$renderCustomTexts(graphics, layoutData);
+                }
+            });
 
-        if (UnifiedLayoutEditor.isMainMenuPage() || !UnifiedLayoutEditor.isEditMode()) {
             titleScreen.renderables.forEach(
                     r -> r.render(guiGraphics, mouseX, mouseY, partialTicks)
             );
-        }
 
-        if (layoutData != null) {
-            epicEngine$renderCustomTexts(guiGraphics, layoutData);
+            // 动态文本单独实时绘制，内容变化不会使静态层缓存失效
+            DynamicTextManager.render(guiGraphics);
         }
 
         UnifiedLayoutEditor.render(guiGraphics, mouseX, mouseY, partialTicks);
     }
 
+    @Unique
+    private void epicEngine$renderBackgroundAndTitle(GuiGraphics guiGraphics, float partialTicks, MainMenuLayoutData layoutData) {
+        if (epicEngine$backgroundEnabled && epicEngine$customBackgroundLoaded) {
+            epicEngine$renderCustomBackground(guiGraphics);
+        } else {
+            epicEngine$renderOriginalBackground(guiGraphics, partialTicks);
+        }
+
+        if (epicEngine$titleEnabled && epicEngine$customTitleLoaded && layoutData != null) {
+            epicEngine$renderCustomTitleWithLayout(guiGraphics, layoutData.title_image);
+        }
+    }
+
     @Unique
     private void epicEngine$cacheConfig() {
         if (!epicEngine$configCached) {
@@ -252,6 +307,7 @@ public class MainMenuMixin {
     private void epicEngine$renderCustomTexts(GuiGraphics guiGraphics, MainMenuLayoutData layoutData) {
         for (MainMenuLayoutData.CustomTextComponent textComponent : layoutData.custom_texts) {
             if (textComponent.properties.text.isEmpty()) continue;
+            if (DynamicTextManager.isDynamic(textComponent.id)) continue;
 
             int textColor = epicEngine$parseColor(textComponent.properties.color);
             float scale = textComponent.properties.font_scale;
@@ -284,6 +340,8 @@ public class MainMenuMixin {
                         epicEngine$customBackground = new ResourceLocation("epic_engine", "custom_background");
                         Minecraft.getInstance().getTextureManager()
                                 .register(epicEngine$customBackground, new DynamicTexture(img));
+                        CustomTextureTracker.track(bgFile, epicEngine$customBackground,
+                                img.getWidth(), img.getHeight(), EpicEngineCustomConfig.Module.MAIN_MENU);
                         epicEngine$customBackgroundLoaded = true;
                         epicEngine$LOGGER.info("[EPIC ENGINE]: Custom background loaded successfully");
                     }
@@ -301,6 +359,8 @@ public class MainMenuMixin {
                         epicEngine$customTitle = new ResourceLocation("epic_engine", "custom_title");
                         Minecraft.getInstance().getTextureManager()
                                 .register(epicEngine$customTitle, new DynamicTexture(img));
+                        CustomTextureTracker.track(titleFile, epicEngine$customTitle,
+                                epicEngine$titleWidth, epicEngine$titleHeight, EpicEngineCustomConfig.Module.MAIN_MENU);
                         epicEngine$customTitleLoaded = true;
                         epicEngine$LOGGER.info("[EPIC ENGINE]: Custom title loaded successfully ({}x{})",
                                 epicEngine$titleWidth, epicEngine$titleHeight);
@@ -328,7 +388,10 @@ public class MainMenuMixin {
                 try {
                     NativeImage img = epicEngine$readImage(buttonFile);
                     if (img != null) {
+                        CustomMainMenuButton.rememberTextureSize(i, img.getWidth(), img.getHeight());
                         ResourceLocation textureLocation = new ResourceLocation("epic_engine", "custom_button_" + i);
+                        CustomTextureTracker.track(buttonFile, textureLocation,
+                                img.getWidth(), img.getHeight(), EpicEngineCustomConfig.Module.MAIN_MENU);
                         Minecraft.getInstance().getTextureManager()
                                 .register(textureLocation, new DynamicTexture(img));
                         epicEngine$LOGGER.info("[EPIC ENGINE]: Loaded button texture: {}", fileName);
@@ -354,6 +417,11 @@ public class MainMenuMixin {
 
     @Unique
     private NativeImage epicEngine$readImage(File file) {
+        NativeImage preloaded = MainMenuPreloader.takeImage(file);
+        if (preloaded != null) {
+            return preloaded;
+        }
+
         try (InputStream in = Files.newInputStream(file.toPath())) {
             return NativeImage.read(in);
         } catch (IOException e) {